@@ -0,0 +1,72 @@
+package com.system.batch;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+// 벤치마크용 입력 파일을 만든다. 같은 종류/줄 수의 파일은 임시 디렉토리에 한 번만 만들고 재사용한다.
+public final class BenchmarkInputs {
+    private static final Path INPUT_DIR = Paths.get(System.getProperty("java.io.tmpdir"), "kill-batch-jmh");
+
+    public enum Format {
+        SYSTEM_LOG,
+        LOG_ANALYSIS,
+        SYSTEM_FAILURE_FIXED,
+        SYSTEM_FAILURE_CSV,
+        LOG_ENTRY
+    }
+
+    private BenchmarkInputs() {
+    }
+
+    public static Path file(Format format, int lineCount) {
+        Path target = INPUT_DIR.resolve(format.name().toLowerCase() + "-" + lineCount + ".txt");
+        if (Files.exists(target)) {
+            return target;
+        }
+        try {
+            Files.createDirectories(INPUT_DIR);
+            Path temp = Files.createTempFile(INPUT_DIR, format.name().toLowerCase(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                if (format == Format.SYSTEM_FAILURE_CSV) {
+                    writer.write("에러ID,발생시각,심각도,프로세스ID,에러메시지");
+                    writer.newLine();
+                }
+                for (int i = 0; i < lineCount; i++) {
+                    writer.write(line(format, i));
+                    writer.newLine();
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static String line(Format format, int i) {
+        String time = String.format("2024-01-%02d %02d:%02d:%02d", 1 + i % 28, i % 24, i % 60, (i / 60) % 60);
+        return switch (format) {
+            case SYSTEM_LOG -> switch (i % 3) {
+                case 0 -> "ERROR,WebServer-" + (i % 100) + ",OutOfMemoryError," + time
+                        + ",Java heap space exhausted,85%,/var/log/web-" + (i % 100) + ".log";
+                case 1 -> "ABORT,Database-" + (i % 100) + ",ConnectionPoolExhausted," + time
+                        + ",Too many clients,137,/usr/local/bin/db,TERMINATED";
+                default -> "COLLECT,HEAP_DUMP," + (10000 + i % 50000) + "," + time + ",/tmp/dumps/heapdump.hprof";
+            };
+            case LOG_ANALYSIS -> "[" + (i % 2 == 0 ? "WARNING" : "ERROR") + "][Thread-" + (i % 500)
+                    + "][CPU: " + (i % 100) + "%] Thread pool saturation detected - " + (i % 50) + "/50 threads in use";
+            case SYSTEM_FAILURE_FIXED -> String.format("%-8s%-21s%-10s%-6s%-21s",
+                    "ERR" + (i % 1000), time, i % 2 == 0 ? "CRITICAL" : "FATAL", 1000 + i % 9000, "SYSTEM CRASH DETECT");
+            case SYSTEM_FAILURE_CSV -> "ERR" + (i % 1000) + "," + time + "," + (i % 2 == 0 ? "CRITICAL" : "WARN")
+                    + "," + (1000 + i % 9000) + ",MEMORY_OVERFLOW";
+            case LOG_ENTRY -> time.replace(' ', 'T') + "," + (i % 4 == 0 ? "ERROR" : "INFO") + ","
+                    + (i % 8 == 0 ? "Payment failed ERROR_CODE[PAY_" + (i % 100) + "]" : "Order processed id=" + i);
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.system.batch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// 연산 1회 = 잡 실행 concurrentJobs개를 한꺼번에 띄우고 모두 끝날 때까지 기다리기. 초당 잡 수는 점수 x concurrentJobs다.
+// 잡은 I/O 대기(ioMillis 동안 sleep) 하나만 하는 태스크릿 스텝이고, 실행마다 스레드 하나를 띄우는 런처로 돌린다.
+// threads=virtual은 Java 21이 필요하다(-PjavaVersion=21). 플랫폼 스레드는 동시 실행 수가 늘면 스레드 생성/스택 비용으로 먼저 무너진다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class JobThreadsBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"100", "1000", "5000"})
+    public int concurrentJobs;
+
+    @Param({"100"})
+    public long ioMillis;
+
+    private EmbeddedDatabase database;
+    private TaskExecutorJobLauncher jobLauncher;
+    private Job job;
+    private volatile CountDownLatch finished;
+    private long run;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/org/springframework/batch/core/schema-h2.sql")
+                .build();
+        JdbcTransactionManager transactionManager = new JdbcTransactionManager(database);
+
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(database);
+        factory.setTransactionManager(transactionManager);
+        // 실행마다 파라미터가 다르므로 인스턴스 생성끼리 겹칠 일이 없다. SERIALIZABLE은 동시 실행이 많을 때 락 대기만 늘린다.
+        factory.setIsolationLevelForCreate("ISOLATION_READ_COMMITTED");
+        factory.afterPropertiesSet();
+        JobRepository jobRepository = factory.getObject();
+
+        job = new JobBuilder("ioBoundJob", jobRepository)
+                .start(new StepBuilder("ioBoundStep", jobRepository)
+                        .tasklet((contribution, chunkContext) -> {
+                            Thread.sleep(ioMillis);
+                            return RepeatStatus.FINISHED;
+                        }, transactionManager)
+                        .build())
+                .listener(new JobExecutionListener() {
+                    @Override
+                    public void afterJob(JobExecution jobExecution) {
+                        finished.countDown();
+                    }
+                })
+                .build();
+
+        jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.setTaskExecutor(new BatchThreads("virtual".equals(threads)).perTaskExecutor("benchmark-job-"));
+        jobLauncher.afterPropertiesSet();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+
+    @Benchmark
+    public void launchConcurrently() throws Exception {
+        finished = new CountDownLatch(concurrentJobs);
+        List<JobExecution> executions = new ArrayList<>(concurrentJobs);
+        for (int i = 0; i < concurrentJobs; i++) {
+            executions.add(jobLauncher.run(job, new JobParametersBuilder().addLong("run", ++run).toJobParameters()));
+        }
+        finished.await();
+        for (JobExecution execution : executions) {
+            if (execution.getStatus() != BatchStatus.COMPLETED) {
+                throw new IllegalStateException("Job execution " + execution.getId() + " ended " + execution.getStatus());
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.system.batch;
+
+import com.system.batch.BenchmarkInputs.Format;
+import com.system.batch.fileread.LogAnalysisJobConfig;
+import com.system.batch.fileread.SystemFailureJobConfig;
+import com.system.batch.fileread.SystemLogJobConfig;
+import com.system.batch.filewrite.LogProcessingJobConfig;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.core.io.FileSystemResource;
+
+import java.util.concurrent.TimeUnit;
+
+// 연산 1회 = 생성된 입력 파일 하나를 설정 클래스의 리더로 끝까지 읽기.
+// 'lines' 보조 카운터가 초당 읽은 줄 수, gc.alloc.rate.norm / lineCount가 줄당 할당 바이트다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ReaderBenchmark {
+
+    @Param({"systemLogReader", "logItemReader", "fixedSizeFlatFileSystemFailureItemReader",
+            "systemFailureItemReader", "logFileReader"})
+    public String reader;
+
+    @Param({"1000", "1000000", "10000000"})
+    public int lineCount;
+
+    private String inputFile;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class LineCounter {
+        public long lines;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lines = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        inputFile = BenchmarkInputs.file(format(), lineCount).toString();
+    }
+
+    private Format format() {
+        return switch (reader) {
+            case "systemLogReader" -> Format.SYSTEM_LOG;
+            case "logItemReader" -> Format.LOG_ANALYSIS;
+            case "fixedSizeFlatFileSystemFailureItemReader" -> Format.SYSTEM_FAILURE_FIXED;
+            case "systemFailureItemReader" -> Format.SYSTEM_FAILURE_CSV;
+            default -> Format.LOG_ENTRY;
+        };
+    }
+
+    // 매 연산마다 설정 클래스의 @Bean 메서드로 새 리더를 만들어 실제 잡과 같은 매퍼 구성을 측정한다.
+    private ItemStreamReader<?> createReader() {
+        return switch (reader) {
+            case "systemLogReader" -> new SystemLogJobConfig(null, null).systemLogReader(inputFile);
+            case "logItemReader" -> new LogAnalysisJobConfig(null, null).logItemReader(inputFile);
+            case "fixedSizeFlatFileSystemFailureItemReader" ->
+                    new SystemFailureJobConfig().fixedSizeFlatFileSystemFailureItemReader(inputFile);
+            case "systemFailureItemReader" -> new SystemFailureJobConfig().systemFailureItemReader(inputFile);
+            default -> {
+                var logFileReader = new LogProcessingJobConfig().logFileReader();
+                logFileReader.setResource(new FileSystemResource(inputFile));
+                yield logFileReader;
+            }
+        };
+    }
+
+    @Benchmark
+    public void readAll(LineCounter counter, Blackhole blackhole) throws Exception {
+        ItemStreamReader<?> itemReader = createReader();
+        itemReader.open(new ExecutionContext());
+        try {
+            Object item;
+            while ((item = itemReader.read()) != null) {
+                blackhole.consume(item);
+                counter.lines++;
+            }
+        } finally {
+            itemReader.close();
+        }
+    }
+}
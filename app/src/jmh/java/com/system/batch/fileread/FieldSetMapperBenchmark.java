@@ -0,0 +1,85 @@
+package com.system.batch.fileread;
+
+import com.system.batch.fileread.SystemFailureJobConfig.SystemFailure;
+import com.system.batch.filewrite.MultiResourceItemWriteJobConfig.DeathNote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.RecordFieldSetMapper;
+import org.springframework.batch.item.file.transform.DefaultFieldSet;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import java.util.concurrent.TimeUnit;
+
+// 연산 1회 = 이미 토큰화된 FieldSet 하나를 객체로 매핑. 처리량은 records/sec, gc.alloc.rate.norm은 레코드당 할당 바이트다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class FieldSetMapperBenchmark {
+    private static final int SAMPLE_SIZE = 1024;
+    private static final String[] SYSTEM_FAILURE_NAMES = {"errorId", "errorDateTime", "severity", "processId", "errorMessage"};
+    private static final String[] DEATH_NOTE_NAMES = {"victimId", "victimName", "executionDate", "causeOfDeath"};
+
+    private BeanWrapperFieldSetMapper<SystemFailure> beanWrapperMapper;
+    private DirectFieldSetMapper<SystemFailure> directSystemFailureMapper;
+    private RecordFieldSetMapper<DeathNote> recordMapper;
+    private DirectFieldSetMapper<DeathNote> directDeathNoteMapper;
+    private FieldSet[] systemFailures;
+    private FieldSet[] deathNotes;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        beanWrapperMapper = new BeanWrapperFieldSetMapper<>();
+        beanWrapperMapper.setTargetType(SystemFailure.class);
+        directSystemFailureMapper = DirectFieldSetMapper.forType(SystemFailure.class);
+        recordMapper = new RecordFieldSetMapper<>(DeathNote.class);
+        directDeathNoteMapper = DirectFieldSetMapper.forType(DeathNote.class);
+
+        systemFailures = new FieldSet[SAMPLE_SIZE];
+        deathNotes = new FieldSet[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            systemFailures[i] = new DefaultFieldSet(new String[]{
+                    "ERR" + (1000 + i), "2024-01-19 10:15:" + (10 + i % 50), "CRITICAL",
+                    String.valueOf(1234 + i), "System core dump #" + i}, SYSTEM_FAILURE_NAMES);
+            deathNotes[i] = new DefaultFieldSet(new String[]{
+                    "KILL-" + i, "희생자" + i, "2024-01-" + (10 + i % 20), "심장마비"}, DEATH_NOTE_NAMES);
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public SystemFailure beanWrapperFieldSetMapper() throws Exception {
+        return beanWrapperMapper.mapFieldSet(systemFailures[next()]);
+    }
+
+    @Benchmark
+    public SystemFailure directFieldSetMapper() throws Exception {
+        return directSystemFailureMapper.mapFieldSet(systemFailures[next()]);
+    }
+
+    @Benchmark
+    public DeathNote recordFieldSetMapper() {
+        return recordMapper.mapFieldSet(deathNotes[next()]);
+    }
+
+    @Benchmark
+    public DeathNote directRecordFieldSetMapper() throws Exception {
+        return directDeathNoteMapper.mapFieldSet(deathNotes[next()]);
+    }
+}
@@ -0,0 +1,83 @@
+package com.system.batch.fileread;
+
+import com.system.batch.BenchmarkInputs;
+import com.system.batch.BenchmarkInputs.Format;
+import com.system.batch.fileread.SystemFailureJobConfig.FixedWidthSystemFailureLineMapper;
+import com.system.batch.fileread.SystemFailureJobConfig.SystemFailure;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
+import org.springframework.batch.item.file.transform.Range;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// 연산 1회 = 고정 길이 SystemFailure 한 줄 매핑. 처리량은 lines/sec, gc.alloc.rate.norm은 줄당 할당 바이트다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SystemFailureLineMapperBenchmark {
+    private static final int SAMPLE_SIZE = 1024;
+
+    private DefaultLineMapper<SystemFailure> beanWrapperMapper;
+    private FixedWidthSystemFailureLineMapper fixedWidthMapper;
+    private String[] lines;
+    private ByteBuffer[] lineBytes;
+    private final MappedLine view = new MappedLine();
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        // SystemFailureJobConfig.fixedLengthSystemFailureReader()가 예전에 쓰던 것과 같은 구성
+        FixedLengthTokenizer tokenizer = new FixedLengthTokenizer();
+        tokenizer.setColumns(new Range(1, 8), new Range(9, 29), new Range(30, 39), new Range(40, 45), new Range(46, 66));
+        tokenizer.setNames("errorId", "errorDateTime", "severity", "processId", "errorMessage");
+        BeanWrapperFieldSetMapper<SystemFailure> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(SystemFailure.class);
+        beanWrapperMapper = new DefaultLineMapper<>();
+        beanWrapperMapper.setLineTokenizer(tokenizer);
+        beanWrapperMapper.setFieldSetMapper(fieldSetMapper);
+        fixedWidthMapper = new FixedWidthSystemFailureLineMapper(beanWrapperMapper);
+
+        lines = new String[SAMPLE_SIZE];
+        lineBytes = new ByteBuffer[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            lines[i] = BenchmarkInputs.line(Format.SYSTEM_FAILURE_FIXED, i);
+            lineBytes[i] = ByteBuffer.wrap(lines[i].getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public SystemFailure beanWrapperLineMapper() throws Exception {
+        int i = next();
+        return beanWrapperMapper.mapLine(lines[i], i);
+    }
+
+    // MappedLineItemReader가 넘기는 것과 같은 바이트 뷰로 매핑한다 (줄 String을 만들지 않는다).
+    @Benchmark
+    public SystemFailure fixedWidthLineMapperOnMappedView() throws Exception {
+        int i = next();
+        ByteBuffer bytes = lineBytes[i];
+        view.set(bytes, 0, bytes.limit(), true);
+        return fixedWidthMapper.mapLine(view, i);
+    }
+}
@@ -0,0 +1,88 @@
+package com.system.batch.fileread;
+
+import com.system.batch.fileread.SystemLogJobConfig.FusedSystemLogLineMapper;
+import com.system.batch.fileread.SystemLogJobConfig.SystemLog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.mapping.PatternMatchingCompositeLineMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// 연산 1회 = 한 줄 매핑. 처리량은 lines/sec, gc.alloc.rate.norm은 줄당 할당 바이트다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SystemLogLineMapperBenchmark {
+    private static final int SAMPLE_SIZE = 1024;
+
+    private PatternMatchingCompositeLineMapper<SystemLog> compositeMapper;
+    private FusedSystemLogLineMapper fusedMapper;
+    private String[] lines;
+    private ByteBuffer[] lineBytes;
+    private final MappedLine view = new MappedLine();
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        SystemLogJobConfig config = new SystemLogJobConfig(null, null);
+        compositeMapper = config.systemLogLineMapper();
+        fusedMapper = new FusedSystemLogLineMapper(compositeMapper);
+
+        lines = new String[SAMPLE_SIZE];
+        lineBytes = new ByteBuffer[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            lines[i] = sampleLine(i);
+            lineBytes[i] = ByteBuffer.wrap(lines[i].getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    static String sampleLine(int i) {
+        return switch (i % 3) {
+            case 0 -> "ERROR,WebServer-" + i + ",OutOfMemoryError,2024-01-20 10:15:" + (i % 60)
+                    + ",Java heap space exhausted,85%,/var/log/web-" + i + ".log";
+            case 1 -> "ABORT,Database-" + i + ",ConnectionPoolExhausted,2024-01-20 10:16:" + (i % 60)
+                    + ",Too many clients,137,/usr/local/bin/db-" + i + ",TERMINATED";
+            default -> "COLLECT,HEAP_DUMP," + (10000 + i) + ",2024-01-20 10:17:" + (i % 60)
+                    + ",/tmp/dumps/heapdump-" + i + ".hprof";
+        };
+    }
+
+    private int next() {
+        cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+        return cursor;
+    }
+
+    @Benchmark
+    public SystemLog compositeLineMapper() throws Exception {
+        int i = next();
+        return compositeMapper.mapLine(lines[i], i);
+    }
+
+    @Benchmark
+    public SystemLog fusedLineMapper() throws Exception {
+        int i = next();
+        return fusedMapper.mapLine(lines[i], i);
+    }
+
+    // MappedLineItemReader가 넘기는 것과 같은 바이트 뷰로 매핑한다 (줄 String을 만들지 않는다).
+    @Benchmark
+    public SystemLog fusedLineMapperOnMappedView() throws Exception {
+        int i = next();
+        ByteBuffer bytes = lineBytes[i];
+        view.set(bytes, 0, bytes.limit(), true);
+        return fusedMapper.mapLine(view, i);
+    }
+}
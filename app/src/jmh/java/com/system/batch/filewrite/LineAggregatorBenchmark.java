@@ -0,0 +1,90 @@
+package com.system.batch.filewrite;
+
+import com.system.batch.filewrite.MultiResourceItemWriteJobConfig.DeathNote;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.item.file.transform.FormatterLineAggregator;
+
+import java.util.concurrent.TimeUnit;
+
+// 연산 1회 = DeathNote 한 건을 한 줄로 만들기. 처리량은 lines/sec, gc.alloc.rate.norm은 줄당 할당 바이트다.
+// 기준선은 빌더의 sourceType(...) + names(...)가 만들던 BeanWrapperFieldExtractor 조합이다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LineAggregatorBenchmark {
+    private static final int SAMPLE_SIZE = 1024;
+    private static final String FORMAT = "처형 ID: %s | 처형일자: %s | 피해자: %s | 사인: %s";
+    private static final String[] DELIMITED_NAMES = {"victimId", "victimName", "executionDate", "causeOfDeath"};
+    private static final String[] FORMATTED_NAMES = {"victimId", "executionDate", "victimName", "causeOfDeath"};
+
+    private DelimitedLineAggregator<DeathNote> delimitedLineAggregator;
+    private FormatterLineAggregator<DeathNote> formatterLineAggregator;
+    private RecordLineAggregator<DeathNote> recordDelimited;
+    private RecordLineAggregator<DeathNote> recordFormatted;
+    private DeathNote[] deathNotes;
+    private int cursor;
+
+    @Setup
+    public void setUp() throws Exception {
+        delimitedLineAggregator = new DelimitedLineAggregator<>();
+        delimitedLineAggregator.setDelimiter(",");
+        delimitedLineAggregator.setFieldExtractor(fieldExtractor(DELIMITED_NAMES));
+        formatterLineAggregator = new FormatterLineAggregator<>();
+        formatterLineAggregator.setFormat(FORMAT);
+        formatterLineAggregator.setFieldExtractor(fieldExtractor(FORMATTED_NAMES));
+        recordDelimited = RecordLineAggregator.delimited(DeathNote.class, ",", DELIMITED_NAMES);
+        recordFormatted = RecordLineAggregator.formatted(DeathNote.class, FORMAT, FORMATTED_NAMES);
+
+        deathNotes = new DeathNote[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            deathNotes[i] = new DeathNote(String.format("KILL-%04d", i), "피해자" + i,
+                    "2024-01-" + (10 + i % 20), "처형사유" + i);
+        }
+    }
+
+    private static BeanWrapperFieldExtractor<DeathNote> fieldExtractor(String[] names) throws Exception {
+        BeanWrapperFieldExtractor<DeathNote> fieldExtractor = new BeanWrapperFieldExtractor<>();
+        fieldExtractor.setNames(names);
+        fieldExtractor.afterPropertiesSet();
+        return fieldExtractor;
+    }
+
+    private DeathNote next() {
+        cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+        return deathNotes[cursor];
+    }
+
+    @Benchmark
+    public String delimitedLineAggregator() {
+        return delimitedLineAggregator.aggregate(next());
+    }
+
+    @Benchmark
+    public String recordDelimitedLineAggregator() {
+        return recordDelimited.aggregate(next());
+    }
+
+    @Benchmark
+    public String formatterLineAggregator() {
+        return formatterLineAggregator.aggregate(next());
+    }
+
+    @Benchmark
+    public String recordFormattedLineAggregator() {
+        return recordFormatted.aggregate(next());
+    }
+}
@@ -0,0 +1,54 @@
+package com.system.batch.filewrite;
+
+import com.system.batch.BenchmarkInputs;
+import com.system.batch.BenchmarkInputs.Format;
+import com.system.batch.filewrite.LogProcessingJobConfig.LogEntry;
+import com.system.batch.filewrite.LogProcessingJobConfig.LogEntryProcessor;
+import com.system.batch.filewrite.LogProcessingJobConfig.ProcessedLogEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// 연산 1회 = LogEntryProcessor.process() 한 번. 프로세서 비용은 줄 단위라 입력 크기와 무관하므로
+// 생성기와 같은 분포의 LogEntry 4096개를 돌려 가며 사용한다 (파일 I/O는 ReaderBenchmark에서 측정).
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LogEntryProcessorBenchmark {
+    private static final int SAMPLE_SIZE = 4096;
+
+    private final LogEntryProcessor processor = new LogEntryProcessor();
+    private LogEntry[] entries;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        entries = new LogEntry[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            String[] fields = BenchmarkInputs.line(Format.LOG_ENTRY, i).split(",", 3);
+            LogEntry entry = new LogEntry();
+            entry.setDateTime(fields[0]);
+            entry.setLevel(fields[1]);
+            entry.setMessage(fields[2]);
+            entries[i] = entry;
+        }
+    }
+
+    @Benchmark
+    public ProcessedLogEntry process() {
+        cursor = (cursor + 1) & (SAMPLE_SIZE - 1);
+        return processor.process(entries[cursor]);
+    }
+}
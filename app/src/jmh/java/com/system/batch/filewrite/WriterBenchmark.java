@@ -0,0 +1,115 @@
+package com.system.batch.filewrite;
+
+import com.system.batch.BenchmarkInputs;
+import com.system.batch.BenchmarkInputs.Format;
+import com.system.batch.filewrite.LogProcessingJobConfig.LogEntry;
+import com.system.batch.filewrite.LogProcessingJobConfig.LogEntryProcessor;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// 연산 1회 = 설정 클래스의 라이터를 열고 lineCount개 아이템을 1000개짜리 청크로 쓴 뒤 닫기.
+// 'lines' 보조 카운터가 초당 쓴 줄 수다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class WriterBenchmark {
+    private static final int CHUNK_SIZE = 1000;
+
+    @Param({"processedLogEntryJsonWriter", "deathNoteWriter", "multiResourceItemWriter"})
+    public String writer;
+
+    @Param({"1000", "1000000", "10000000"})
+    public int lineCount;
+
+    private final SimpleAsyncTaskExecutor finalizationExecutor = new SimpleAsyncTaskExecutor("jmh-finalizer-");
+    private Path outputDir;
+    private Chunk<Object> chunk;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class LineCounter {
+        public long lines;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            lines = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        outputDir = Files.createTempDirectory("kill-batch-jmh-writer");
+        // processedLogEntryJsonWriter는 user.home 아래에 쓰므로 포크된 JVM 안에서만 임시 디렉토리로 돌린다.
+        System.setProperty("user.home", outputDir.toString());
+
+        List<Object> items = new ArrayList<>(CHUNK_SIZE);
+        LogEntryProcessor processor = new LogEntryProcessor();
+        for (int i = 0; i < CHUNK_SIZE; i++) {
+            items.add(switch (writer) {
+                case "processedLogEntryJsonWriter" -> {
+                    String[] fields = BenchmarkInputs.line(Format.LOG_ENTRY, i).split(",", 3);
+                    LogEntry entry = new LogEntry();
+                    entry.setDateTime(fields[0]);
+                    entry.setLevel(fields[1]);
+                    entry.setMessage(fields[2]);
+                    yield processor.process(entry);
+                }
+                case "deathNoteWriter" -> new DeathNoteWriteJobConfig.DeathNote(
+                        String.format("KILL-%07d", i), "피해자" + i, "2024-01-25", "CPU 과부하");
+                default -> new MultiResourceItemWriteJobConfig.DeathNote(
+                        String.format("KILL-%07d", i), "피해자" + i, "2024-01-25", "처형사유" + i);
+            });
+        }
+        chunk = new Chunk<>(items);
+    }
+
+    @SuppressWarnings("unchecked")
+    private ItemStreamWriter<Object> createWriter() {
+        String dir = outputDir.toString();
+        return (ItemStreamWriter<Object>) (ItemStreamWriter<?>) switch (writer) {
+            case "processedLogEntryJsonWriter" -> new LogProcessingJobConfig().processedLogEntryJsonWriter("bench");
+            case "deathNoteWriter" -> new DeathNoteWriteJobConfig().deathNoteWriter(dir);
+            default -> new MultiResourceItemWriteJobConfig().multiResourceItemWriter(dir, finalizationExecutor);
+        };
+    }
+
+    @Benchmark
+    public void writeAll(LineCounter counter) throws Exception {
+        ItemStreamWriter<Object> itemWriter = createWriter();
+        itemWriter.open(new ExecutionContext());
+        try {
+            for (int written = 0; written < lineCount; written += CHUNK_SIZE) {
+                itemWriter.write(chunk);
+                itemWriter.update(new ExecutionContext());
+                counter.lines += chunk.size();
+            }
+        } finally {
+            itemWriter.close();
+        }
+    }
+}
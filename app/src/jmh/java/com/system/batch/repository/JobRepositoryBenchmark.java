@@ -0,0 +1,95 @@
+package com.system.batch.repository;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// 연산 1회 = 청크 커밋 1번. TaskletStep이 청크 트랜잭션 안에서 하는 것처럼 StepExecution과 ExecutionContext를 갱신한다.
+// 점수가 곧 초당 커밋 수다. context=changed는 리더 오프셋처럼 커밋마다 값이 바뀌는 경우, unchanged는 상태 없는 리더/라이터다.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class JobRepositoryBenchmark {
+
+    @Param({"jdbc", "coalescing"})
+    public String repository;
+
+    @Param({"changed", "unchanged"})
+    public String context;
+
+    private EmbeddedDatabase database;
+    private JobRepository jobRepository;
+    private TransactionTemplate transactionTemplate;
+    private StepExecution stepExecution;
+    private long offset;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/org/springframework/batch/core/schema-h2.sql")
+                .build();
+        JdbcTransactionManager transactionManager = new JdbcTransactionManager(database);
+
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(database);
+        factory.setTransactionManager(transactionManager);
+        factory.afterPropertiesSet();
+        JobRepository jdbcRepository = factory.getObject();
+        jobRepository = "coalescing".equals(repository)
+                ? CoalescingJobRepositoryInterceptor.decorate(jdbcRepository, 50, Duration.ofSeconds(1))
+                : jdbcRepository;
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        JobExecution jobExecution = jobRepository.createJobExecution("jobRepositoryBenchmark", new JobParameters());
+        stepExecution = jobExecution.createStepExecution("benchmarkStep");
+        jobRepository.add(stepExecution);
+        stepExecution.setStatus(BatchStatus.STARTED);
+        jobRepository.update(stepExecution);
+    }
+
+    @Benchmark
+    public void commit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if ("changed".equals(context)) {
+                stepExecution.getExecutionContext().putLong("reader.offset", ++offset);
+            }
+            stepExecution.incrementCommitCount();
+            jobRepository.update(stepExecution);
+            jobRepository.updateExecutionContext(stepExecution);
+        });
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.shutdown();
+    }
+}
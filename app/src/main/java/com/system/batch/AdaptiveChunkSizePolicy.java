@@ -0,0 +1,114 @@
+package com.system.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+
+// chunk(10, ...)처럼 커밋 간격을 고정하지 않고, 직전 청크가 걸린 시간(읽기~커밋)을 보고 다음 청크 크기를 정하는 CompletionPolicy.
+// 아이템 하나당 걸린 시간으로 targetDuration 안에 들어갈 개수를 계산하되, 한 번에 절반~두 배까지만 바꾸고 [minSize, maxSize]로 제한한다.
+// 청크 크기는 스텝 실행마다 따로 관리되며, 지금 크기와 지금까지 고른 최소/최대 크기를 스텝 ExecutionContext에 남긴다.
+// 스텝 빌더에 chunk(policy, transactionManager)와 listener(policy)를 함께 등록해야 한다.
+@Slf4j
+public class AdaptiveChunkSizePolicy extends CompletionPolicySupport implements ChunkListener {
+    public static final String SIZE_KEY = "adaptiveChunk.size";
+    public static final String MIN_CHOSEN_KEY = "adaptiveChunk.minChosen";
+    public static final String MAX_CHOSEN_KEY = "adaptiveChunk.maxChosen";
+    private static final String START_TIME_ATTRIBUTE = AdaptiveChunkSizePolicy.class.getName() + ".startTime";
+    private static final String START_READ_COUNT_ATTRIBUTE = AdaptiveChunkSizePolicy.class.getName() + ".startReadCount";
+    private static final String CHUNK_SIZE_ATTRIBUTE = AdaptiveChunkSizePolicy.class.getName() + ".chunkSize";
+
+    private final int initialSize;
+    private final int minSize;
+    private final int maxSize;
+    private final long targetNanos;
+
+    public AdaptiveChunkSizePolicy(int initialSize, int minSize, int maxSize, Duration targetDuration) {
+        Assert.isTrue(minSize > 0 && minSize <= maxSize, "minSize must be positive and not greater than maxSize");
+        Assert.isTrue(!targetDuration.isNegative() && !targetDuration.isZero(), "targetDuration must be positive");
+        this.initialSize = clamp(initialSize, minSize, maxSize);
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.targetNanos = targetDuration.toNanos();
+    }
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        RepeatContextSupport context = new RepeatContextSupport(parent);
+        context.setAttribute(CHUNK_SIZE_ATTRIBUTE, currentSize());
+        return context;
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        Integer chunkSize = (Integer) context.getAttribute(CHUNK_SIZE_ATTRIBUTE);
+        return context.getStartedCount() >= (chunkSize == null ? initialSize : chunkSize);
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        if (context instanceof RepeatContextSupport support) {
+            support.increment();
+        }
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        context.setAttribute(START_TIME_ATTRIBUTE, System.nanoTime());
+        context.setAttribute(START_READ_COUNT_ATTRIBUTE, context.getStepContext().getStepExecution().getReadCount());
+    }
+
+    // TaskletStep은 afterChunk를 커밋이 끝난 뒤에 부르므로 측정 시간에 커밋(잡 저장소 갱신 포함)까지 들어간다.
+    @Override
+    public void afterChunk(ChunkContext context) {
+        Long startTime = (Long) context.getAttribute(START_TIME_ATTRIBUTE);
+        Long startReadCount = (Long) context.getAttribute(START_READ_COUNT_ATTRIBUTE);
+        if (startTime == null || startReadCount == null) {
+            return;
+        }
+        long elapsed = Math.max(System.nanoTime() - startTime, 1);
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        long items = stepExecution.getReadCount() - startReadCount;
+        if (items <= 0) {
+            return;
+        }
+
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        int size = executionContext.getInt(SIZE_KEY, initialSize);
+        long fitting = (long) ((double) targetNanos * items / elapsed);
+        int next = (int) clamp(fitting, Math.max(minSize, size / 2), Math.min(maxSize, (long) size * 2));
+        if (next != size) {
+            log.debug("{}: {}개 청크가 {}ms 걸려 다음 청크 크기를 {} -> {}로 조정",
+                    stepExecution.getStepName(), items, elapsed / 1_000_000, size, next);
+        }
+        executionContext.putInt(SIZE_KEY, next);
+        executionContext.putInt(MIN_CHOSEN_KEY, Math.min(next, executionContext.getInt(MIN_CHOSEN_KEY, next)));
+        executionContext.putInt(MAX_CHOSEN_KEY, Math.max(next, executionContext.getInt(MAX_CHOSEN_KEY, next)));
+    }
+
+    // 스텝 스레드에서 호출되므로 현재 스텝 실행의 ExecutionContext에서 크기를 읽는다. 스텝 밖(벤치마크 등)에서는 초기값을 쓴다.
+    private int currentSize() {
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        if (stepContext == null) {
+            return initialSize;
+        }
+        return stepContext.getStepExecution().getExecutionContext().getInt(SIZE_KEY, initialSize);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,58 @@
+package com.system.batch;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadFactory;
+
+// 스텝, 파티션, 분할 플로우와 그 안의 보조 작업이 쓰는 스레드를 한곳에서 만든다.
+// virtual이면 가상 스레드(Java 21 이상)를, 아니면 지금까지처럼 플랫폼 스레드를 쓴다.
+// 가상 스레드 실행기는 풀 크기 대신 concurrencyLimit으로 동시에 도는 작업 수만 제한한다. 한도에 닿으면 제출한 쪽이 기다린다.
+public class BatchThreads {
+    private final boolean virtual;
+
+    public BatchThreads(boolean virtual) {
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    // 플랫폼 모드의 ThreadPoolTaskExecutor는 여기서 초기화해 돌려주므로 @Bean이 아닌 곳에서도 바로 쓸 수 있다.
+    // @Bean으로 등록하면 컨테이너가 한 번 더 초기화하는데, 스레드는 첫 작업 때 만들어지므로 아직 빈 풀만 바뀐다. 종료도 컨테이너가 맡는다.
+    // @Bean 밖에서 만들었으면 다 쓴 뒤 shutdown해야 한다.
+    public TaskExecutor taskExecutor(String threadNamePrefix, int concurrency) {
+        if (virtual) {
+            SimpleAsyncTaskExecutor executor = perTaskExecutor(threadNamePrefix);
+            executor.setConcurrencyLimit(concurrency);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.initialize();
+        return executor;
+    }
+
+    // 작업마다 새 스레드를 띄운다. 외부 프로세스나 잡 실행처럼 오래 기다리기만 하는 작업용이다.
+    public SimpleAsyncTaskExecutor perTaskExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(virtual);
+        return executor;
+    }
+
+    // ExecutorService를 직접 만드는 곳에서 쓴다. 가상 스레드처럼 플랫폼 스레드도 데몬으로 만든다.
+    public ThreadFactory threadFactory(String threadNamePrefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(threadNamePrefix).getVirtualThreadFactory();
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -0,0 +1,53 @@
+package com.system.batch;
+
+import org.springframework.boot.autoconfigure.batch.BatchTaskExecutor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// 가상 스레드 실행 모드. Java 21로 빌드하고(-PjavaVersion=21) spring.threads.virtual.enabled=true로 켠다.
+// 켜면 잡(과 그 스텝)이 가상 스레드에서 돌고, 파티션/분할 플로우/처리 워커 실행기와 외부 명령 대기도 가상 스레드를 쓴다.
+// Java 17에서는 설정과 관계없이 플랫폼 스레드를 쓴다.
+@Configuration
+public class BatchThreadsConfig {
+    private static final int SPLIT_FLOW_CONCURRENCY = 4;
+
+    @Bean
+    public BatchThreads batchThreads(Environment environment) {
+        return new BatchThreads(Threading.VIRTUAL.isActive(environment));
+    }
+
+    // 분할 플로우(StepGraph)의 한 단계에서 동시에 도는 스텝 수 상한. 넘치는 스텝은 자리가 날 때까지 기다린다.
+    @Bean
+    public TaskExecutor splitFlowTaskExecutor(BatchThreads batchThreads) {
+        return batchThreads.taskExecutor("split-flow-", SPLIT_FLOW_CONCURRENCY);
+    }
+
+    // JobLauncher가 쓰는 실행기. 런처는 지금처럼 동기식이어야 하므로(잡이 끝난 뒤에 System.exit) 띄운 가상 스레드가 끝날 때까지 기다린다.
+    // 기다리는 중에 인터럽트되면 잡 스레드에도 인터럽트를 전하고(cancel) 예외로 알린다. 잡이 아직 도는데 런처가 끝난 것처럼 돌아가지 않는다.
+    @Bean
+    @BatchTaskExecutor
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskExecutor batchJobTaskExecutor(BatchThreads batchThreads) {
+        SimpleAsyncTaskExecutor jobThreads = batchThreads.perTaskExecutor("batch-job-");
+        return task -> {
+            Future<?> done = jobThreads.submit(task);
+            try {
+                done.get();
+            } catch (InterruptedException e) {
+                done.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the job thread", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Job thread failed", e.getCause());
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package com.system.batch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// CONTINUABLE을 반환하는 태스크릿의 반복 여러 번을 트랜잭션 하나(JobRepository 갱신 한 번)로 묶는다.
+// maxIterations번 반복했거나 maxDuration이 지났으면 CONTINUABLE을 돌려줘 TaskletStep이 커밋하게 한다.
+// 중지 요청(terminateOnly)이나 인터럽트가 보이면 바로 돌려줘서, 중지는 TaskletStep이 지금처럼 커밋 직후에 처리한다.
+// 위임 태스크릿은 진행 상태를 스텝 ExecutionContext에 둔다. 묶음이 롤백되면 TaskletStep은 컨텍스트를 되돌리지 않고
+// 실패한 스텝도 끝에서 컨텍스트를 저장하므로, 묶음을 시작할 때의 컨텍스트를 떠 두었다가 롤백되면 그대로 되돌린다.
+// 그래서 재시작은 마지막으로 커밋된 묶음 다음 반복부터 이어 간다.
+// 컨텍스트 전체를 되돌리므로 단일 스레드 스텝에서만 쓴다. 멀티스레드 스텝은 RangeWorkTasklet을 쓴다.
+// 반복마다 batch.tasklet.iteration 타이머(job, step 태그)에 시간을 기록한다. 커밋 수는 이제 묶음 수다.
+public class BatchedTasklet implements Tasklet, StepExecutionListener {
+    private final Tasklet delegate;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private int maxIterations = 1000;
+    private Duration maxDuration = Duration.ofSeconds(1);
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public BatchedTasklet(Tasklet delegate) {
+        this.delegate = delegate;
+    }
+
+    public void setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // TaskletStep은 스텝에 넘긴 태스크릿만 리스너로 등록하므로, 위임 태스크릿이 리스너면 대신 전달한다.
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (delegate instanceof StepExecutionListener listener) {
+            listener.beforeStep(stepExecution);
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        return delegate instanceof StepExecutionListener listener ? listener.afterStep(stepExecution) : null;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        StepExecution stepExecution = contribution.getStepExecution();
+        restoreOnRollback(stepExecution.getExecutionContext());
+        Timer iterationTimer = timerFor(stepExecution);
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        for (int iteration = 1; ; iteration++) {
+            long start = System.nanoTime();
+            RepeatStatus status = delegate.execute(contribution, chunkContext);
+            long end = System.nanoTime();
+            iterationTimer.record(end - start, TimeUnit.NANOSECONDS);
+            if (status == null || !status.isContinuable()) {
+                return status;
+            }
+            if (iteration >= maxIterations || end - deadline >= 0
+                    || stepExecution.isTerminateOnly() || Thread.currentThread().isInterrupted()) {
+                return RepeatStatus.CONTINUABLE;
+            }
+        }
+    }
+
+    // 트랜잭션 동기화가 없으면 되돌릴 트랜잭션도 없으므로 아무것도 하지 않는다.
+    private void restoreOnRollback(ExecutionContext executionContext) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        ExecutionContext snapshot = new ExecutionContext(executionContext);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    return;
+                }
+                for (Map.Entry<String, Object> entry : List.copyOf(executionContext.entrySet())) {
+                    if (!snapshot.containsKey(entry.getKey())) {
+                        executionContext.remove(entry.getKey());
+                    }
+                }
+                for (Map.Entry<String, Object> entry : snapshot.entrySet()) {
+                    executionContext.put(entry.getKey(), entry.getValue());
+                }
+            }
+        });
+    }
+
+    private Timer timerFor(StepExecution stepExecution) {
+        String jobName = stepExecution.getJobExecution().getJobInstance().getJobName();
+        String stepName = stepExecution.getStepName();
+        return timers.computeIfAbsent(jobName + '/' + stepName, key -> Timer.builder("batch.tasklet.iteration")
+                .description("CONTINUABLE 태스크릿 반복 한 번의 시간")
+                .tags("job", jobName, "step", stepName)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
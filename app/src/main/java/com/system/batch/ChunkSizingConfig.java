@@ -0,0 +1,17 @@
+package com.system.batch;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// 청크 스텝들이 함께 쓰는 커밋 간격 정책. 상태는 스텝 실행마다 따로 보관되므로 스텝끼리(파티션 워커끼리도) 공유해도 된다.
+@Configuration
+public class ChunkSizingConfig {
+
+    // 기존 chunk(10)에서 시작해 청크 하나(읽기~커밋)가 0.5초 정도 걸리도록 10~1000 사이에서 맞춘다.
+    @Bean
+    public AdaptiveChunkSizePolicy adaptiveChunkSizePolicy() {
+        return new AdaptiveChunkSizePolicy(10, 10, 1000, Duration.ofMillis(500));
+    }
+}
@@ -0,0 +1,328 @@
+package com.system.batch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.ToLongFunction;
+
+// 작업 단위 0..target-1을 ranges개 구간으로 나눠 처리하는 CONTINUABLE 태스크릿. 멀티스레드 스텝(taskExecutor)에서도 그대로 쓴다.
+// execute() 한 번은 아직 끝나지 않고 다른 스레드가 잡지 않은 구간 하나를 잡아 최대 unitsPerCommit개(또는 maxDuration 동안) 처리한다.
+// 구간마다 다음에 할 번호를 스텝 ExecutionContext의 range.<i>.next에 둔다.
+// execute()는 세마포어 밖에서 동시에 돌므로 공유 ExecutionContext를 건드리지 않고, 새 위치를 스레드별로 잡아 둔다.
+// TaskletStep이 같은 스레드에서 세마포어를 쥔 채 update()를 부르면, 잡아 둔 구간은 새 위치로, 나머지 구간은 커밋된 위치로 쓰고
+// 같은 트랜잭션이 그것을 저장한다. 롤백되면 커밋된 위치로 다시 써 둔다 (실패한 스텝도 끝에서 컨텍스트를 저장하기 때문이다).
+// 그래서 스텝에 .stream(tasklet)으로 등록해야 하고, 등록하지 않으면 execute()가 예외를 던진다.
+// 재시작하면 구간마다 마지막 커밋 다음 번호부터 이어 간다.
+// 스레드끼리 공유하는 것은 구간 소유 표시와 커밋된 위치뿐이고, 작업 단위마다 건드리는 공유 값은 없다.
+// 처리한 수는 writeCount와 ExecutionContext의 completed 키로 남고, 작업 단위마다 batch.tasklet.iteration 타이머(job, step 태그)에 시간을 기록한다.
+// 중지 요청(terminateOnly)이나 인터럽트가 보이면 묶음을 거기서 끊고 커밋하므로, 중지는 TaskletStep이 커밋 직후에 처리한다.
+@Slf4j
+public class RangeWorkTasklet implements Tasklet, StepExecutionListener, ItemStream {
+    static final String COMPLETED_KEY = "completed";
+    private static final String TARGET_KEY = "target";
+    private static final String RANGES_KEY = "ranges";
+    private static final long WAIT_NANOS = Duration.ofMillis(1).toNanos();
+
+    // 작업 단위 하나. index는 0부터 target-1까지이고, 재시작하면 마지막 커밋 뒤의 번호가 다시 올 수 있다.
+    @FunctionalInterface
+    public interface WorkUnit {
+        void execute(long index, StepContribution contribution) throws Exception;
+    }
+
+    private final ToLongFunction<StepExecution> target;
+    private final int ranges;
+    private final WorkUnit workUnit;
+    private final Map<Long, Progress> progress = new ConcurrentHashMap<>();
+    // 이 스레드가 처리했지만 아직 커밋되지 않은 구간 위치. update()가 읽고, 트랜잭션이 끝나면 지운다.
+    private final ThreadLocal<Pending> pending = new ThreadLocal<>();
+    private int unitsPerCommit = 1000;
+    private Duration maxDuration = Duration.ofSeconds(1);
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    public RangeWorkTasklet(long target, int ranges, WorkUnit workUnit) {
+        this(stepExecution -> target, ranges, workUnit);
+    }
+
+    // 목표 수를 스텝이 시작할 때 정한다 (예: 앞 스텝이 잡 ExecutionContext에 넣은 값).
+    public RangeWorkTasklet(ToLongFunction<StepExecution> target, int ranges, WorkUnit workUnit) {
+        this.target = target;
+        this.ranges = ranges;
+        this.workUnit = workUnit;
+    }
+
+    public void setUnitsPerCommit(int unitsPerCommit) {
+        this.unitsPerCommit = unitsPerCommit;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        progressFor(stepExecution);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Progress stepProgress = progress.remove(stepExecution.getId());
+        if (stepProgress != null) {
+            log.info("{}: 작업 {}/{}개 완료 (이번 실행 {}개)", stepExecution.getStepName(),
+                    stepProgress.completedUnits(), stepProgress.target, stepProgress.completedThisRun.sum());
+        }
+        return null;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        Progress stepProgress = progressOf(executionContext);
+        if (stepProgress != null) {
+            stepProgress.opened = true;
+        }
+    }
+
+    // 세마포어를 쥔 커밋 스레드에서 불린다. 이 스레드가 잡아 둔 구간만 새 위치로 쓰고, 다른 구간은 커밋된 위치를 쓴다.
+    @Override
+    public void update(ExecutionContext executionContext) {
+        Pending staged = pending.get();
+        Progress stepProgress = staged != null && staged.progress.executionContext == executionContext
+                ? staged.progress : progressOf(executionContext);
+        if (stepProgress != null) {
+            stepProgress.write(staged != null && staged.progress == stepProgress ? staged : null);
+        }
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        Progress stepProgress = progressFor(contribution.getStepExecution());
+        if (!stepProgress.opened) {
+            throw new IllegalStateException("RangeWorkTasklet must be registered as a stream of its step (.stream(tasklet))");
+        }
+        int range;
+        while ((range = stepProgress.claim()) < 0) {
+            if (stepProgress.isComplete()) {
+                return RepeatStatus.FINISHED;
+            }
+            // 남은 구간을 모두 다른 스레드가 처리 중이다. 빈 트랜잭션을 돌리지 않고 커밋을 기다린다.
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+
+        long from = stepProgress.next.get(range);
+        long end = stepProgress.rangeEnd(range);
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long index = from;
+        boolean released = false;
+        try {
+            StepExecution stepExecution = contribution.getStepExecution();
+            while (index < end && index - from < unitsPerCommit) {
+                long start = System.nanoTime();
+                workUnit.execute(index, contribution);
+                long now = System.nanoTime();
+                stepProgress.unitTimer.record(now - start, TimeUnit.NANOSECONDS);
+                index++;
+                if (now - deadline >= 0 || stepExecution.isTerminateOnly() || Thread.currentThread().isInterrupted()) {
+                    break;
+                }
+            }
+            contribution.incrementWriteCount(index - from);
+            released = stepProgress.advance(range, from, index, pending);
+        } finally {
+            if (!released) {
+                stepProgress.release(range);
+            }
+        }
+        return stepProgress.isCompleteWith(range, index) ? RepeatStatus.FINISHED : RepeatStatus.CONTINUABLE;
+    }
+
+    private Progress progressFor(StepExecution stepExecution) {
+        return progress.computeIfAbsent(stepExecution.getId(), id -> new Progress(stepExecution.getExecutionContext(),
+                target.applyAsLong(stepExecution), ranges, unitTimer(stepExecution)));
+    }
+
+    private Progress progressOf(ExecutionContext executionContext) {
+        for (Progress stepProgress : progress.values()) {
+            if (stepProgress.executionContext == executionContext) {
+                return stepProgress;
+            }
+        }
+        return null;
+    }
+
+    private Timer unitTimer(StepExecution stepExecution) {
+        return Timer.builder("batch.tasklet.iteration")
+                .description("작업 단위 하나의 시간")
+                .tags("job", stepExecution.getJobExecution().getJobInstance().getJobName(),
+                        "step", stepExecution.getStepName())
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    // 커밋을 기다리는 구간 하나의 새 위치.
+    private record Pending(Progress progress, int range, long position) {
+    }
+
+    // 스텝 실행 하나의 구간별 진행. next는 구간을 잡은 스레드가 올린 진행이고, committed는 그중 커밋된 진행이다.
+    private static final class Progress {
+        private final ExecutionContext executionContext;
+        private final long target;
+        private final AtomicLongArray next;
+        private final AtomicLongArray committed;
+        private final AtomicIntegerArray claimed;
+        private final LongAdder completedThisRun = new LongAdder();
+        private final Timer unitTimer;
+        private volatile boolean opened;
+
+        private Progress(ExecutionContext executionContext, long target, int ranges, Timer unitTimer) {
+            if (executionContext.containsKey(TARGET_KEY)
+                    && (executionContext.getLong(TARGET_KEY) != target || executionContext.getInt(RANGES_KEY) != ranges)) {
+                throw new IllegalStateException("Cannot restart with target " + target + " and " + ranges
+                        + " ranges; previous run used " + executionContext.getLong(TARGET_KEY) + " and "
+                        + executionContext.getInt(RANGES_KEY));
+            }
+            executionContext.putLong(TARGET_KEY, target);
+            executionContext.putInt(RANGES_KEY, ranges);
+            this.executionContext = executionContext;
+            this.target = target;
+            this.unitTimer = unitTimer;
+            this.next = new AtomicLongArray(ranges);
+            this.committed = new AtomicLongArray(ranges);
+            this.claimed = new AtomicIntegerArray(ranges);
+            for (int range = 0; range < ranges; range++) {
+                long position = executionContext.getLong(nextKey(range), rangeStart(range));
+                next.set(range, position);
+                committed.set(range, position);
+            }
+        }
+
+        private long rangeStart(int range) {
+            return target * range / next.length();
+        }
+
+        private long rangeEnd(int range) {
+            return target * (range + 1) / next.length();
+        }
+
+        // 끝나지 않은 구간 중 아무도 잡지 않은 것을 잡는다. 없으면 -1.
+        private int claim() {
+            for (int range = 0; range < next.length(); range++) {
+                if (next.get(range) < rangeEnd(range) && claimed.compareAndSet(range, 0, 1)) {
+                    if (next.get(range) < rangeEnd(range)) {
+                        return range;
+                    }
+                    claimed.set(range, 0);
+                }
+            }
+            return -1;
+        }
+
+        private void release(int range) {
+            claimed.set(range, 0);
+        }
+
+        // 새 위치를 이 스레드의 대기 값으로 잡아 두고, 트랜잭션이 끝나면 커밋 또는 롤백으로 정리한다.
+        // 동기화는 TaskletStep보다 먼저 돌도록 순서를 앞에 둔다. 그래야 세마포어가 풀리기 전에 committed가 바뀌고,
+        // 다음 update()가 옛 위치를 쓰지 않는다. 트랜잭션 동기화가 없으면 바로 커밋된 것으로 본다.
+        // 구간은 트랜잭션이 끝날 때까지 잡아 둔다. 구간을 놓는 일을 맡았으면 true.
+        private boolean advance(int range, long from, long position, ThreadLocal<Pending> pending) {
+            next.set(range, position);
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                commit(range, position, position - from);
+                return false;
+            }
+            pending.set(new Pending(this, range, position));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public int getOrder() {
+                    return Ordered.HIGHEST_PRECEDENCE;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    pending.remove();
+                    if (status == STATUS_COMMITTED) {
+                        commit(range, position, position - from);
+                    } else {
+                        next.set(range, from);
+                        write(null);
+                    }
+                    release(range);
+                }
+            });
+            return true;
+        }
+
+        private void commit(int range, long position, long units) {
+            committed.set(range, position);
+            completedThisRun.add(units);
+        }
+
+        // 구간 위치와 완료 수를 ExecutionContext에 쓴다. staged 구간은 새 위치로, 나머지는 커밋된 위치로 쓴다.
+        private void write(Pending staged) {
+            long completed = 0;
+            for (int range = 0; range < next.length(); range++) {
+                long position = staged != null && staged.range() == range ? staged.position() : committed.get(range);
+                executionContext.putLong(nextKey(range), position);
+                completed += position - rangeStart(range);
+            }
+            executionContext.putLong(COMPLETED_KEY, completed);
+        }
+
+        private long completedUnits() {
+            long completed = 0;
+            for (int range = 0; range < next.length(); range++) {
+                completed += committed.get(range) - rangeStart(range);
+            }
+            return completed;
+        }
+
+        private boolean isComplete() {
+            for (int range = 0; range < next.length(); range++) {
+                if (committed.get(range) < rangeEnd(range)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 방금 처리한 구간이 커밋된다고 보고 전체가 끝나는지 본다.
+        private boolean isCompleteWith(int range, long position) {
+            for (int other = 0; other < next.length(); other++) {
+                long otherPosition = other == range ? position : committed.get(other);
+                if (otherPosition < rangeEnd(other)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String nextKey(int range) {
+            return "range." + range + ".next";
+        }
+    }
+}
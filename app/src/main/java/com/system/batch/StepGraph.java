@@ -0,0 +1,91 @@
+package com.system.batch;
+
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.FlowBuilder;
+import org.springframework.batch.core.job.flow.Flow;
+import org.springframework.batch.core.job.flow.support.SimpleFlow;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+// 스텝마다 잡 ExecutionContext에서 읽는 키(inputs)와 쓰는 키(outputs)를 선언하면, 그 의존 관계로 스텝을 단계별로 묶은 Flow를 만든다.
+// 선언 순서상 앞선 스텝이 쓰는 키를 읽거나, 앞선 스텝과 같은 키를 쓰거나, 앞선 스텝이 읽는 키를 덮어쓰는 스텝은 그 스텝 뒤로 간다.
+// 그래프 안에서 아무도 쓰지 않는 키(잡 리스너나 이전 잡이 넣어 둔 값)는 의존을 만들지 않는다.
+// 같은 단계의 스텝은 split으로 taskExecutor에서 동시에 돌고, 다음 단계는 앞 단계가 모두 끝난 뒤 시작한다.
+// 단계 단위로 기다리므로 의존이 없는 스텝도 앞 단계의 가장 느린 스텝만큼 기다릴 수 있다.
+public class StepGraph {
+    private final String name;
+    private final TaskExecutor taskExecutor;
+    private final List<Node> nodes = new ArrayList<>();
+
+    public StepGraph(String name, TaskExecutor taskExecutor) {
+        this.name = name;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public StepGraph step(Step step, Set<String> inputs, Set<String> outputs) {
+        int level = 0;
+        for (Node earlier : nodes) {
+            if (dependsOn(inputs, outputs, earlier)) {
+                level = Math.max(level, earlier.level + 1);
+            }
+        }
+        nodes.add(new Node(step, inputs, outputs, level));
+        return this;
+    }
+
+    public Flow build() {
+        List<List<Step>> levels = levels();
+        Assert.state(!levels.isEmpty(), "StepGraph " + name + " has no steps");
+        FlowBuilder<SimpleFlow> flow = new FlowBuilder<>(name);
+        for (int i = 0; i < levels.size(); i++) {
+            Flow levelFlow = levelFlow(i, levels.get(i));
+            if (i == 0) {
+                flow.start(levelFlow);
+            } else {
+                flow.next(levelFlow);
+            }
+        }
+        return flow.build();
+    }
+
+    // 단계별 스텝 목록. 단계 안에서는 선언 순서를 지킨다.
+    List<List<Step>> levels() {
+        List<List<Step>> levels = new ArrayList<>();
+        for (Node node : nodes) {
+            while (levels.size() <= node.level) {
+                levels.add(new ArrayList<>());
+            }
+            levels.get(node.level).add(node.step);
+        }
+        return levels;
+    }
+
+    private Flow levelFlow(int index, List<Step> steps) {
+        String levelName = name + ".level" + index;
+        if (steps.size() == 1) {
+            return new FlowBuilder<SimpleFlow>(levelName).start(steps.get(0)).build();
+        }
+        Flow[] branches = new Flow[steps.size()];
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            branches[i] = new FlowBuilder<SimpleFlow>(levelName + "." + step.getName()).start(step).build();
+        }
+        return new FlowBuilder<SimpleFlow>(levelName)
+                .split(taskExecutor)
+                .add(branches)
+                .build();
+    }
+
+    private static boolean dependsOn(Set<String> inputs, Set<String> outputs, Node earlier) {
+        return !Collections.disjoint(inputs, earlier.outputs)
+                || !Collections.disjoint(outputs, earlier.outputs)
+                || !Collections.disjoint(outputs, earlier.inputs);
+    }
+
+    private record Node(Step step, Set<String> inputs, Set<String> outputs, int level) {}
+}
@@ -1,39 +1,55 @@
 package com.system.batch;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ExitStatus;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.batch.core.configuration.annotation.JobScope;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.converter.JobParametersConverter;
 import org.springframework.batch.core.converter.JsonJobParametersConverter;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Set;
 
 @Slf4j
 @Configuration
 public class SystemTerminationConfig {
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
+    private final BatchThreads batchThreads;
 
-    private final AtomicInteger processesKilled = new AtomicInteger(0);
     private final int TERMINATION_TARGET = 5;
-
-    public SystemTerminationConfig(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+    private static final String WORLD_ENTERED_AT_KEY = "worldEnteredAt";
+    private static final String TERMINATION_TARGET_KEY = "terminationTarget";
+    private static final String PROCESSES_KILLED_KEY = "processesKilled";
+    private static final int DEFEAT_WORKERS = 4;
+    private static final int ITERATIONS_PER_COMMIT = 1000;
+    private static final Duration MAX_COMMIT_INTERVAL = Duration.ofSeconds(1);
+
+    public SystemTerminationConfig(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                                   BatchThreads batchThreads) {
         this.jobRepository = jobRepository;
         this.transactionManager = transactionManager;
+        this.batchThreads = batchThreads;
     }
 
 
@@ -54,11 +70,28 @@ public class SystemTerminationConfig {
                 .build();
     }
 
+    // systemTerminationSimulationJob과 같은 스텝을 잡 ExecutionContext 입출력 선언에 따라 돌린다.
+    // 세계 접속과 NPC 만남은 서로 기다리지 않고 동시에 돌고, 처형은 임무(terminationTarget)를, 완료는 둘 다를 기다린다.
+    @Bean
+    public Job parallelSystemTerminationSimulationJob(TaskExecutor splitFlowTaskExecutor) {
+        Flow flow = new StepGraph("systemTerminationSimulationFlow", splitFlowTaskExecutor)
+                .step(enterWorldStep(), Set.of(), Set.of(WORLD_ENTERED_AT_KEY))
+                .step(meetNPCStep(), Set.of(), Set.of(TERMINATION_TARGET_KEY))
+                .step(defeatProcessStep(), Set.of(TERMINATION_TARGET_KEY), Set.of(PROCESSES_KILLED_KEY))
+                .step(completeQuestStep(), Set.of(WORLD_ENTERED_AT_KEY, PROCESSES_KILLED_KEY), Set.of())
+                .build();
+        return new JobBuilder("parallelSystemTerminationSimulationJob", jobRepository)
+                .start(flow)
+                .end()
+                .build();
+    }
+
     @Bean
     public Step enterWorldStep() {
         return new StepBuilder("enterWorldStep", jobRepository)
                 .tasklet((contribution, chunkContext) -> {
                     System.out.println("System Termination 시뮬레이션 세계에 접속했습니다!");
+                    jobContext(contribution).putString(WORLD_ENTERED_AT_KEY, LocalDateTime.now().toString());
                     return RepeatStatus.FINISHED;
                 }, transactionManager)
                 .build();
@@ -70,37 +103,61 @@ public class SystemTerminationConfig {
                 .tasklet((contribution, chunkContext) -> {
                     System.out.println("시스템 관리자 NPC를 만났습니다.");
                     System.out.println("첫 번째 미션: 좀비 프로세스 " + TERMINATION_TARGET + "개 처형하기");
+                    jobContext(contribution).putInt(TERMINATION_TARGET_KEY, TERMINATION_TARGET);
                     return RepeatStatus.FINISHED;
                 }, transactionManager)
                 .build();
     }
 
+    // 처형 대상(terminationTarget)을 워커 수만큼 구간으로 나눠 여러 스레드가 동시에 처형한다.
+    // 진행은 구간별로 스텝 ExecutionContext에 남으므로 재시작하면 멈춘 곳부터 이어 가고, 끝나면 처형 수를 잡 ExecutionContext로 올린다.
     @Bean
     public Step defeatProcessStep() {
+        RangeWorkTasklet tasklet = new RangeWorkTasklet(
+                stepExecution -> stepExecution.getJobExecution().getExecutionContext()
+                        .getInt(TERMINATION_TARGET_KEY, TERMINATION_TARGET),
+                DEFEAT_WORKERS,
+                (index, contribution) -> System.out.println("좀비 프로세스 처형 완료! (#" + (index + 1) + ")"));
+        tasklet.setUnitsPerCommit(ITERATIONS_PER_COMMIT);
+        tasklet.setMaxDuration(MAX_COMMIT_INTERVAL);
         return new StepBuilder("defeatProcessStep", jobRepository)
-                .tasklet((contribution, chunkContext) -> {
-                    int terminated = processesKilled.incrementAndGet();
-                    System.out.println("좀비 프로세스 처형 완료! (현재 " + terminated + "/" + TERMINATION_TARGET + ")");
-                    if (terminated < TERMINATION_TARGET) {
-                        return RepeatStatus.CONTINUABLE;
-                    } else {
-                        return RepeatStatus.FINISHED;
+                .tasklet(tasklet, transactionManager)
+                .stream(tasklet)
+                .taskExecutor(defeatProcessTaskExecutor())
+                .listener(new StepExecutionListener() {
+                    @Override
+                    public ExitStatus afterStep(StepExecution stepExecution) {
+                        stepExecution.getJobExecution().getExecutionContext().putInt(PROCESSES_KILLED_KEY,
+                                (int) stepExecution.getExecutionContext().getLong(RangeWorkTasklet.COMPLETED_KEY, 0));
+                        return null;
                     }
-                }, transactionManager)
+                })
                 .build();
     }
 
+    @Bean
+    public TaskExecutor defeatProcessTaskExecutor() {
+        return batchThreads.taskExecutor("defeat-process-", DEFEAT_WORKERS);
+    }
+
     @Bean
     public Step completeQuestStep() {
         return new StepBuilder("completeQuestStep", jobRepository)
                 .tasklet((contribution, chunkContext) -> {
-                    System.out.println("미션 완료! 좀비 프로세스 " + TERMINATION_TARGET + "개 처형 성공!");
+                    ExecutionContext jobContext = jobContext(contribution);
+                    System.out.println("미션 완료! 좀비 프로세스 " + jobContext.getInt(PROCESSES_KILLED_KEY, TERMINATION_TARGET) + "개 처형 성공!");
+                    System.out.println("세계 접속 시각: " + jobContext.getString(WORLD_ENTERED_AT_KEY, "알 수 없음"));
                     System.out.println("보상: kill -9 권한 획득, 시스템 제어 레벨 1 달성");
                     return RepeatStatus.FINISHED;
                 }, transactionManager)
                 .build();
     }
 
+    // 스텝끼리 값을 넘기는 잡 ExecutionContext. 분할 플로우의 스텝들이 동시에 써도 되는 동시성 맵이다.
+    private static ExecutionContext jobContext(StepContribution contribution) {
+        return contribution.getStepExecution().getJobExecution().getExecutionContext();
+    }
+
     @Bean
     public Job processTerminatorJob(JobRepository jobRepository, Step terminationStep) {
         return new JobBuilder("processTerminatorJob", jobRepository)
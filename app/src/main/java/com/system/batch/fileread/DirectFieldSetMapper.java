@@ -0,0 +1,322 @@
+package com.system.batch.fileread;
+
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.mapping.RecordFieldSetMapper;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.NumberUtils;
+import org.springframework.validation.BindException;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.MapBindingResult;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// targetType()의 BeanWrapperFieldSetMapper(레코드면 RecordFieldSetMapper) 대신 쓰는 FieldSetMapper.
+// 대상 클래스마다 한 번, 생성자와 setter를 LambdaMetafactory로 만든 람다로, 필드 타입별 변환기를 미리 골라 둔다.
+// 줄마다 리플렉션이나 PropertyEditor 조회 없이 FieldSet 인덱스 순서대로 값을 바로 넣는다.
+// 변환 규칙은 Spring 기본 PropertyEditor와 같다 (숫자는 NumberUtils, boolean은 true/on/yes/1, 빈 문자열은 래퍼 타입이면 null).
+// 변환할 수 없는 값은 BeanWrapperFieldSetMapper처럼 그 필드의 typeMismatch 오류를 담은 BindException으로 던진다.
+// 직접 변환할 수 없는 필드 타입이 있거나 FieldSet 이름이 프로퍼티와 정확히 맞지 않으면 원래 매퍼로 넘긴다.
+public class DirectFieldSetMapper<T> implements FieldSetMapper<T> {
+    private static final Map<Class<?>, Binding<?>> BINDINGS = new ConcurrentHashMap<>();
+    // BeanWrapperFieldSetMapper의 DataBinder가 쓰는 기본 객체 이름
+    private static final String TARGET_NAME = "target";
+
+    private final Binding<T> binding;
+    private final FieldSetMapper<T> fallback;
+    private volatile int[] fieldIndexes;
+    private volatile boolean useFallback;
+
+    private DirectFieldSetMapper(Binding<T> binding, FieldSetMapper<T> fallback) {
+        this.binding = binding;
+        this.fallback = fallback;
+        this.useFallback = binding == null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> DirectFieldSetMapper<T> forType(Class<T> type) {
+        Binding<T> binding = (Binding<T>) BINDINGS.computeIfAbsent(type, DirectFieldSetMapper::createBinding);
+        return new DirectFieldSetMapper<>((Object) binding == Binding.UNSUPPORTED ? null : binding, fallbackMapper(type));
+    }
+
+    @Override
+    public T mapFieldSet(FieldSet fieldSet) throws BindException {
+        if (useFallback) {
+            return fallback.mapFieldSet(fieldSet);
+        }
+        int[] indexes = fieldIndexes;
+        if (indexes == null || indexes.length != fieldSet.getFieldCount()) {
+            indexes = resolveIndexes(fieldSet);
+            if (indexes == null) {
+                useFallback = true;
+                return fallback.mapFieldSet(fieldSet);
+            }
+            fieldIndexes = indexes;
+        }
+        return binding.map(fieldSet, indexes);
+    }
+
+    // FieldSet의 i번째 이름에 해당하는 프로퍼티 번호. 이름이 하나라도 맞지 않으면 null이다.
+    private int[] resolveIndexes(FieldSet fieldSet) {
+        String[] names = fieldSet.getNames();
+        int[] indexes = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            Integer property = binding.propertyIndexes.get(names[i]);
+            if (property == null) {
+                return null;
+            }
+            indexes[i] = property;
+        }
+        return indexes;
+    }
+
+    private static <T> FieldSetMapper<T> fallbackMapper(Class<T> type) {
+        if (type.isRecord()) {
+            return new RecordFieldSetMapper<>(type);
+        }
+        BeanWrapperFieldSetMapper<T> mapper = new BeanWrapperFieldSetMapper<>();
+        mapper.setTargetType(type);
+        return mapper;
+    }
+
+    private static Binding<?> createBinding(Class<?> type) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            return type.isRecord() ? recordBinding(type, lookup) : beanBinding(type, lookup);
+        } catch (ReflectiveOperationException | UnsupportedOperationException | IllegalArgumentException e) {
+            return Binding.UNSUPPORTED;
+        }
+    }
+
+    private static Binding<?> beanBinding(Class<?> type, MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+        Supplier<Object> constructor = constructor(type, lookup);
+        Map<String, Integer> propertyIndexes = new HashMap<>();
+        List<Property> properties = new ArrayList<>();
+        for (PropertyDescriptor descriptor : BeanUtils.getPropertyDescriptors(type)) {
+            Method writeMethod = descriptor.getWriteMethod();
+            Function<String, Object> converter = writeMethod == null ? null : converter(descriptor.getPropertyType());
+            if (converter == null) {
+                continue;
+            }
+            propertyIndexes.put(descriptor.getName(), properties.size());
+            properties.add(new Property(descriptor.getName(), converter, setter(type, writeMethod, lookup)));
+        }
+        Property[] propertyArray = properties.toArray(new Property[0]);
+        return new Binding<>(propertyIndexes, (fieldSet, indexes) -> {
+            Object target = constructor.get();
+            for (int i = 0; i < indexes.length; i++) {
+                Property property = propertyArray[indexes[i]];
+                property.setter().accept(target, property.convert(fieldSet.readString(i)));
+            }
+            return target;
+        });
+    }
+
+    // 레코드는 정규 생성자 인자 순서대로 값을 모아 한 번에 만든다. FieldSet에 없는 컴포넌트는 null(기본형은 0/false)이다.
+    private static Binding<?> recordBinding(Class<?> type, MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] parameterTypes = Arrays.stream(components).map(RecordComponent::getType).toArray(Class[]::new);
+        Map<String, Integer> propertyIndexes = new HashMap<>();
+        Property[] properties = new Property[components.length];
+        Object[] defaults = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            Function<String, Object> converter = converter(parameterTypes[i]);
+            if (converter == null) {
+                throw new IllegalArgumentException("Unsupported record component type: " + parameterTypes[i]);
+            }
+            properties[i] = new Property(components[i].getName(), converter, null);
+            propertyIndexes.put(components[i].getName(), i);
+            defaults[i] = parameterTypes[i].isPrimitive() ? Array.get(Array.newInstance(parameterTypes[i], 1), 0) : null;
+        }
+        Constructor<?> canonical = type.getDeclaredConstructor(parameterTypes);
+        MethodHandle constructor = lookup.unreflectConstructor(canonical)
+                .asSpreader(Object[].class, components.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        return new Binding<>(propertyIndexes, (fieldSet, indexes) -> {
+            Object[] arguments = defaults.clone();
+            for (int i = 0; i < indexes.length; i++) {
+                int component = indexes[i];
+                arguments[component] = properties[component].convert(fieldSet.readString(i));
+            }
+            try {
+                return constructor.invokeExact(arguments);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Failed to create " + type.getName(), e);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Object> constructor(Class<?> type, MethodHandles.Lookup lookup) throws ReflectiveOperationException {
+        MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class));
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "get", MethodType.methodType(Supplier.class),
+                    MethodType.methodType(Object.class), constructor, MethodType.methodType(type));
+            return (Supplier<Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            MethodHandle generic = constructor.asType(MethodType.methodType(Object.class));
+            return () -> {
+                try {
+                    return generic.invokeExact();
+                } catch (Throwable t) {
+                    throw new IllegalStateException("Failed to create " + type.getName(), t);
+                }
+            };
+        }
+    }
+
+    // setter를 BiConsumer 람다로 만든다. 기본형 인자는 람다가 언박싱한다.
+    // LambdaMetafactory를 쓸 수 없는 환경(클래스 로더 제약 등)이면 MethodHandle을 직접 호출한다.
+    @SuppressWarnings("unchecked")
+    private static BiConsumer<Object, Object> setter(Class<?> type, Method writeMethod, MethodHandles.Lookup lookup)
+            throws IllegalAccessException {
+        MethodHandle setter = lookup.unreflect(writeMethod);
+        Class<?> parameterType = writeMethod.getParameterTypes()[0];
+        try {
+            CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+                    MethodType.methodType(void.class, Object.class, Object.class), setter,
+                    MethodType.methodType(void.class, type, box(parameterType)));
+            return (BiConsumer<Object, Object>) site.getTarget().invoke();
+        } catch (Throwable e) {
+            MethodHandle generic = setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+            return (target, value) -> {
+                try {
+                    generic.invokeExact(target, value);
+                } catch (RuntimeException | Error t) {
+                    throw t;
+                } catch (Throwable t) {
+                    throw new IllegalStateException("Failed to set " + writeMethod.getName(), t);
+                }
+            };
+        }
+    }
+
+    private static Class<?> box(Class<?> type) {
+        return type.isPrimitive() ? MethodType.methodType(type).wrap().returnType() : type;
+    }
+
+    // Spring 기본 PropertyEditor(CustomNumberEditor, CustomBooleanEditor 등)와 같은 규칙의 문자열 변환기. 지원하지 않는 타입이면 null.
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Function<String, Object> converter(Class<?> type) {
+        boolean primitive = type.isPrimitive();
+        Class<?> boxed = box(type);
+        if (boxed == String.class) {
+            return text -> text;
+        }
+        if (boxed == Integer.class) {
+            return text -> text.isEmpty() ? emptyValue(type, primitive) : parseInt(text);
+        }
+        if (boxed == Long.class || boxed == Short.class || boxed == Byte.class || boxed == Double.class
+                || boxed == Float.class || boxed == BigDecimal.class || boxed == BigInteger.class) {
+            Class<? extends Number> numberType = (Class<? extends Number>) boxed;
+            return text -> text.isEmpty() ? emptyValue(type, primitive) : NumberUtils.parseNumber(text, numberType);
+        }
+        if (boxed == Boolean.class) {
+            return text -> text.isEmpty() ? emptyValue(type, primitive) : parseBoolean(text);
+        }
+        if (type.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) type;
+            return text -> text.isEmpty() ? null : Enum.valueOf(enumType, text);
+        }
+        return null;
+    }
+
+    // 대부분의 숫자 필드는 부호 없는 10진수이므로 직접 읽고, 그 밖의 형태(부호, 16진수, 범위 초과 등)는 NumberUtils에 맡긴다.
+    private static Object parseInt(String text) {
+        int length = text.length();
+        if (length < 10) {
+            int value = 0;
+            int i = 0;
+            for (; i < length; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+            }
+            if (i == length) {
+                return value;
+            }
+        }
+        return NumberUtils.parseNumber(text, Integer.class);
+    }
+
+    private static Boolean parseBoolean(String text) {
+        if ("true".equalsIgnoreCase(text) || "on".equalsIgnoreCase(text)
+                || "yes".equalsIgnoreCase(text) || "1".equals(text)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(text) || "off".equalsIgnoreCase(text)
+                || "no".equalsIgnoreCase(text) || "0".equals(text)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Invalid boolean value [" + text + "]");
+    }
+
+    private static Object emptyValue(Class<?> type, boolean primitive) {
+        if (primitive) {
+            throw new IllegalArgumentException("Empty value is not allowed for primitive property of type " + type);
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface Mapping<T> {
+        T map(FieldSet fieldSet, int[] indexes) throws BindException;
+    }
+
+    // 프로퍼티(레코드 컴포넌트) 하나의 변환기와 setter. 레코드는 생성자로 한 번에 넣으므로 setter가 없다.
+    private record Property(String name, Function<String, Object> converter, BiConsumer<Object, Object> setter) {
+
+        // 변환 실패(NumberFormatException 포함)는 DataBinder가 만드는 것과 같은 typeMismatch 필드 오류로 바꾼다.
+        Object convert(String text) throws BindException {
+            try {
+                return converter.apply(text);
+            } catch (IllegalArgumentException e) {
+                BindException errors = new BindException(new MapBindingResult(new HashMap<>(), TARGET_NAME));
+                errors.addError(new FieldError(TARGET_NAME, name, text, true,
+                        new String[]{"typeMismatch." + name, "typeMismatch"}, null, e.getMessage()));
+                throw errors;
+            }
+        }
+    }
+
+    private static final class Binding<T> {
+        static final Binding<Object> UNSUPPORTED = new Binding<>(Map.of(), null);
+
+        final Map<String, Integer> propertyIndexes;
+        final Mapping<T> mapping;
+
+        Binding(Map<String, Integer> propertyIndexes, Mapping<T> mapping) {
+            this.propertyIndexes = propertyIndexes;
+            this.mapping = mapping;
+        }
+
+        T map(FieldSet fieldSet, int[] indexes) throws BindException {
+            return mapping.map(fieldSet, indexes);
+        }
+    }
+}
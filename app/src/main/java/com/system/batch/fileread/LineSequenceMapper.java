@@ -0,0 +1,16 @@
+package com.system.batch.fileread;
+
+import org.springframework.batch.item.file.LineMapper;
+
+// LineMapper와 같은 역할이지만 줄을 String 대신 CharSequence 뷰(MappedLine)로 받는다.
+// 뷰는 다음 줄을 읽을 때 재사용되므로 필요한 필드만 골라 복사해야 한다.
+@FunctionalInterface
+public interface LineSequenceMapper<T> {
+
+    T mapLine(CharSequence line, int lineNumber) throws Exception;
+
+    // 기존 LineMapper(토크나이저 + FieldSetMapper 조합)를 그대로 쓰고 싶을 때의 어댑터
+    static <T> LineSequenceMapper<T> of(LineMapper<T> lineMapper) {
+        return (line, lineNumber) -> lineMapper.mapLine(line.toString(), lineNumber);
+    }
+}
@@ -1,5 +1,6 @@
 package com.system.batch.fileread;
 
+import com.system.batch.AdaptiveChunkSizePolicy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
@@ -10,8 +11,7 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.transform.RegexLineTokenizer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -39,32 +39,36 @@ public class LogAnalysisJobConfig {
 
     @Bean
     public Step logAnalysisStep(
-            FlatFileItemReader<LogEntry> logItemReader,
-            ItemWriter<LogEntry> logItemWriter
+            MappedLineItemReader<LogEntry> logItemReader,
+            ItemWriter<LogEntry> logItemWriter,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
     ) {
         return new StepBuilder("logAnalysisStep", jobRepository)
-                .<LogEntry, LogEntry>chunk(10, transactionManager)
+                .<LogEntry, LogEntry>chunk(adaptiveChunkSizePolicy, transactionManager)
                 .reader(logItemReader)
                 .writer(logItemWriter)
+                .listener(adaptiveChunkSizePolicy)
                 .build();
     }
 
     @Bean
     @StepScope
-    // FlatFileItemReaderBuilder의 targetType() 메서드를 사용하지 않았다.
-    // targetType()을 지정한 경우 fieldSetMapper()에 설정한 내용이 무시되어 버리기 때문
-    public FlatFileItemReader<LogEntry> logItemReader(
+    // targetType()(BeanWrapperFieldSetMapper) 대신 fieldSetMapper를 직접 지정해 생성자로 LogEntry를 만든다.
+    public MappedLineItemReader<LogEntry> logItemReader(
             @Value("#{jobParameters['inputFile']}") String inputFile
     ) {
         RegexLineTokenizer tokenizer = new RegexLineTokenizer();
         tokenizer.setRegex("\\[\\w+\\]\\[Thread-(\\d+)\\]\\[CPU: \\d+%\\] (.+)");
 
-        return new FlatFileItemReaderBuilder<LogEntry>()
-                .name("logItemReader")
-                .resource(new FileSystemResource(inputFile))
-                .lineTokenizer(tokenizer)
-                .fieldSetMapper(fieldSet -> new LogEntry(fieldSet.readString(0), fieldSet.readString(1)))
-                .build();
+        DefaultLineMapper<LogEntry> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSet -> new LogEntry(fieldSet.readString(0), fieldSet.readString(1)));
+
+        MappedLineItemReader<LogEntry> reader = new MappedLineItemReader<>();
+        reader.setName("logItemReader");
+        reader.setResource(new FileSystemResource(inputFile));
+        reader.setLineMapper(LineSequenceMapper.of(lineMapper));
+        return reader;
     }
 
     @Bean
@@ -0,0 +1,76 @@
+package com.system.batch.fileread;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// 매핑된 버퍼 위의 한 줄을 복사 없이 보여주는 CharSequence 뷰.
+// ASCII 줄은 바이트를 그대로 문자로 노출하고, 그 외의 줄만 재사용 버퍼에 UTF-8로 디코딩한다.
+// 다음 줄을 읽으면 내용이 바뀌므로 값을 보관하려면 toString()/substring()으로 복사해야 한다.
+public final class MappedLine implements CharSequence {
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+    private ByteBuffer buffer;
+    private int offset;
+    private int length;
+    private boolean ascii;
+    private CharBuffer decoded = CharBuffer.allocate(256);
+    private byte[] scratch = new byte[256];
+
+    void set(ByteBuffer buffer, int offset, int length, boolean ascii) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+        this.ascii = ascii;
+        if (!ascii) {
+            decode();
+        }
+    }
+
+    private void decode() {
+        if (decoded.capacity() < length) {
+            decoded = CharBuffer.allocate(length);
+        }
+        decoded.clear();
+        decoder.reset();
+        decoder.decode(buffer.slice(offset, length), decoded, true);
+        decoder.flush(decoded);
+        decoded.flip();
+    }
+
+    @Override
+    public int length() {
+        return ascii ? length : decoded.limit();
+    }
+
+    @Override
+    public char charAt(int index) {
+        return ascii ? (char) (buffer.get(offset + index) & 0xff) : decoded.get(index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return substring(start, end);
+    }
+
+    public String substring(int start, int end) {
+        if (!ascii) {
+            return new String(decoded.array(), start, end - start);
+        }
+        int count = end - start;
+        if (scratch.length < count) {
+            scratch = new byte[Math.max(count, scratch.length * 2)];
+        }
+        buffer.get(offset + start, scratch, 0, count);
+        return new String(scratch, 0, count, StandardCharsets.ISO_8859_1);
+    }
+
+    @Override
+    public String toString() {
+        return substring(0, length());
+    }
+}
@@ -0,0 +1,396 @@
+package com.system.batch.fileread;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ReaderNotOpenException;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.NonTransientFlatFileException;
+import org.springframework.batch.item.file.ResourceAwareItemReaderItemStream;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+import com.github.luben.zstd.ZstdInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+// FlatFileItemReader 대신 FileChannel.map()으로 파일을 매핑해서 줄을 나누는 리더.
+// BufferedReader와 줄마다 만들어지는 String 없이 MappedLine 뷰를 LineSequenceMapper에 넘기고,
+// 재시작 위치는 읽은 줄 수가 아니라 바이트 오프셋으로 저장한다. 입력은 UTF-8(또는 ASCII)로 가정한다.
+// 파일 앞부분이 gzip/zstd 매직 바이트면 매핑 대신 스트림으로 풀면서 읽고, 오프셋은 압축을 푼 기준으로 저장한다.
+@Slf4j
+public class MappedLineItemReader<T> extends ItemStreamSupport implements ResourceAwareItemReaderItemStream<T> {
+    private static final String OFFSET_KEY = "offset";
+    private static final String LINE_COUNT_KEY = "line.count";
+    private static final String RESOURCE_KEY = "resource";
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final int STREAM_BUFFER_SIZE = 1024 * 1024;
+    private static final int GZIP_MAGIC = 0x1f8b;
+    private static final int ZSTD_MAGIC = 0x28b52ffd;
+
+    private Resource resource;
+    private LineSequenceMapper<T> lineMapper;
+    private int linesToSkip = 0;
+    private String commentPrefix = "#";
+    private boolean strict = true;
+    private boolean saveState = true;
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private long startOffset = 0;
+    private long endOffset = Long.MAX_VALUE;
+
+    private final MappedLine line = new MappedLine();
+    private FileChannel channel;
+    private long fileSize;
+    private MappedByteBuffer window;
+    private long windowStart;
+    private long position;
+    private int lineCount;
+    private boolean noInput;
+
+    // 압축 입력일 때만 쓴다. streamBuffer의 [streamStart, streamEnd)가 아직 줄로 나누지 않은 바이트다.
+    private InputStream decompressed;
+    private ByteBuffer streamBuffer;
+    private int streamStart;
+    private int streamEnd;
+    private boolean streamEof;
+
+    @Override
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    public void setLineMapper(LineSequenceMapper<T> lineMapper) {
+        this.lineMapper = lineMapper;
+    }
+
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    public void setCommentPrefix(String commentPrefix) {
+        this.commentPrefix = commentPrefix;
+    }
+
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    // 파일의 [startOffset, endOffset) 안에서 시작하는 줄만 읽는다. 앞 구간에서 시작한 줄은 앞 구간이, 경계를 넘는 줄은 시작한 구간이 읽는다.
+    // 파일을 나눠 여러 파티션이 읽을 때 쓰며, linesToSkip은 0에서 시작하는 구간에만 적용된다. 압축 입력에는 쓸 수 없다.
+    public void setByteRange(long startOffset, long endOffset) {
+        this.startOffset = startOffset;
+        this.endOffset = endOffset;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        Assert.notNull(lineMapper, "LineSequenceMapper is required");
+        noInput = false;
+        if (resource == null || !resource.exists()) {
+            if (strict) {
+                throw new ItemStreamException("Input resource must exist (reader is in 'strict' mode): " + resource);
+            }
+            log.warn("입력 리소스가 존재하지 않습니다: {}", resource);
+            noInput = true;
+            return;
+        }
+
+        try {
+            channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+            fileSize = channel.size();
+            decompressed = openDecompressed(channel);
+        } catch (IOException e) {
+            close();
+            throw new ItemStreamException("Failed to open input resource: " + resource, e);
+        }
+        window = null;
+        position = 0;
+        lineCount = 0;
+        if (decompressed != null && (startOffset > 0 || endOffset != Long.MAX_VALUE)) {
+            close();
+            throw new ItemStreamException("Byte ranges are not supported for compressed input: " + resource);
+        }
+        if (decompressed != null) {
+            if (streamBuffer == null) {
+                streamBuffer = ByteBuffer.allocate(STREAM_BUFFER_SIZE);
+            }
+            streamStart = 0;
+            streamEnd = 0;
+            streamEof = false;
+        }
+
+        String offsetKey = getExecutionContextKey(OFFSET_KEY);
+        if (executionContext.containsKey(offsetKey)) {
+            // 오프셋은 리소스별로 의미가 있으므로, 저장 당시와 같은 파일일 때만 그 위치로 바로 이동한다.
+            // (MultiResourceItemReader의 파일 목록이 재시작 사이에 바뀌었다면 처음부터 읽는다.)
+            String savedResource = executionContext.getString(getExecutionContextKey(RESOURCE_KEY), null);
+            if (savedResource == null || savedResource.equals(resource.getDescription())) {
+                lineCount = executionContext.getInt(getExecutionContextKey(LINE_COUNT_KEY), 0);
+                if (decompressed == null) {
+                    position = Math.min(executionContext.getLong(offsetKey), fileSize);
+                } else {
+                    skipDecompressed(executionContext.getLong(offsetKey));
+                }
+                return;
+            }
+            log.warn("저장된 재시작 위치는 {}의 것이므로 {}는 처음부터 읽습니다.", savedResource, resource.getDescription());
+        }
+        try {
+            if (startOffset > 0) {
+                // 구간 바로 앞 바이트부터 줄 하나를 버리면, 앞 구간에서 시작한 줄이 끝난 다음 위치에 선다.
+                position = Math.min(startOffset - 1, fileSize);
+                nextLine();
+                lineCount = 0;
+                return;
+            }
+            for (int i = 0; i < linesToSkip; i++) {
+                if (nextLine() == null) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to skip header lines of input resource: " + resource, e);
+        }
+    }
+
+    @Override
+    public T read() throws Exception {
+        if (noInput) {
+            return null;
+        }
+        if (channel == null) {
+            throw new ReaderNotOpenException("Reader must be open before it can be read.");
+        }
+
+        MappedLine current;
+        do {
+            current = nextLine();
+            if (current == null) {
+                return null;
+            }
+        } while (isComment(current));
+
+        try {
+            return lineMapper.mapLine(current, lineCount);
+        } catch (Exception e) {
+            String input = current.toString();
+            throw new FlatFileParseException("Parsing error at line: " + lineCount + " in resource=["
+                    + resource.getDescription() + "], input=[" + input + "]", e, input, lineCount);
+        }
+    }
+
+    private boolean isComment(CharSequence candidate) {
+        if (commentPrefix == null || commentPrefix.isEmpty() || candidate.length() < commentPrefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < commentPrefix.length(); i++) {
+            if (candidate.charAt(i) != commentPrefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 매직 바이트로 압축 형식을 판별한다. 평문이면 null을 돌려주고 매핑 경로를 그대로 쓴다.
+    private static InputStream openDecompressed(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(4);
+        while (magic.hasRemaining() && channel.read(magic, magic.position()) > 0) {
+            // 4바이트를 다 읽거나 파일 끝까지 읽는다.
+        }
+        magic.flip();
+        if (magic.remaining() >= 2 && (magic.getShort(0) & 0xffff) == GZIP_MAGIC) {
+            return new GZIPInputStream(Channels.newInputStream(channel), STREAM_BUFFER_SIZE);
+        }
+        // zstd 프레임 매직 넘버는 리틀 엔디언으로 0xFD2FB528이다.
+        if (magic.remaining() == 4 && magic.getInt(0) == ZSTD_MAGIC) {
+            return new ZstdInputStream(new BufferedInputStream(Channels.newInputStream(channel), STREAM_BUFFER_SIZE));
+        }
+        return null;
+    }
+
+    // 압축 스트림은 임의 위치로 이동할 수 없으므로 저장된 위치까지 풀기만 하고 줄 나누기와 매핑은 건너뛴다.
+    private void skipDecompressed(long offset) {
+        try {
+            long skipped = decompressed.skip(offset);
+            while (skipped < offset) {
+                long n = decompressed.skip(offset - skipped);
+                if (n <= 0) {
+                    if (decompressed.read() < 0) {
+                        break;
+                    }
+                    n = 1;
+                }
+                skipped += n;
+            }
+            position = skipped;
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to restore position in compressed input resource: " + resource, e);
+        }
+    }
+
+    private MappedLine nextLine() throws IOException {
+        if (decompressed != null) {
+            return nextStreamLine();
+        }
+        while (true) {
+            if (position >= fileSize || position >= endOffset) {
+                return null;
+            }
+            if (window == null || position < windowStart || position >= windowStart + window.limit()) {
+                map(position);
+            }
+
+            int start = (int) (position - windowStart);
+            int limit = window.limit();
+            int bits = 0;
+            int i = start;
+            while (i < limit) {
+                byte b = window.get(i);
+                if (b == '\n') {
+                    break;
+                }
+                bits |= b;
+                i++;
+            }
+
+            if (i == limit && windowStart + limit < fileSize) {
+                // 줄이 매핑 구간 경계에 걸쳤다. 줄의 시작 위치부터 다시 매핑한다.
+                if (start == 0) {
+                    throw new NonTransientFlatFileException("Line is longer than the mapping window ("
+                            + windowSize + " bytes)", resource.getDescription(), lineCount + 1);
+                }
+                map(position);
+                continue;
+            }
+
+            int end = i;
+            position = windowStart + (i < limit ? i + 1 : i);
+            if (end > start && window.get(end - 1) == '\r') {
+                end--;
+            }
+            lineCount++;
+            line.set(window, start, end - start, bits >= 0);
+            return line;
+        }
+    }
+
+    private MappedLine nextStreamLine() throws IOException {
+        int scanFrom = streamStart;
+        while (true) {
+            int bits = 0;
+            int i = scanFrom;
+            while (i < streamEnd) {
+                byte b = streamBuffer.get(i);
+                if (b == '\n') {
+                    break;
+                }
+                bits |= b;
+                i++;
+            }
+
+            if (i == streamEnd && !streamEof) {
+                // 줄 끝이 아직 버퍼에 없다. 남은 바이트를 앞으로 당기고(가득 찼으면 키워서) 더 푼다.
+                scanFrom = fill() - streamStart;
+                streamStart = 0;
+                continue;
+            }
+            if (streamStart == streamEnd) {
+                return null;
+            }
+
+            // 줄 전체에 대한 ASCII 여부가 필요하므로 다시 채운 경우에는 처음부터 다시 확인한다.
+            if (scanFrom != streamStart) {
+                for (int j = streamStart; j < scanFrom; j++) {
+                    bits |= streamBuffer.get(j);
+                }
+            }
+            int start = streamStart;
+            int end = i;
+            int consumed = (i < streamEnd ? i + 1 : i) - start;
+            streamStart += consumed;
+            position += consumed;
+            if (end > start && streamBuffer.get(end - 1) == '\r') {
+                end--;
+            }
+            lineCount++;
+            line.set(streamBuffer, start, end - start, bits >= 0);
+            return line;
+        }
+    }
+
+    // 아직 줄로 나누지 않은 바이트를 버퍼 앞으로 옮기고 빈 자리를 채운다. 반환값은 옮기기 전 streamEnd 위치다.
+    private int fill() throws IOException {
+        int scanned = streamEnd;
+        int pending = streamEnd - streamStart;
+        if (pending == streamBuffer.capacity()) {
+            if (pending >= windowSize) {
+                throw new NonTransientFlatFileException("Line is longer than the mapping window ("
+                        + windowSize + " bytes)", resource.getDescription(), lineCount + 1);
+            }
+            ByteBuffer grown = ByteBuffer.allocate((int) Math.min((long) pending * 2, windowSize));
+            System.arraycopy(streamBuffer.array(), streamStart, grown.array(), 0, pending);
+            streamBuffer = grown;
+        } else if (streamStart > 0) {
+            System.arraycopy(streamBuffer.array(), streamStart, streamBuffer.array(), 0, pending);
+        }
+        streamEnd = pending;
+
+        int n = decompressed.read(streamBuffer.array(), streamEnd, streamBuffer.capacity() - streamEnd);
+        if (n < 0) {
+            streamEof = true;
+        } else {
+            streamEnd += n;
+        }
+        return scanned;
+    }
+
+    private void map(long from) throws IOException {
+        window = channel.map(FileChannel.MapMode.READ_ONLY, from, Math.min(windowSize, fileSize - from));
+        windowStart = from;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (saveState && channel != null) {
+            executionContext.putLong(getExecutionContextKey(OFFSET_KEY), position);
+            executionContext.putInt(getExecutionContextKey(LINE_COUNT_KEY), lineCount);
+            executionContext.putString(getExecutionContextKey(RESOURCE_KEY), resource.getDescription());
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        window = null;
+        if (channel != null) {
+            try {
+                // 압축 해제 스트림을 닫으면 아래의 채널도 함께 닫힌다.
+                if (decompressed != null) {
+                    decompressed.close();
+                }
+                channel.close();
+            } catch (IOException e) {
+                throw new ItemStreamException("Failed to close input resource: " + resource, e);
+            } finally {
+                channel = null;
+                decompressed = null;
+            }
+        }
+    }
+}
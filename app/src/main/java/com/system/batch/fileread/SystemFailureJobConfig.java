@@ -1,19 +1,27 @@
 package com.system.batch.fileread;
 
+import com.system.batch.AdaptiveChunkSizePolicy;
+import com.system.batch.partition.FileRangePartitioner;
+import com.system.batch.partition.PartitionChannel;
+import com.system.batch.partition.RemotePartitionHandler;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.Chunk;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.MultiResourceItemReader;
-import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
 import org.springframework.batch.item.file.builder.MultiResourceItemReaderBuilder;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
 import org.springframework.batch.item.file.transform.Range;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -25,6 +33,7 @@ import org.springframework.transaction.PlatformTransactionManager;
 
 import java.beans.PropertyEditor;
 import java.beans.PropertyEditorSupport;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Map;
@@ -32,10 +41,20 @@ import java.util.Map;
 @Slf4j
 @Configuration
 public class SystemFailureJobConfig {
+    private static final DateTimeFormatter ERROR_DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int SYSTEM_FAILURE_PARTITIONS = 4;
+    // 원격 워커가 파티션을 시작하지 않으면 다시 보내는 시간과, 모든 파티션을 기다리는 최대 시간
+    private static final Duration REMOTE_PARTITION_START_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration REMOTE_PARTITION_TIMEOUT = Duration.ofHours(2);
+
     @Autowired
     private JobRepository jobRepository;
     @Autowired
     private PlatformTransactionManager transactionManager;
+    @Autowired
+    private JobExplorer jobExplorer;
+    @Autowired
+    private PartitionChannel partitionChannel;
 
     @Bean
     public Job systemFailureJob(Step systemFailureStep) {
@@ -46,84 +65,96 @@ public class SystemFailureJobConfig {
 
     @Bean
     public Step systemFailureStep(
-            FlatFileItemReader<SystemFailure> dateTimeEditorSystemFailureItemReader,
-            SystemFailureStdoutItemWriter systemFailureStdoutItemWriter
+            MappedLineItemReader<SystemFailure> dateTimeEditorSystemFailureItemReader,
+            SystemFailureStdoutItemWriter systemFailureStdoutItemWriter,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
     ) {
         return new StepBuilder("systemFailureStep", jobRepository)
-                .<SystemFailure, SystemFailure>chunk(10, transactionManager)
+                .<SystemFailure, SystemFailure>chunk(adaptiveChunkSizePolicy, transactionManager)
                 .reader(dateTimeEditorSystemFailureItemReader)
                 .writer(systemFailureStdoutItemWriter)
+                .listener(adaptiveChunkSizePolicy)
                 .build();
     }
 
     @Bean
     @StepScope
-    public FlatFileItemReader<SystemFailure> systemFailureItemReader(
+    public MappedLineItemReader<SystemFailure> systemFailureItemReader(
             @Value("#{jobParameters['inputFile']}") String inputFile
     ) {
-        return new FlatFileItemReaderBuilder<SystemFailure>()
-                .name("systemFailureItemReader")
-                .resource(new FileSystemResource(inputFile))
-                .delimited()
-                .delimiter(",")
-                .names("errorId",
-                        "errorDateTime",
-                        "severity",
-                        "processId",
-                        "errorMessage")
-                .targetType(SystemFailure.class)
-                .linesToSkip(1)
-                .build();
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer(",");
+        tokenizer.setNames("errorId",
+                "errorDateTime",
+                "severity",
+                "processId",
+                "errorMessage");
+        DirectFieldSetMapper<SystemFailure> fieldSetMapper = DirectFieldSetMapper.forType(SystemFailure.class);
+
+        DefaultLineMapper<SystemFailure> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+
+        MappedLineItemReader<SystemFailure> reader = new MappedLineItemReader<>();
+        reader.setName("systemFailureItemReader");
+        reader.setResource(new FileSystemResource(inputFile));
+        reader.setLineMapper(LineSequenceMapper.of(lineMapper));
+        reader.setLinesToSkip(1);
+        return reader;
     }
 
     @Bean
     @StepScope
-    public FlatFileItemReader<SystemFailure> fixedSizeFlatFileSystemFailureItemReader(
+    public MappedLineItemReader<SystemFailure> fixedSizeFlatFileSystemFailureItemReader(
             @Value("#{jobParameters['inputFile']}") String inputFile) {
-        return new FlatFileItemReaderBuilder<SystemFailure>()
-                .name("fixedSizeFlatFileSystemFailureItemReader")
-                .resource(new FileSystemResource(inputFile))
-                .fixedLength()
-                .columns(new Range[]{
-                        new Range(1, 8),     // errorId: ERR001 + 공백 2칸
-                        new Range(9, 29),    // errorDateTime: 날짜시간 + 공백 2칸
-                        new Range(30, 39),   // severity: CRITICAL/FATAL + 패딩
-                        new Range(40, 45),   // processId: 1234 + 공백 2칸
-                        new Range(46, 66)    // errorMessage: 메시지 + \n
-                })
-                .names("errorId", "errorDateTime", "severity", "processId", "errorMessage")
-                .targetType(SystemFailure.class)
-                .build();
+        MappedLineItemReader<SystemFailure> reader = fixedLengthSystemFailureReader(
+                "fixedSizeFlatFileSystemFailureItemReader", new BeanWrapperFieldSetMapper<>());
+        reader.setResource(new FileSystemResource(inputFile));
+        return reader;
     }
 
+    // 재시작 시 read.count만큼 줄을 다시 읽어 버리는 대신, 마지막으로 커밋된 바이트 오프셋으로 바로 이동한다.
     @Bean
     @StepScope
-    public FlatFileItemReader<SystemFailure> dateTimeEditorSystemFailureItemReader(
+    public MappedLineItemReader<SystemFailure> dateTimeEditorSystemFailureItemReader(
             @Value("#{jobParameters['inputFile']}") String inputFile) {
-        return new FlatFileItemReaderBuilder<SystemFailure>()
-                .name("dateTimeEditorSystemFailureItemReader")
-                .resource(new FileSystemResource(inputFile))
-                .fixedLength()
-                .columns(new Range[]{
-                        new Range(1, 8),     // errorId: ERR001 + 공백 2칸
-                        new Range(9, 29),    // errorDateTime: 날짜시간 + 공백 2칸
-                        new Range(30, 39),   // severity: CRITICAL/FATAL + 패딩
-                        new Range(40, 45),   // processId: 1234 + 공백 2칸
-                        new Range(46, 66)    // errorMessage: 메시지 + \n
-                })
-                .names("errorId", "errorDateTime", "severity", "processId", "errorMessage")
-                .targetType(SystemFailure.class)
-                .linesToSkip(1)
-                .customEditors(Map.of(LocalDateTime.class, dateTimeEditor()))
-                .build();
+        BeanWrapperFieldSetMapper<SystemFailure> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setCustomEditors(Map.of(LocalDateTime.class, dateTimeEditor()));
+
+        MappedLineItemReader<SystemFailure> reader = fixedLengthSystemFailureReader(
+                "dateTimeEditorSystemFailureItemReader", fieldSetMapper);
+        reader.setResource(new FileSystemResource(inputFile));
+        reader.setLinesToSkip(1);
+        return reader;
+    }
+
+    private MappedLineItemReader<SystemFailure> fixedLengthSystemFailureReader(
+            String name, BeanWrapperFieldSetMapper<SystemFailure> fieldSetMapper) {
+        FixedLengthTokenizer tokenizer = new FixedLengthTokenizer();
+        tokenizer.setColumns(
+                new Range(1, 8),     // errorId: ERR001 + 공백 2칸
+                new Range(9, 29),    // errorDateTime: 날짜시간 + 공백 2칸
+                new Range(30, 39),   // severity: CRITICAL/FATAL + 패딩
+                new Range(40, 45),   // processId: 1234 + 공백 2칸
+                new Range(46, 66)    // errorMessage: 메시지 + \n
+        );
+        tokenizer.setNames("errorId", "errorDateTime", "severity", "processId", "errorMessage");
+        fieldSetMapper.setTargetType(SystemFailure.class);
+
+        DefaultLineMapper<SystemFailure> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+
+        MappedLineItemReader<SystemFailure> reader = new MappedLineItemReader<>();
+        reader.setName(name);
+        reader.setLineMapper(new FixedWidthSystemFailureLineMapper(lineMapper));
+        return reader;
     }
 
     private PropertyEditor dateTimeEditor() {
         return new PropertyEditorSupport() {
             @Override
             public void setAsText(String text) {
-                DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-                setValue(LocalDateTime.parse(text, formatter));
+                setValue(LocalDateTime.parse(text, ERROR_DATE_TIME_FORMATTER));
             }
         };
     }
@@ -152,12 +183,14 @@ public class SystemFailureJobConfig {
     @Bean
     public Step multiSystemFailureStep(
             MultiResourceItemReader<SystemFailure> multiSystemFailureItemReader,
-            SystemFailureStdoutItemWriter systemFailureStdoutItemWriter
+            SystemFailureStdoutItemWriter systemFailureStdoutItemWriter,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
     ) {
         return new StepBuilder("multiSystemFailureStep", jobRepository)
-                .<SystemFailure, SystemFailure>chunk(10, transactionManager)
+                .<SystemFailure, SystemFailure>chunk(adaptiveChunkSizePolicy, transactionManager)
                 .reader(multiSystemFailureItemReader)
                 .writer(systemFailureStdoutItemWriter)
+                .listener(adaptiveChunkSizePolicy)
                 .build();
     }
 
@@ -176,18 +209,173 @@ public class SystemFailureJobConfig {
                 .build();
     }
 
+    // multiSystemFailureJob과 같은 두 파일을 바이트 구간으로 나눠 PartitionChannel로 워커(다른 JVM일 수 있음)에게 보낸다.
+    @Bean
+    public Job remoteMultiSystemFailureJob(Step remoteMultiSystemFailureStep) {
+        return new JobBuilder("remoteMultiSystemFailureJob", jobRepository)
+                .start(remoteMultiSystemFailureStep)
+                .build();
+    }
+
     @Bean
-    public FlatFileItemReader<SystemFailure> systemFailureFileReader() {
-        return new FlatFileItemReaderBuilder<SystemFailure>()
-                .name("systemFailureFileReader")
-                .delimited()
-                .delimiter(",")
-                .names("errorId", "errorDateTime", "severity", "processId", "errorMessage")
-                .targetType(SystemFailure.class)
-                .linesToSkip(1)
+    public Step remoteMultiSystemFailureStep(
+            Step systemFailureWorkerStep,
+            FileRangePartitioner systemFailureRangePartitioner
+    ) {
+        RemotePartitionHandler partitionHandler =
+                new RemotePartitionHandler(partitionChannel, jobExplorer, "systemFailureWorkerStep");
+        partitionHandler.setGridSize(SYSTEM_FAILURE_PARTITIONS);
+        partitionHandler.setStartTimeout(REMOTE_PARTITION_START_TIMEOUT);
+        partitionHandler.setTimeout(REMOTE_PARTITION_TIMEOUT);
+        return new StepBuilder("remoteMultiSystemFailureStep", jobRepository)
+                .partitioner("systemFailureWorkerStep", systemFailureRangePartitioner)
+                .step(systemFailureWorkerStep)
+                .partitionHandler(partitionHandler)
                 .build();
     }
 
+    @Bean
+    @StepScope
+    public FileRangePartitioner systemFailureRangePartitioner(
+            @Value("#{jobParameters['inputFilePath']}") String inputFilePath) {
+        FileRangePartitioner partitioner = new FileRangePartitioner();
+        partitioner.setResources(new Resource[]{
+                new FileSystemResource(inputFilePath + "/critical-failures.csv"),
+                new FileSystemResource(inputFilePath + "/normal-failures.csv")
+        });
+        return partitioner;
+    }
+
+    @Bean
+    public Step systemFailureWorkerStep(
+            MappedLineItemReader<SystemFailure> partitionSystemFailureReader,
+            SystemFailureStdoutItemWriter systemFailureStdoutItemWriter,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
+    ) {
+        return new StepBuilder("systemFailureWorkerStep", jobRepository)
+                .<SystemFailure, SystemFailure>chunk(adaptiveChunkSizePolicy, transactionManager)
+                .reader(partitionSystemFailureReader)
+                .writer(systemFailureStdoutItemWriter)
+                .listener(adaptiveChunkSizePolicy)
+                .build();
+    }
+
+    // 헤더 줄은 0에서 시작하는 구간만 건너뛴다 (MappedLineItemReader.setByteRange 참고).
+    @Bean
+    @StepScope
+    public MappedLineItemReader<SystemFailure> partitionSystemFailureReader(
+            @Value("#{stepExecutionContext['fileName']}") Resource inputFile,
+            @Value("#{stepExecutionContext['startOffset']}") long startOffset,
+            @Value("#{stepExecutionContext['endOffset']}") long endOffset) {
+        MappedLineItemReader<SystemFailure> reader = delimitedSystemFailureReader("partitionSystemFailureReader");
+        reader.setResource(inputFile);
+        reader.setByteRange(startOffset, endOffset);
+        return reader;
+    }
+
+    // MultiResourceItemReader는 현재 리소스 인덱스를, 위임 리더는 그 리소스 안의 바이트 오프셋과 파일명을 함께 저장한다.
+    @Bean
+    public MappedLineItemReader<SystemFailure> systemFailureFileReader() {
+        return delimitedSystemFailureReader("systemFailureFileReader");
+    }
+
+    private MappedLineItemReader<SystemFailure> delimitedSystemFailureReader(String name) {
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer(",");
+        tokenizer.setNames("errorId", "errorDateTime", "severity", "processId", "errorMessage");
+        DirectFieldSetMapper<SystemFailure> fieldSetMapper = DirectFieldSetMapper.forType(SystemFailure.class);
+
+        DefaultLineMapper<SystemFailure> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+
+        MappedLineItemReader<SystemFailure> reader = new MappedLineItemReader<>();
+        reader.setName(name);
+        reader.setLineMapper(LineSequenceMapper.of(lineMapper));
+        reader.setLinesToSkip(1);
+        return reader;
+    }
+
+    // FixedLengthTokenizer + BeanWrapperFieldSetMapper 대신 알려진 열 위치에서 다섯 필드를 바로 잘라 SystemFailure를 채운다.
+    // 열 위치와 trim 방식은 fixedLengthSystemFailureReader()의 Range 설정과 같고, processId는 숫자를 직접 읽어 int로 만든다.
+    // 줄 길이가 맞지 않거나 processId가 숫자가 아닌 드문 경우에는 기존 매퍼로 넘겨 같은 예외가 나도록 한다.
+    public static class FixedWidthSystemFailureLineMapper implements LineSequenceMapper<SystemFailure>, LineMapper<SystemFailure> {
+        private static final int LINE_LENGTH = 66;
+        private static final int ERROR_ID_START = 0;
+        private static final int ERROR_DATE_TIME_START = 8;
+        private static final int SEVERITY_START = 29;
+        private static final int PROCESS_ID_START = 39;
+        private static final int ERROR_MESSAGE_START = 45;
+        private static final int INVALID = -1;
+        private static final int BLANK = -2;
+
+        private final LineMapper<SystemFailure> fallback;
+
+        public FixedWidthSystemFailureLineMapper(LineMapper<SystemFailure> fallback) {
+            this.fallback = fallback;
+        }
+
+        @Override
+        public SystemFailure mapLine(String line, int lineNumber) throws Exception {
+            return mapLine((CharSequence) line, lineNumber);
+        }
+
+        @Override
+        public SystemFailure mapLine(CharSequence line, int lineNumber) throws Exception {
+            if (line.length() != LINE_LENGTH) {
+                return fallback.mapLine(line.toString(), lineNumber);
+            }
+            int processId = parseProcessId(line);
+            if (processId == INVALID) {
+                return fallback.mapLine(line.toString(), lineNumber);
+            }
+
+            SystemFailure failure = new SystemFailure();
+            failure.setErrorId(trimmed(line, ERROR_ID_START, ERROR_DATE_TIME_START));
+            failure.setErrorDateTime(trimmed(line, ERROR_DATE_TIME_START, SEVERITY_START));
+            failure.setSeverity(trimmed(line, SEVERITY_START, PROCESS_ID_START));
+            failure.setProcessId(processId == BLANK ? null : processId);
+            failure.setErrorMessage(trimmed(line, ERROR_MESSAGE_START, LINE_LENGTH));
+            return failure;
+        }
+
+        // 앞뒤 공백을 건너뛰고 부호 없는 10진수만 받는다. 빈 칸이면 BeanWrapper처럼 null(BLANK)이다.
+        private static int parseProcessId(CharSequence line) {
+            int start = PROCESS_ID_START;
+            int end = ERROR_MESSAGE_START;
+            while (start < end && line.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && line.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (start == end) {
+                return BLANK;
+            }
+            int value = 0;
+            for (int i = start; i < end; i++) {
+                int digit = line.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return INVALID;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        private static String trimmed(CharSequence line, int start, int end) {
+            while (start < end && line.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && line.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (line instanceof MappedLine mappedLine) {
+                return mappedLine.substring(start, end);
+            }
+            return line.subSequence(start, end).toString();
+        }
+    }
+
     @Data
     public static class SystemFailure {
         private String errorId;
@@ -1,5 +1,6 @@
 package com.system.batch.fileread;
 
+import com.system.batch.AdaptiveChunkSizePolicy;
 import lombok.Data;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
@@ -10,8 +11,7 @@ import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.LineMapper;
 import org.springframework.batch.item.file.mapping.FieldSetMapper;
 import org.springframework.batch.item.file.mapping.PatternMatchingCompositeLineMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
@@ -47,26 +47,28 @@ public class SystemLogJobConfig {
 
     @Bean
     public Step systemLogStep(
-            FlatFileItemReader<SystemLog> systemLogReader,
-            ItemWriter<SystemLog> systemLogWriter
+            MappedLineItemReader<SystemLog> systemLogReader,
+            ItemWriter<SystemLog> systemLogWriter,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
     ) {
         return new StepBuilder("systemLogStep", jobRepository)
-                .<SystemLog, SystemLog>chunk(10, transactionManager)
+                .<SystemLog, SystemLog>chunk(adaptiveChunkSizePolicy, transactionManager)
                 .reader(systemLogReader)
                 .writer(systemLogWriter)
+                .listener(adaptiveChunkSizePolicy)
                 .build();
     }
 
     @Bean
     @StepScope
-    public FlatFileItemReader<SystemLog> systemLogReader(
+    public MappedLineItemReader<SystemLog> systemLogReader(
             @Value("#{jobParameters['inputFile']}") String inputFile
     ) {
-        return new FlatFileItemReaderBuilder<SystemLog>()
-                .name("systemLogReader")
-                .resource(new FileSystemResource(inputFile))
-                .lineMapper(systemLogLineMapper())
-                .build();
+        MappedLineItemReader<SystemLog> reader = new MappedLineItemReader<>();
+        reader.setName("systemLogReader");
+        reader.setResource(new FileSystemResource(inputFile));
+        reader.setLineMapper(fusedSystemLogLineMapper());
+        return reader;
     }
 
     @Bean
@@ -88,6 +90,13 @@ public class SystemLogJobConfig {
         return lineMapper;
     }
 
+    // 패턴 매칭 + DelimitedLineTokenizer + FieldSetMapper를 한 번의 스캔으로 합친 매퍼.
+    // 따옴표가 들어간 줄처럼 드문 경우에만 위의 systemLogLineMapper()로 넘긴다.
+    @Bean
+    public FusedSystemLogLineMapper fusedSystemLogLineMapper() {
+        return new FusedSystemLogLineMapper(systemLogLineMapper());
+    }
+
     // 유형별 LineTokenizer 구현
     //각 라인 유형마다 다른 필드 구성을 가지므로, 이에 맞는 DelimitedLineTokenizer를 구성했다.
     @Bean
@@ -198,4 +207,165 @@ public class SystemLogJobConfig {
             return collectLog;
         }
     }
-}
\ No newline at end of file
+
+    // 첫 글자로 유형을 고른 뒤 쉼표를 한 번만 훑으면서 ErrorLog/AbortLog/CollectLog의 필드를 바로 채운다.
+    // 중간 FieldSet이나 String[]을 만들지 않고, 필드 값 String만 만든다. 필드 값은 FieldSet.readString()처럼 trim한다.
+// 따옴표가 있거나 필드 수가 맞지 않는 줄은 원래 매퍼로 넘겨 결과와 예외를 그대로 맞춘다.
+    public static class FusedSystemLogLineMapper implements LineSequenceMapper<SystemLog>, LineMapper<SystemLog> {
+        private static final int QUOTED = -1;
+        private static final int ERROR_FIELDS = 7;
+        private static final int ABORT_FIELDS = 8;
+        private static final int COLLECT_FIELDS = 5;
+
+        private final LineMapper<SystemLog> fallback;
+
+        public FusedSystemLogLineMapper(LineMapper<SystemLog> fallback) {
+            this.fallback = fallback;
+        }
+
+        @Override
+        public SystemLog mapLine(String line, int lineNumber) throws Exception {
+            return mapLine((CharSequence) line, lineNumber);
+        }
+
+        @Override
+        public SystemLog mapLine(CharSequence line, int lineNumber) throws Exception {
+            if (line.length() > 0) {
+                switch (line.charAt(0)) {
+                    case 'E':
+                        if (startsWith(line, "ERROR")) {
+                            return mapError(line, lineNumber);
+                        }
+                        break;
+                    case 'A':
+                        if (startsWith(line, "ABORT")) {
+                            return mapAbort(line, lineNumber);
+                        }
+                        break;
+                    case 'C':
+                        if (startsWith(line, "COLLECT")) {
+                            return mapCollect(line, lineNumber);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            throw new IllegalStateException("Could not find a matching pattern for key=[" + line + "]");
+        }
+
+        private SystemLog mapError(CharSequence line, int lineNumber) throws Exception {
+            ErrorLog errorLog = new ErrorLog();
+            int start = 0;
+            for (int field = 0; field < ERROR_FIELDS; field++) {
+                int end = nextDelimiter(line, start);
+                if (end == QUOTED || wrongFieldCount(line, end, field, ERROR_FIELDS)) {
+                    return fallback.mapLine(line.toString(), lineNumber);
+                }
+                String value = trimmed(line, start, end);
+                switch (field) {
+                    case 0 -> errorLog.setType(value);
+                    case 1 -> errorLog.setApplication(value);
+                    case 2 -> errorLog.setErrorType(value);
+                    case 3 -> errorLog.setTimestamp(value);
+                    case 4 -> errorLog.setMessage(value);
+                    case 5 -> errorLog.setResourceUsage(value);
+                    default -> errorLog.setLogPath(value);
+                }
+                start = end + 1;
+            }
+            return errorLog;
+        }
+
+        private SystemLog mapAbort(CharSequence line, int lineNumber) throws Exception {
+            AbortLog abortLog = new AbortLog();
+            int start = 0;
+            for (int field = 0; field < ABORT_FIELDS; field++) {
+                int end = nextDelimiter(line, start);
+                if (end == QUOTED || wrongFieldCount(line, end, field, ABORT_FIELDS)) {
+                    return fallback.mapLine(line.toString(), lineNumber);
+                }
+                String value = trimmed(line, start, end);
+                switch (field) {
+                    case 0 -> abortLog.setType(value);
+                    case 1 -> abortLog.setApplication(value);
+                    case 2 -> abortLog.setErrorType(value);
+                    case 3 -> abortLog.setTimestamp(value);
+                    case 4 -> abortLog.setMessage(value);
+                    case 5 -> abortLog.setExitCode(value);
+                    case 6 -> abortLog.setProcessPath(value);
+                    default -> abortLog.setStatus(value);
+                }
+                start = end + 1;
+            }
+            return abortLog;
+        }
+
+        private SystemLog mapCollect(CharSequence line, int lineNumber) throws Exception {
+            CollectLog collectLog = new CollectLog();
+            int start = 0;
+            for (int field = 0; field < COLLECT_FIELDS; field++) {
+                int end = nextDelimiter(line, start);
+                if (end == QUOTED || wrongFieldCount(line, end, field, COLLECT_FIELDS)) {
+                    return fallback.mapLine(line.toString(), lineNumber);
+                }
+                String value = trimmed(line, start, end);
+                switch (field) {
+                    case 0 -> collectLog.setType(value);
+                    case 1 -> collectLog.setDumpType(value);
+                    case 2 -> collectLog.setProcessId(value);
+                    case 3 -> collectLog.setTimestamp(value);
+                    default -> collectLog.setDumpPath(value);
+                }
+                start = end + 1;
+            }
+            return collectLog;
+        }
+
+        private static boolean startsWith(CharSequence line, String prefix) {
+            if (line.length() < prefix.length()) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length(); i++) {
+                if (line.charAt(i) != prefix.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // 다음 쉼표의 위치(없으면 줄 길이)를 돌려준다. 따옴표를 만나면 QUOTED를 돌려줘 범용 토크나이저로 넘긴다.
+        private static int nextDelimiter(CharSequence line, int from) {
+            int length = line.length();
+            for (int i = from; i < length; i++) {
+                char c = line.charAt(i);
+                if (c == ',') {
+                    return i;
+                }
+                if (c == '"') {
+                    return QUOTED;
+                }
+            }
+            return length;
+        }
+
+        // 마지막 필드에서만 줄 끝에 닿아야 한다. 아니면 범용 토크나이저로 넘겨 같은 IncorrectTokenCountException을 받는다.
+        // 뒤쪽 필드에 따옴표가 있으면 쉼표만 세서는 토큰 수가 달라지므로 직접 세지 않는다 (오류 줄이라 드물다).
+        private static boolean wrongFieldCount(CharSequence line, int end, int field, int expected) {
+            return (end == line.length()) != (field == expected - 1);
+        }
+
+        private static String trimmed(CharSequence line, int start, int end) {
+            while (start < end && line.charAt(start) <= ' ') {
+                start++;
+            }
+            while (end > start && line.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            if (line instanceof MappedLine mappedLine) {
+                return mappedLine.substring(start, end);
+            }
+            return line.subSequence(start, end).toString();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.system.batch.filewrite;
 
+import com.system.batch.AdaptiveChunkSizePolicy;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import org.springframework.batch.core.Job;
@@ -38,12 +39,14 @@ public class DeathNoteWriteJobConfig {
             JobRepository jobRepository,
             PlatformTransactionManager transactionManager,
             ListItemReader<DeathNote> deathNoteListReader,
-            FlatFileItemWriter<DeathNote> deathNoteWriter
+            FlatFileItemWriter<DeathNote> deathNoteWriter,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
     ) {
         return new StepBuilder("deathNoteWriteStep", jobRepository)
-                .<DeathNote, DeathNote>chunk(10, transactionManager)
+                .<DeathNote, DeathNote>chunk(adaptiveChunkSizePolicy, transactionManager)
                 .reader(deathNoteListReader)
                 .writer(deathNoteWriter)
+                .listener(adaptiveChunkSizePolicy)
                 .build();
     }
 
@@ -78,11 +81,8 @@ public class DeathNoteWriteJobConfig {
         return new FlatFileItemWriterBuilder<DeathNote>()
                 .name("deathNoteWriter")
                 .resource(new FileSystemResource(outputDir + "/death_notes.csv"))
-                .delimited()
-                .delimiter(",")
-                .sourceType(DeathNote.class)
-                .names("victimId", "victimName", "executionDate", "causeOfDeath")
-//                .fieldExtractor(fieldExtractor())
+                .lineAggregator(RecordLineAggregator.delimited(DeathNote.class, ",",
+                        "victimId", "victimName", "executionDate", "causeOfDeath"))
                 .headerCallback(writer -> writer.write("처형ID,피해자명,처형일자,사인"))
                 .build();
     }
@@ -0,0 +1,230 @@
+package com.system.batch.filewrite;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.WriterNotOpenException;
+import org.springframework.core.io.WritableResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+// 아이템마다 writeValueAsString()으로 String을 만들고 FlatFileItemWriter가 다시 버퍼에 복사하는 대신,
+// 재사용하는 JsonGenerator로 청크 전체를 재사용 바이트 버퍼에 직렬화한 뒤 FileChannel에 한 번에 쓰는 JSON Lines 라이터.
+// 재시작 시에는 FlatFileItemWriter와 같은 'current.count' 키에 저장된 마지막 커밋 바이트 위치로 파일을 잘라낸다.
+@Slf4j
+public class JsonLinesItemWriter<T> extends ItemStreamSupport implements ItemStreamWriter<T> {
+    private static final String RESTART_DATA_KEY = "current.count";
+    private static final String WRITTEN_STATISTICS_KEY = "written";
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+
+    private WritableResource resource;
+    private ObjectMapper objectMapper = new ObjectMapper();
+    private boolean saveState = true;
+    private boolean forceSync = false;
+
+    private final ChunkBuffer buffer = new ChunkBuffer(INITIAL_BUFFER_SIZE);
+    private ObjectWriter objectWriter;
+    private JsonGenerator generator;
+    private SequenceWriter values;
+    private FileChannel channel;
+    private long position;
+    private long committedPosition;
+    private long linesWritten;
+    private long committedLinesWritten;
+
+    public void setResource(WritableResource resource) {
+        this.resource = resource;
+    }
+
+    public void setObjectMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    // true면 청크를 쓸 때마다 디스크까지 강제로 내린다 (FlatFileItemWriter.setForceSync와 같은 의미)
+    public void setForceSync(boolean forceSync) {
+        this.forceSync = forceSync;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        Assert.notNull(resource, "Output resource is required");
+        Assert.notNull(objectMapper, "ObjectMapper is required");
+        try {
+            Path path = resource.getFile().toPath();
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            channel = FileChannel.open(path, CREATE, WRITE);
+
+            String restartKey = getExecutionContextKey(RESTART_DATA_KEY);
+            if (executionContext.containsKey(restartKey)) {
+                long restartPosition = executionContext.getLong(restartKey);
+                if (channel.size() < restartPosition) {
+                    throw new ItemStreamException("Current file size is smaller than size at last commit");
+                }
+                position = restartPosition;
+                linesWritten = executionContext.getLong(getExecutionContextKey(WRITTEN_STATISTICS_KEY), 0L);
+                log.info("{}를 마지막 커밋 위치({} bytes)에서 이어서 씁니다.", resource.getDescription(), position);
+            } else {
+                position = 0;
+                linesWritten = 0;
+            }
+            // 커밋되지 않은 꼬리(또는 이전 실행의 내용)를 잘라낸다.
+            channel.truncate(position);
+            committedPosition = position;
+            committedLinesWritten = linesWritten;
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to open output resource: " + resource, e);
+        }
+
+        // 루트 값 사이 구분자는 직접 '\n'을 넣고, 값마다 flush하지 않고 청크 끝에서 한 번만 내보낸다.
+        objectWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+        createGenerator();
+    }
+
+    // SequenceWriter는 값마다 직렬화 컨텍스트를 새로 만들지 않고 재사용한다.
+    private void createGenerator() {
+        try {
+            generator = objectMapper.getFactory().createGenerator(buffer);
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            values = objectWriter.writeValues(generator);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to create JSON generator for: " + resource, e);
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (channel == null) {
+            throw new WriterNotOpenException("Writer must be open before it can be written to");
+        }
+
+        buffer.reset();
+        try {
+            for (T item : chunk) {
+                values.write(item);
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        } catch (IOException | RuntimeException e) {
+            // 직렬화 중간에 실패하면 제너레이터 내부 버퍼에 반쯤 쓴 값이 남으므로 새로 만든다.
+            createGenerator();
+            throw e;
+        }
+
+        ByteBuffer bytes = buffer.asByteBuffer();
+        long writePosition = position;
+        while (bytes.hasRemaining()) {
+            writePosition += channel.write(bytes, writePosition);
+        }
+        if (forceSync) {
+            channel.force(false);
+        }
+        position = writePosition;
+        linesWritten += chunk.size();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            registerRollbackTruncation();
+        } else {
+            markCommitted();
+        }
+    }
+
+    // 청크 트랜잭션이 롤백되면 이번 청크가 쓴 바이트를 잘라내서, 파일이 항상 마지막 커밋 위치와 일치하도록 한다.
+    private void registerRollbackTruncation() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    markCommitted();
+                } else {
+                    rollbackToCommitted();
+                }
+            }
+        });
+    }
+
+    private void markCommitted() {
+        committedPosition = position;
+        committedLinesWritten = linesWritten;
+    }
+
+    private void rollbackToCommitted() {
+        if (channel == null || position == committedPosition) {
+            return;
+        }
+        try {
+            channel.truncate(committedPosition);
+            position = committedPosition;
+            linesWritten = committedLinesWritten;
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to truncate " + resource + " to the last committed position", e);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (saveState && channel != null) {
+            executionContext.putLong(getExecutionContextKey(RESTART_DATA_KEY), position);
+            executionContext.putLong(getExecutionContextKey(WRITTEN_STATISTICS_KEY), linesWritten);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        try {
+            if (values != null) {
+                values.close();
+            }
+            if (generator != null) {
+                generator.close();
+            }
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to close output resource: " + resource, e);
+        } finally {
+            values = null;
+            generator = null;
+            channel = null;
+        }
+    }
+
+    // 청크 하나의 직렬화 결과를 담는 버퍼. 내부 배열을 복사하지 않고 그대로 채널에 넘긴다.
+    private static class ChunkBuffer extends ByteArrayOutputStream {
+        ChunkBuffer(int size) {
+            super(size);
+        }
+
+        ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
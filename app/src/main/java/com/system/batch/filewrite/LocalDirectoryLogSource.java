@@ -0,0 +1,45 @@
+package com.system.batch.filewrite;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+// 원격 서버 대신 <baseDirectory>/<host>/<date>.log를 읽는 로컬 대역. 테스트나 ssh 없이 돌려볼 때 쓴다.
+public class LocalDirectoryLogSource implements LogSource {
+    private static final long TRANSFER_SIZE = 8 * 1024 * 1024;
+
+    private final Path baseDirectory;
+
+    public LocalDirectoryLogSource(Path baseDirectory) {
+        this.baseDirectory = baseDirectory;
+    }
+
+    @Override
+    public void fetch(String host, String date, Path target, Duration timeout)
+            throws IOException, TimeoutException {
+        Path source = baseDirectory.resolve(host).resolve(date + ".log");
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try (FileChannel in = FileChannel.open(source, READ);
+             FileChannel out = FileChannel.open(target, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            long size = in.size();
+            long position = 0;
+            // 큰 파일도 나눠서 옮기면서 구간마다 타임아웃을 확인한다.
+            while (position < size) {
+                position += in.transferTo(position, Math.min(TRANSFER_SIZE, size - position), out);
+                if (System.nanoTime() - deadline > 0 && position < size) {
+                    throw new TimeoutException("Copy from " + source + " did not finish within " + timeout);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            throw new IOException("No log file for host " + host + ": " + source, e);
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.system.batch.filewrite;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+// 호스트 목록의 로그를 최대 concurrency개씩 동시에 <targetDirectory>/<host>.log로 가져온다.
+// 호스트마다 timeout과 재시도 횟수가 따로 적용되고, 한 호스트가 실패해도 나머지는 계속 받는다.
+// 받아 온 호스트는 'collectedHosts' 키로 스텝 ExecutionContext에 남기므로, 실패 후 재시작하면 빠진 호스트만 다시 가져온다.
+@Slf4j
+public class LogCollectionTasklet implements Tasklet {
+    static final String COLLECTED_HOSTS_KEY = "collectedHosts";
+    private static final String PART_SUFFIX = ".part";
+
+    private final LogSource logSource;
+    private final List<String> hosts;
+    private final String date;
+    private final Path targetDirectory;
+    private int concurrency = 4;
+    private Duration timeout = Duration.ofSeconds(10);
+    private int maxAttempts = 3;
+    private Duration retryBackoff = Duration.ofSeconds(1);
+    private ThreadFactory threadFactory;
+
+    public LogCollectionTasklet(LogSource logSource, List<String> hosts, String date, Path targetDirectory) {
+        this.logSource = logSource;
+        this.hosts = hosts;
+        this.date = date;
+        this.targetDirectory = targetDirectory;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("log-collect-");
+        threadFactory.setDaemon(true);
+        this.threadFactory = threadFactory;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    // 수집 스레드를 만드는 팩토리. 가상 스레드 팩토리를 주면 호스트마다 기다리는 동안 플랫폼 스레드를 붙잡지 않는다.
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        ExecutionContext executionContext = contribution.getStepExecution().getExecutionContext();
+        Set<String> collected = ConcurrentHashMap.newKeySet();
+        collected.addAll(StringUtils.commaDelimitedListToSet(executionContext.getString(COLLECTED_HOSTS_KEY, "")));
+
+        List<String> pending = new ArrayList<>();
+        for (String host : new LinkedHashSet<>(hosts)) {
+            // 이전 실행에서 받았더라도 파일이 지워졌다면 다시 가져온다.
+            if (collected.contains(host) && Files.exists(targetFile(host))) {
+                log.info("이미 수집된 호스트 건너뜀: {}", host);
+            } else {
+                collected.remove(host);
+                pending.add(host);
+            }
+        }
+
+        Files.createDirectories(targetDirectory);
+        Map<String, Exception> failures = new ConcurrentHashMap<>();
+        if (!pending.isEmpty()) {
+            ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, pending.size()), threadFactory);
+            try {
+                List<Future<?>> futures = new ArrayList<>(pending.size());
+                for (String host : pending) {
+                    futures.add(executor.submit(() -> {
+                        try {
+                            collect(host);
+                            collected.add(host);
+                        } catch (Exception e) {
+                            failures.put(host, e);
+                        }
+                        return null;
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException e) {
+                        throw new IllegalStateException("Log collection task failed unexpectedly", e.getCause());
+                    }
+                }
+            } finally {
+                executor.shutdownNow();
+                // 스텝이 실패로 끝나도 이 값은 저장되므로 재시작 시 성공한 호스트는 다시 받지 않는다.
+                executionContext.putString(COLLECTED_HOSTS_KEY, StringUtils.collectionToCommaDelimitedString(
+                        hosts.stream().filter(collected::contains).distinct().toList()));
+            }
+        }
+
+        contribution.incrementWriteCount(pending.size() - failures.size());
+        if (!failures.isEmpty()) {
+            failures.forEach((host, e) -> log.error("로그 수집 실패: {} ({})", host, e.getMessage()));
+            throw new IllegalStateException("Failed to collect logs from " + failures.size() + " of "
+                    + pending.size() + " hosts: " + failures.keySet());
+        }
+        log.info("{}개 호스트 로그 수집 완료 ({}개는 이전 실행에서 수집)", pending.size(), hosts.size() - pending.size());
+        return RepeatStatus.FINISHED;
+    }
+
+    // <host>.log.part에 받은 뒤 이름을 바꾸므로 *.log 패턴으로 찾는 다음 스텝에는 다 받은 파일만 보인다.
+    private void collect(String host) throws Exception {
+        Path target = targetFile(host);
+        Path part = targetDirectory.resolve(host + ".log" + PART_SUFFIX);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                logSource.fetch(host, date, part, timeout);
+                Files.move(part, target, ATOMIC_MOVE, REPLACE_EXISTING);
+                log.info("로그 수집: {} -> {}", host, target);
+                return;
+            } catch (InterruptedException e) {
+                Files.deleteIfExists(part);
+                throw e;
+            } catch (Exception e) {
+                Files.deleteIfExists(part);
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                log.warn("로그 수집 재시도 {}/{}: {} ({})", attempt, maxAttempts, host, e.getMessage());
+                Thread.sleep(retryBackoff.toMillis() * attempt);
+            }
+        }
+    }
+
+    private Path targetFile(String host) {
+        return targetDirectory.resolve(host + ".log");
+    }
+}
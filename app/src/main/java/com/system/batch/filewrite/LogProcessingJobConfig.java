@@ -1,23 +1,31 @@
 package com.system.batch.filewrite;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.system.batch.AdaptiveChunkSizePolicy;
+import com.system.batch.BatchThreads;
+import com.system.batch.fileread.DirectFieldSetMapper;
+import com.system.batch.fileread.LineSequenceMapper;
+import com.system.batch.fileread.MappedLineItemReader;
+import com.system.batch.partition.FileRangePartitioner;
+import com.system.batch.partition.PartitionChannel;
+import com.system.batch.partition.RemotePartitionHandler;
 import lombok.Data;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.MultiResourcePartitioner;
+import org.springframework.batch.core.partition.support.Partitioner;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.step.tasklet.SystemCommandTasklet;
 import org.springframework.batch.item.ItemProcessor;
-import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.FlatFileItemWriter;
 import org.springframework.batch.item.file.MultiResourceItemReader;
-import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
@@ -25,23 +33,41 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.StringUtils;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.StringJoiner;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.Future;
 
 @Configuration
 public class LogProcessingJobConfig {
+    private static final int PARTITION_CONCURRENCY = 4;
+    private static final int COLLECTION_CONCURRENCY = 8;
+    private static final int PROCESSOR_CONCURRENCY = 4;
+    // 원격 워커가 파티션을 시작하지 않으면 다시 보내는 시간과, 모든 파티션을 기다리는 최대 시간
+    private static final Duration REMOTE_PARTITION_START_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration REMOTE_PARTITION_TIMEOUT = Duration.ofHours(2);
+    private static final String[] LOG_FILE_PATTERNS = {"*.log", "*.log.gz", "*.log.zst"};
+
     @Autowired
     private JobRepository jobRepository;
     @Autowired
     private PlatformTransactionManager transactionManager;
+    @Autowired
+    private BatchThreads batchThreads;
+    @Autowired
+    private JobExplorer jobExplorer;
+    @Autowired
+    private PartitionChannel partitionChannel;
 
     @Bean
     public Job logProcessingJob(
@@ -56,6 +82,52 @@ public class LogProcessingJobConfig {
                 .build();
     }
 
+    // 수집된 로그 파일(호스트) 하나당 워커 스텝 실행 하나를 만들어 병렬로 처리한 뒤, 결과를 하나로 합친다.
+    @Bean
+    public Job partitionedLogProcessingJob(
+            Step createDirectoryStep,
+            Step logCollectionStep,
+            Step logProcessingManagerStep,
+            Step mergeProcessedLogsStep
+    ) {
+        return new JobBuilder("partitionedLogProcessingJob", jobRepository)
+                .start(createDirectoryStep)
+                .next(logCollectionStep)
+                .next(logProcessingManagerStep)
+                .next(mergeProcessedLogsStep)
+                .build();
+    }
+
+    // partitionedLogProcessingJob과 같지만, 파일을 바이트 구간으로 더 잘게 나눠 PartitionChannel로 워커(다른 JVM일 수 있음)에게 보낸다.
+    @Bean
+    public Job remotePartitionedLogProcessingJob(
+            Step createDirectoryStep,
+            Step logCollectionStep,
+            Step remoteLogProcessingManagerStep,
+            Step mergeProcessedLogsStep
+    ) {
+        return new JobBuilder("remotePartitionedLogProcessingJob", jobRepository)
+                .start(createDirectoryStep)
+                .next(logCollectionStep)
+                .next(remoteLogProcessingManagerStep)
+                .next(mergeProcessedLogsStep)
+                .build();
+    }
+
+    // logProcessingJob과 같지만, 처리 단계를 워커 스레드로 넘겨 읽기와 처리가 겹치도록 한 스텝을 쓴다.
+    @Bean
+    public Job pipelinedLogProcessingJob(
+            Step createDirectoryStep,
+            Step logCollectionStep,
+            Step pipelinedLogProcessingStep
+    ) {
+        return new JobBuilder("pipelinedLogProcessingJob", jobRepository)
+                .start(createDirectoryStep)
+                .next(logCollectionStep)
+                .next(pipelinedLogProcessingStep)
+                .build();
+    }
+
     @Bean
     public Step createDirectoryStep(SystemCommandTasklet mkdirTasklet) {
         return new StepBuilder("createDirectoryStep", jobRepository)
@@ -75,33 +147,37 @@ public class LogProcessingJobConfig {
 
         tasklet.setCommand("mkdir", "-p", collectedLogsPath, processedLogsPath, " && ls -al");
         tasklet.setTimeout(3000); // 3초 타임아웃
+        // 프로세스 종료를 기다리는 스레드. 가상 스레드 모드에서는 이 대기가 플랫폼 스레드를 붙잡지 않는다.
+        tasklet.setTaskExecutor(batchThreads.perTaskExecutor("mkdir-"));
         return tasklet;
     }
 
     @Bean
-    public Step logCollectionStep(SystemCommandTasklet scpTasklet) {
+    public Step logCollectionStep(LogCollectionTasklet logCollectionTasklet) {
         return new StepBuilder("logCollectionStep", jobRepository)
-                .tasklet(scpTasklet, transactionManager)
+                .tasklet(logCollectionTasklet, transactionManager)
                 .build();
     }
 
+    // hosts는 쉼표로 구분한 호스트 목록(기본값 localhost)이다.
+    // logSourceDirectory를 주면 scp 대신 <logSourceDirectory>/<host>/<date>.log를 원격 서버처럼 읽는다.
     @Bean
     @StepScope
-    public SystemCommandTasklet scpTasklet(
-            @Value("#{jobParameters['date']}") String date) {
-        SystemCommandTasklet tasklet = new SystemCommandTasklet();
-        tasklet.setWorkingDirectory(System.getProperty("user.home"));
-        String processedLogsPath = "collected_ecommerce_logs/" + date;
+    public LogCollectionTasklet logCollectionTasklet(
+            @Value("#{jobParameters['date']}") String date,
+            @Value("#{jobParameters['hosts'] ?: 'localhost'}") String hosts,
+            @Value("#{jobParameters['logSourceDirectory']}") String logSourceDirectory) {
+        LogSource logSource = StringUtils.hasText(logSourceDirectory)
+                ? new LocalDirectoryLogSource(Paths.get(logSourceDirectory))
+                : new ScpLogSource();
+        Path collectedLogsPath = Paths.get(System.getProperty("user.home"), "collected_ecommerce_logs", date);
 
-        StringJoiner commandBuilder = new StringJoiner(" && ");
-        for (String host : List.of("localhost")) {
-            String command = String.format("scp %s:~/ecommerce_logs/%s.log ./%s/%s.log",
-                    host, date, processedLogsPath, host);
-            commandBuilder.add(command);
-        }
-
-        tasklet.setCommand("/bin/sh", "-c", commandBuilder.toString());
-        tasklet.setTimeout(10000); //10초 타임아웃
+        LogCollectionTasklet tasklet = new LogCollectionTasklet(logSource,
+                List.of(StringUtils.tokenizeToStringArray(hosts, ",")), date, collectedLogsPath);
+        tasklet.setConcurrency(COLLECTION_CONCURRENCY);
+        tasklet.setTimeout(Duration.ofSeconds(10)); // 호스트당 10초 타임아웃
+        tasklet.setMaxAttempts(3);
+        tasklet.setThreadFactory(batchThreads.threadFactory("log-collect-"));
         return tasklet;
     }
 
@@ -109,16 +185,42 @@ public class LogProcessingJobConfig {
     public Step logProcessingStep(
             MultiResourceItemReader<LogEntry> multiResourceItemReader,
             LogEntryProcessor logEntryProcessor,
-            FlatFileItemWriter<ProcessedLogEntry> processedLogEntryJsonWriter
+            JsonLinesItemWriter<ProcessedLogEntry> processedLogEntryJsonWriter,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
     ) {
         return new StepBuilder("logProcessingStep", jobRepository)
-                .<LogEntry, ProcessedLogEntry>chunk(10, transactionManager)
+                .<LogEntry, ProcessedLogEntry>chunk(adaptiveChunkSizePolicy, transactionManager)
                 .reader(multiResourceItemReader)
                 .processor(logEntryProcessor)
                 .writer(processedLogEntryJsonWriter)
+                .listener(adaptiveChunkSizePolicy)
                 .build();
     }
 
+    // 스텝 스레드는 읽기만 하고 LogEntryProcessor는 워커 스레드에서 돌며, 라이터가 읽은 순서대로 결과를 모아 쓴다.
+    // 청크 하나에 걸린 처리 작업은 최대 chunk 크기만큼이므로 워커 큐도 그 이상 쌓이지 않는다.
+    @Bean
+    public Step pipelinedLogProcessingStep(
+            MultiResourceItemReader<LogEntry> multiResourceItemReader,
+            LogEntryProcessor logEntryProcessor,
+            JsonLinesItemWriter<ProcessedLogEntry> processedLogEntryJsonWriter,
+            TaskExecutor logEntryProcessorTaskExecutor,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
+    ) {
+        return new StepBuilder("pipelinedLogProcessingStep", jobRepository)
+                .<LogEntry, Future<ProcessedLogEntry>>chunk(adaptiveChunkSizePolicy, transactionManager)
+                .reader(multiResourceItemReader)
+                .processor(new PipelinedItemProcessor<>(logEntryProcessor, logEntryProcessorTaskExecutor))
+                .writer(new PipelinedItemWriter<>(processedLogEntryJsonWriter))
+                .listener(adaptiveChunkSizePolicy)
+                .build();
+    }
+
+    @Bean
+    public TaskExecutor logEntryProcessorTaskExecutor() {
+        return batchThreads.taskExecutor("log-processor-", PROCESSOR_CONCURRENCY);
+    }
+
     @Bean
     @StepScope
     public MultiResourceItemReader<LogEntry> multiResourceItemReader(
@@ -130,29 +232,166 @@ public class LogProcessingJobConfig {
         return resourceItemReader;
     }
 
+    // 압축 여부는 리더가 매직 바이트로 판별하므로, 여기서는 압축된 채로 수집된 파일도 함께 찾기만 한다.
     private Resource[] getResources(String date) {
         try {
             String userHome = System.getProperty("user.home");
-            String location = "file:" + userHome + "/collected_ecommerce_logs/" + date + "/*.log";
+            String directory = "file:" + userHome + "/collected_ecommerce_logs/" + date + "/";
 
             PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
-            return resolver.getResources(location);
+            List<Resource> resources = new ArrayList<>();
+            for (String pattern : LOG_FILE_PATTERNS) {
+                resources.addAll(List.of(resolver.getResources(directory + pattern)));
+            }
+            return resources.toArray(Resource[]::new);
         } catch (IOException e) {
             throw new RuntimeException("Failed to resolve log files", e);
         }
     }
 
     @Bean
-    public FlatFileItemReader<LogEntry> logFileReader() {
-        return new FlatFileItemReaderBuilder<LogEntry>()
-                .name("logFileReader")
-                .delimited()
-                .delimiter(",")
-                .names("dateTime", "level", "message")
-                .targetType(LogEntry.class)
+    public Step logProcessingManagerStep(
+            Step logProcessingWorkerStep,
+            Partitioner logFilePartitioner,
+            TaskExecutor logProcessingTaskExecutor
+    ) {
+        return new StepBuilder("logProcessingManagerStep", jobRepository)
+                .partitioner("logProcessingWorkerStep", logFilePartitioner)
+                .step(logProcessingWorkerStep)
+                .taskExecutor(logProcessingTaskExecutor)
+                .gridSize(PARTITION_CONCURRENCY)
+                .build();
+    }
+
+    // getResources()로 찾은 파일마다 파티션이 하나씩 생기고, 파일 URL은 'fileName' 키로 워커의 ExecutionContext에 들어간다.
+    @Bean
+    @StepScope
+    public MultiResourcePartitioner logFilePartitioner(
+            @Value("#{jobParameters['date']}") String date) {
+        MultiResourcePartitioner partitioner = new MultiResourcePartitioner();
+        partitioner.setResources(getResources(date));
+        return partitioner;
+    }
+
+    // 워커 스텝은 logProcessingManagerStep과 같은 logProcessingWorkerStep이다. 파티션 이름이 워커 스텝 실행 이름이 되므로
+    // 워커 JVM은 요청의 스텝 이름으로 자기 컨텍스트의 logProcessingWorkerStep을 찾아 실행한다.
+    @Bean
+    public Step remoteLogProcessingManagerStep(
+            Step logProcessingWorkerStep,
+            Partitioner logFileRangePartitioner
+    ) {
+        RemotePartitionHandler partitionHandler =
+                new RemotePartitionHandler(partitionChannel, jobExplorer, "logProcessingWorkerStep");
+        partitionHandler.setGridSize(PARTITION_CONCURRENCY);
+        partitionHandler.setStartTimeout(REMOTE_PARTITION_START_TIMEOUT);
+        partitionHandler.setTimeout(REMOTE_PARTITION_TIMEOUT);
+        return new StepBuilder("remoteLogProcessingManagerStep", jobRepository)
+                .partitioner("logProcessingWorkerStep", logFileRangePartitioner)
+                .step(logProcessingWorkerStep)
+                .partitionHandler(partitionHandler)
                 .build();
     }
 
+    // 압축되지 않은 파일은 최대 gridSize개 구간으로 나뉘고, 구간은 'startOffset', 'endOffset' 키로 워커에게 간다.
+    @Bean
+    @StepScope
+    public FileRangePartitioner logFileRangePartitioner(
+            @Value("#{jobParameters['date']}") String date) {
+        FileRangePartitioner partitioner = new FileRangePartitioner();
+        partitioner.setResources(getResources(date));
+        return partitioner;
+    }
+
+    @Bean
+    public TaskExecutor logProcessingTaskExecutor() {
+        return batchThreads.taskExecutor("log-partition-", PARTITION_CONCURRENCY);
+    }
+
+    // 각 워커 스텝 실행은 자기 파일의 읽기 위치와 출력 위치를 자기 ExecutionContext에 따로 저장하므로 파티션 단위로 재시작된다.
+    @Bean
+    public Step logProcessingWorkerStep(
+            MappedLineItemReader<LogEntry> partitionLogFileReader,
+            LogEntryProcessor logEntryProcessor,
+            JsonLinesItemWriter<ProcessedLogEntry> partitionProcessedLogEntryJsonWriter,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
+    ) {
+        return new StepBuilder("logProcessingWorkerStep", jobRepository)
+                .<LogEntry, ProcessedLogEntry>chunk(adaptiveChunkSizePolicy, transactionManager)
+                .reader(partitionLogFileReader)
+                .processor(logEntryProcessor)
+                .writer(partitionProcessedLogEntryJsonWriter)
+                .listener(adaptiveChunkSizePolicy)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public MappedLineItemReader<LogEntry> partitionLogFileReader(
+            @Value("#{stepExecutionContext['fileName']}") Resource logFile,
+            @Value("#{stepExecutionContext['startOffset'] ?: 0L}") long startOffset,
+            @Value("#{stepExecutionContext['endOffset'] ?: T(Long).MAX_VALUE}") long endOffset) {
+        MappedLineItemReader<LogEntry> reader = logEntryReader("partitionLogFileReader");
+        reader.setResource(logFile);
+        reader.setByteRange(startOffset, endOffset);
+        return reader;
+    }
+
+    @Bean
+    @StepScope
+    public JsonLinesItemWriter<ProcessedLogEntry> partitionProcessedLogEntryJsonWriter(
+            @Value("#{jobParameters['date']}") String date,
+            @Value("#{stepExecutionContext['fileName']}") Resource logFile,
+            @Value("#{stepExecutionContext['startOffset']}") Long startOffset) {
+        // 출력 이름은 입력 파일 이름 전체로 정한다. 같은 호스트의 web1.log와 로테이션된 web1.log.gz도 서로 다른 파일에 쓴다.
+        // 파일을 구간으로 나눴으면 구간마다 따로 쓴다. 병합은 이름순이므로 시작 위치를 자릿수 맞춰 붙이면 원래 줄 순서가 된다.
+        String suffix = startOffset == null ? "" : String.format(".%019d", startOffset);
+        String outputPath = getPartitionOutputDirectory(date)
+                .resolve(logFile.getFilename() + suffix + ".jsonl").toString();
+        return jsonLinesWriter("partitionProcessedLogEntryJsonWriter", outputPath);
+    }
+
+    @Bean
+    public Step mergeProcessedLogsStep(ProcessedLogMergeTasklet processedLogMergeTasklet) {
+        return new StepBuilder("mergeProcessedLogsStep", jobRepository)
+                .tasklet(processedLogMergeTasklet, transactionManager)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public ProcessedLogMergeTasklet processedLogMergeTasklet(
+            @Value("#{jobParameters['date']}") String date) {
+        return new ProcessedLogMergeTasklet(getPartitionOutputDirectory(date), getProcessedLogPath(date));
+    }
+
+    private Path getPartitionOutputDirectory(String date) {
+        return Paths.get(System.getProperty("user.home"), "processed_logs", date, "partitions");
+    }
+
+    private Path getProcessedLogPath(String date) {
+        return Paths.get(System.getProperty("user.home"), "processed_logs", date, "processed_logs.jsonl");
+    }
+
+    @Bean
+    public MappedLineItemReader<LogEntry> logFileReader() {
+        return logEntryReader("logFileReader");
+    }
+
+    private MappedLineItemReader<LogEntry> logEntryReader(String name) {
+        DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer(",");
+        tokenizer.setNames("dateTime", "level", "message");
+        DirectFieldSetMapper<LogEntry> fieldSetMapper = DirectFieldSetMapper.forType(LogEntry.class);
+
+        DefaultLineMapper<LogEntry> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+
+        MappedLineItemReader<LogEntry> reader = new MappedLineItemReader<>();
+        reader.setName(name);
+        reader.setLineMapper(LineSequenceMapper.of(lineMapper));
+        return reader;
+    }
+
     @Bean
     public LogEntryProcessor logEntryProcessor() {
         return new LogEntryProcessor();
@@ -160,28 +399,23 @@ public class LogProcessingJobConfig {
 
     @Bean
     @StepScope
-    public FlatFileItemWriter<ProcessedLogEntry> processedLogEntryJsonWriter(
+    public JsonLinesItemWriter<ProcessedLogEntry> processedLogEntryJsonWriter(
             @Value("#{jobParameters['date']}") String date) {
-        String userHome = System.getProperty("user.home");
-        String outputPath = Paths.get(userHome, "processed_logs", date, "processed_logs.jsonl").toString();
+        return jsonLinesWriter("processedLogEntryJsonWriter", getProcessedLogPath(date).toString());
+    }
 
+    private JsonLinesItemWriter<ProcessedLogEntry> jsonLinesWriter(String name, String outputPath) {
         ObjectMapper objectMapper = new ObjectMapper();
         JavaTimeModule javaTimeModule = new JavaTimeModule();
         javaTimeModule.addSerializer(LocalDateTime.class,
                 new LocalDateTimeSerializer(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")));
         objectMapper.registerModule(javaTimeModule);
 
-        return new FlatFileItemWriterBuilder<ProcessedLogEntry>()
-                .name("processedLogEntryJsonWriter")
-                .resource(new FileSystemResource(outputPath))
-                .lineAggregator(item -> {
-                    try {
-                        return objectMapper.writeValueAsString(item);
-                    } catch (JsonProcessingException e) {
-                        throw new RuntimeException("Error converting item to JSON", e);
-                    }
-                })
-                .build();
+        JsonLinesItemWriter<ProcessedLogEntry> writer = new JsonLinesItemWriter<>();
+        writer.setName(name);
+        writer.setResource(new FileSystemResource(outputPath));
+        writer.setObjectMapper(objectMapper);
+        return writer;
     }
 
     @Data
@@ -216,7 +450,8 @@ public class LogProcessingJobConfig {
 
     public static class LogEntryProcessor implements ItemProcessor<LogEntry, ProcessedLogEntry> {
         private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
-        private static final Pattern ERROR_CODE_PATTERN = Pattern.compile("ERROR_CODE\\[(\\w+)]");
+        private static final String ERROR = "ERROR";
+        private static final String ERROR_CODE_OPEN = "_CODE[";
 
         @Override
         public ProcessedLogEntry process(LogEntry item) {
@@ -228,28 +463,78 @@ public class LogProcessingJobConfig {
             return processedEntry;
         }
 
+        // 대부분의 로그는 yyyy-MM-ddTHH:mm:ss 형태이므로 자릿수를 직접 읽는다.
+        // 형태가 다르거나(오프셋, 소수점 초 등) 값이 범위를 벗어나면 ISO 포맷터로 넘겨 결과와 예외를 그대로 맞춘다.
         private LocalDateTime parseDateTime(String dateTime) {
+            if (dateTime != null && dateTime.length() == 19
+                    && dateTime.charAt(4) == '-' && dateTime.charAt(7) == '-' && dateTime.charAt(10) == 'T'
+                    && dateTime.charAt(13) == ':' && dateTime.charAt(16) == ':') {
+                int year = digits(dateTime, 0, 4);
+                int month = digits(dateTime, 5, 2);
+                int day = digits(dateTime, 8, 2);
+                int hour = digits(dateTime, 11, 2);
+                int minute = digits(dateTime, 14, 2);
+                int second = digits(dateTime, 17, 2);
+                if ((year | month | day | hour | minute | second) >= 0) {
+                    try {
+                        return LocalDateTime.of(year, month, day, hour, minute, second);
+                    } catch (DateTimeException e) {
+                        // 2월 30일 같은 값은 포맷터가 같은 방식으로 거부하도록 아래로 넘긴다.
+                    }
+                }
+            }
             return LocalDateTime.parse(dateTime, ISO_FORMATTER);
         }
 
+        private static int digits(String text, int start, int count) {
+            int value = 0;
+            for (int i = start; i < start + count; i++) {
+                int digit = text.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
         private LogLevel parseLevel(String level) {
             return LogLevel.fromString(level);
         }
 
+        // 정규식 ERROR_CODE\[(\w+)] 의 find()와 contains("ERROR")를 한 번의 훑기로 처리한다.
+        // "ERROR"가 나올 때마다 바로 뒤가 _CODE[<단어 문자>] 인지 확인하고, 가장 앞의 일치를 돌려준다.
         private String extractErrorCode(String message) {
             if (message == null) {
                 return null;
             }
 
-            Matcher matcher = ERROR_CODE_PATTERN.matcher(message);
-            if (matcher.find()) {
-                return matcher.group(1);
+            boolean containsError = false;
+            int from = 0;
+            int found;
+            while ((found = message.indexOf(ERROR, from)) >= 0) {
+                containsError = true;
+                int open = found + ERROR.length();
+                if (message.startsWith(ERROR_CODE_OPEN, open)) {
+                    int codeStart = open + ERROR_CODE_OPEN.length();
+                    int codeEnd = codeStart;
+                    while (codeEnd < message.length() && isWordChar(message.charAt(codeEnd))) {
+                        codeEnd++;
+                    }
+                    if (codeEnd > codeStart && codeEnd < message.length() && message.charAt(codeEnd) == ']') {
+                        return message.substring(codeStart, codeEnd);
+                    }
+                }
+                // "ERROR"는 자기 자신과 겹칠 수 없으므로 다음 후보는 현재 일치 뒤에서 찾는다.
+                from = open;
             }
             // ERROR 문자열이 포함되어 있지만 패턴이 일치하지 않는 경우
-            if (message.contains("ERROR")) {
-                return "UNKNOWN_ERROR";
-            }
-            return null;
+            return containsError ? "UNKNOWN_ERROR" : null;
+        }
+
+        // 정규식 \w와 같은 [a-zA-Z_0-9]
+        private static boolean isWordChar(char c) {
+            return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
         }
     }
-}
\ No newline at end of file
+}
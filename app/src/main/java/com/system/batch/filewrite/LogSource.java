@@ -0,0 +1,14 @@
+package com.system.batch.filewrite;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+// 호스트 하나의 특정 날짜 로그를 target 파일로 가져오는 방법.
+// 구현은 timeout 안에 끝내지 못하면 TimeoutException을 던지고, 쓰다 만 target은 호출한 쪽이 정리한다.
+public interface LogSource {
+
+    void fetch(String host, String date, Path target, Duration timeout)
+            throws IOException, InterruptedException, TimeoutException;
+}
@@ -1,22 +1,22 @@
 package com.system.batch.filewrite;
 
+import com.system.batch.AdaptiveChunkSizePolicy;
+import com.system.batch.BatchThreads;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.item.file.FlatFileItemWriter;
-import org.springframework.batch.item.file.MultiResourceItemWriter;
-import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
-import org.springframework.batch.item.file.builder.MultiResourceItemWriterBuilder;
 import org.springframework.batch.item.support.ListItemReader;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
@@ -24,6 +24,10 @@ import java.util.List;
 
 @Configuration
 public class MultiResourceItemWriteJobConfig {
+    private static final int ITEMS_PER_RESOURCE = 10;
+    private static final long BYTES_PER_RESOURCE = 1024 * 1024;
+    private static final Duration TIME_PER_RESOURCE = Duration.ofMinutes(1);
+    private static final int FINALIZATION_CONCURRENCY = 2;
 
     @Bean
     public Job deathNoteMultiWriteJob(
@@ -40,12 +44,16 @@ public class MultiResourceItemWriteJobConfig {
             JobRepository jobRepository,
             PlatformTransactionManager transactionManager,
             ListItemReader<DeathNote> deathNoteMultiListReader,
-            FlatFileItemWriter<DeathNote> multiResourceItemWriter
+            RollingFileItemWriter<DeathNote> multiResourceItemWriter
     ) {
+        // RollingFileItemWriter는 청크 경계에서만 파일을 나누므로, 청크가 파일당 아이템 수(10)를 넘지 않도록 상한을 맞춘다.
+        AdaptiveChunkSizePolicy chunkSizePolicy =
+                new AdaptiveChunkSizePolicy(ITEMS_PER_RESOURCE, 1, ITEMS_PER_RESOURCE, Duration.ofMillis(500));
         return new StepBuilder("deathNoteMultiWriteStep", jobRepository)
-                .<DeathNote, DeathNote>chunk(10, transactionManager)
+                .<DeathNote, DeathNote>chunk(chunkSizePolicy, transactionManager)
                 .reader(deathNoteMultiListReader)
                 .writer(multiResourceItemWriter)
+                .listener(chunkSizePolicy)
                 .build();
     }
 
@@ -65,30 +73,31 @@ public class MultiResourceItemWriteJobConfig {
         return new ListItemReader<>(deathNotes);
     }
 
+    // 10건, 1MB, 1분 중 먼저 닿는 기준으로 다음 파일로 넘어가고, 다 쓴 파일은 백그라운드에서 마무리한다.
     @Bean
     @StepScope
-    public MultiResourceItemWriter<DeathNote> multiResourceItemWriter(
-            @Value("#{jobParameters['outputDir']}") String outputDir) {
-        return new MultiResourceItemWriterBuilder<DeathNote>()
-                .name("multiDeathNoteWriter")
-                .resource(new FileSystemResource(outputDir + "/death_note"))
-                .itemCountLimitPerResource(10)
-                .delegate(delegateMultiItemWriter())
-                .resourceSuffixCreator(index -> String.format("_%03d.txt", index))
-                .build();
+    public RollingFileItemWriter<DeathNote> multiResourceItemWriter(
+            @Value("#{jobParameters['outputDir']}") String outputDir,
+            TaskExecutor deathNoteFinalizationTaskExecutor) {
+        RollingFileItemWriter<DeathNote> writer = new RollingFileItemWriter<>(
+                Path.of(outputDir, "death_note"),
+                RecordLineAggregator.formatted(DeathNote.class,
+                        "처형 ID: %s | 처형일자: %s | 피해자: %s | 사인: %s",
+                        "victimId", "executionDate", "victimName", "causeOfDeath"),
+                deathNoteFinalizationTaskExecutor);
+        writer.setName("multiDeathNoteWriter");
+        writer.setItemCountLimitPerResource(ITEMS_PER_RESOURCE);
+        writer.setByteLimitPerResource(BYTES_PER_RESOURCE);
+        writer.setTimeLimitPerResource(TIME_PER_RESOURCE);
+        writer.setResourceSuffixCreator(index -> String.format("_%03d.txt", index));
+        writer.setHeaderCallback(headerWriter -> headerWriter.write("================= 처형 기록부 ================="));
+        writer.setFooterCallback(footerWriter -> footerWriter.write("================= 처형 완료 =================="));
+        return writer;
     }
 
     @Bean
-    public FlatFileItemWriter<DeathNote> delegateMultiItemWriter() {
-        return new FlatFileItemWriterBuilder<DeathNote>()
-                .name("deathNoteMultiWriter")
-                .formatted()
-                .format("처형 ID: %s | 처형일자: %s | 피해자: %s | 사인: %s")
-                .sourceType(DeathNote.class)
-                .names("victimId", "executionDate", "victimName", "causeOfDeath")
-                .headerCallback(writer -> writer.write("================= 처형 기록부 ================="))
-                .footerCallback(writer -> writer.write("================= 처형 완료 =================="))
-                .build();
+    public TaskExecutor deathNoteFinalizationTaskExecutor(BatchThreads batchThreads) {
+        return batchThreads.taskExecutor("death-note-finalizer-", FINALIZATION_CONCURRENCY);
     }
 
     public record DeathNote(String victimId, String victimName, String executionDate, String causeOfDeath) {}
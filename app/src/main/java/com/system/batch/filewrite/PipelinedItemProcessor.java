@@ -0,0 +1,30 @@
+package com.system.batch.filewrite;
+
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+// 위임 프로세서를 taskExecutor의 워커 스레드에서 실행하고 결과 대신 Future를 바로 돌려준다.
+// 스텝 스레드는 처리를 기다리지 않고 다음 아이템을 읽으므로 읽기 I/O와 처리 CPU가 겹친다.
+// 위임 프로세서는 여러 스레드에서 동시에 호출되므로 상태가 없어야 한다 (LogEntryProcessor처럼).
+public class PipelinedItemProcessor<I, O> implements ItemProcessor<I, Future<O>> {
+    private final ItemProcessor<I, O> delegate;
+    private final TaskExecutor taskExecutor;
+
+    public PipelinedItemProcessor(ItemProcessor<I, O> delegate, TaskExecutor taskExecutor) {
+        Assert.notNull(delegate, "Delegate ItemProcessor is required");
+        Assert.notNull(taskExecutor, "TaskExecutor is required");
+        this.delegate = delegate;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @Override
+    public Future<O> process(I item) {
+        FutureTask<O> task = new FutureTask<>(() -> delegate.process(item));
+        taskExecutor.execute(task);
+        return task;
+    }
+}
@@ -0,0 +1,77 @@
+package com.system.batch.filewrite;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+// PipelinedItemProcessor가 돌려준 Future를 읽은 순서대로 기다려 위임 라이터에 한 청크로 넘긴다.
+// 쓰기와 커밋은 여전히 스텝 스레드의 청크 트랜잭션 안에서 일어나므로 커밋 경계와 재시작 위치는 chunk 크기와 그대로 맞는다.
+// 처리 중 실패는 원래 예외로 풀어 던지지만 스텝이 보기에는 쓰기 단계의 실패다. 동기 처리와 달리 ItemProcessListener.onProcessError 대신
+// ItemWriteListener.onWriteError가 불리고, faultTolerant 스텝이면 스킵/재시도도 쓰기 기준(writeSkipCount, onSkipInWrite)으로 처리된다.
+// 그래서 처리 단계의 스킵/재시도 정책이 필요한 스텝에는 쓰지 않는다. pipelinedLogProcessingStep은 faultTolerant가 아니라 어느 쪽이든 스텝이 실패한다.
+public class PipelinedItemWriter<T> implements ItemStreamWriter<Future<T>> {
+    private final ItemWriter<T> delegate;
+
+    public PipelinedItemWriter(ItemWriter<T> delegate) {
+        Assert.notNull(delegate, "Delegate ItemWriter is required");
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void write(Chunk<? extends Future<T>> chunk) throws Exception {
+        Chunk<T> results = new Chunk<>();
+        for (Future<T> future : chunk) {
+            T result;
+            try {
+                result = future.get();
+            } catch (ExecutionException e) {
+                // 청크는 롤백되므로 아직 도는 나머지 처리는 취소하고, ExecutionException 대신 처리 중 발생한 예외를 던진다.
+                cancelAll(chunk);
+                Throwable cause = e.getCause();
+                if (cause instanceof Exception exception) {
+                    throw exception;
+                }
+                throw e;
+            }
+            // 프로세서가 null을 돌려준 아이템은 동기 처리와 마찬가지로 걸러낸다.
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        delegate.write(results);
+    }
+
+    private static void cancelAll(Chunk<? extends Future<?>> chunk) {
+        for (Future<?> future : chunk) {
+            future.cancel(true);
+        }
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.open(executionContext);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.update(executionContext);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.close();
+        }
+    }
+}
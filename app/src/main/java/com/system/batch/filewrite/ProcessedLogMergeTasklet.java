@@ -0,0 +1,70 @@
+package com.system.batch.filewrite;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+// 파티션(입력 파일 또는 파일 구간)별로 만들어진 *.jsonl 파일을 이름 순으로 하나의 결과 파일에 이어 붙인다.
+@Slf4j
+public class ProcessedLogMergeTasklet implements Tasklet {
+    private final Path partitionDirectory;
+    private final Path outputPath;
+
+    public ProcessedLogMergeTasklet(Path partitionDirectory, Path outputPath) {
+        this.partitionDirectory = partitionDirectory;
+        this.outputPath = outputPath;
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        List<Path> partitionFiles = new ArrayList<>();
+        if (Files.isDirectory(partitionDirectory)) {
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(partitionDirectory, "*.jsonl")) {
+                stream.forEach(partitionFiles::add);
+            }
+        }
+        partitionFiles.sort(null);
+
+        // 재시작되더라도 결과 파일을 처음부터 다시 만들기 때문에 중복이 생기지 않는다.
+        // 결과 디렉토리는 파티션 라이터가 만들지 않으므로(파티션 파일은 따로 모인다) 여기서 만든다.
+        if (outputPath.getParent() != null) {
+            Files.createDirectories(outputPath.getParent());
+        }
+        try (FileChannel out = FileChannel.open(outputPath, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            for (Path partitionFile : partitionFiles) {
+                try (FileChannel in = FileChannel.open(partitionFile, READ)) {
+                    long size = in.size();
+                    long position = 0;
+                    while (position < size) {
+                        position += in.transferTo(position, size - position, out);
+                    }
+                }
+                contribution.incrementWriteCount(1);
+                log.info("파티션 결과 병합: {}", partitionFile.getFileName());
+            }
+            out.force(true);
+        }
+
+        for (Path partitionFile : partitionFiles) {
+            Files.delete(partitionFile);
+        }
+        Files.deleteIfExists(partitionDirectory);
+
+        log.info("{}개 파티션 결과를 {}에 병합 완료", partitionFiles.size(), outputPath);
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,315 @@
+package com.system.batch.filewrite;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.file.FlatFileFooterCallback;
+import org.springframework.batch.item.file.FlatFileHeaderCallback;
+import org.springframework.batch.item.file.FlatFileItemWriter;
+import org.springframework.batch.item.file.ResourceSuffixCreator;
+import org.springframework.batch.item.file.SimpleResourceSuffixCreator;
+import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.batch.item.file.transform.LineAggregator;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.task.TaskExecutor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+// MultiResourceItemWriter처럼 <basePath><suffix> 파일을 차례로 쓰되, 아이템 수뿐 아니라 쓴 바이트 수와 파일을 연 뒤 지난 시간으로도 다음 파일로 넘어간다.
+// 쓰는 중인 파일은 이름 뒤에 .inprogress가 붙고, 다 쓴 파일의 마무리(푸터, fsync, 선택적 gzip 압축, 최종 이름으로 이동)는
+// finalizationExecutor에서 처리하므로 스텝은 기다리지 않고 다음 파일에 다음 청크를 쓴다.
+// 파일 전환은 청크 경계, 즉 이전 청크가 커밋된 뒤의 다음 write()에서 일어난다. 시간 기준도 다음 청크가 들어올 때 확인한다.
+// 재시작 정보로 현재 파일 번호, 아이템 수, 바이트 수를 남기고, 바이트 위치는 파일마다 만드는 FlatFileItemWriter가 같은 컨텍스트에 남긴다.
+@Slf4j
+public class RollingFileItemWriter<T> extends ItemStreamSupport implements ItemStreamWriter<T> {
+    static final String IN_PROGRESS_SUFFIX = ".inprogress";
+    static final String COMPRESSED_SUFFIX = ".gz";
+    private static final String RESOURCE_INDEX_KEY = "resource.index";
+    private static final String CURRENT_RESOURCE_ITEM_COUNT_KEY = "resource.item.count";
+    private static final String CURRENT_RESOURCE_BYTE_COUNT_KEY = "resource.byte.count";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Path basePath;
+    private final LineAggregator<T> lineAggregator;
+    private final TaskExecutor finalizationExecutor;
+    private ResourceSuffixCreator suffixCreator = new SimpleResourceSuffixCreator();
+    private int itemCountLimitPerResource = Integer.MAX_VALUE;
+    private long byteLimitPerResource = Long.MAX_VALUE;
+    private Duration timeLimitPerResource;
+    private FlatFileHeaderCallback headerCallback;
+    private FlatFileFooterCallback footerCallback;
+    private Charset encoding = StandardCharsets.UTF_8;
+    private boolean compress;
+
+    private final List<CompletableFuture<Void>> finalizations = new ArrayList<>();
+    private int resourceIndex = 1;
+    private OpenResource current;
+
+    public RollingFileItemWriter(Path basePath, LineAggregator<T> lineAggregator, TaskExecutor finalizationExecutor) {
+        this.basePath = basePath;
+        this.lineAggregator = lineAggregator;
+        this.finalizationExecutor = finalizationExecutor;
+    }
+
+    public void setResourceSuffixCreator(ResourceSuffixCreator suffixCreator) {
+        this.suffixCreator = suffixCreator;
+    }
+
+    public void setItemCountLimitPerResource(int itemCountLimitPerResource) {
+        this.itemCountLimitPerResource = itemCountLimitPerResource;
+    }
+
+    public void setByteLimitPerResource(long byteLimitPerResource) {
+        this.byteLimitPerResource = byteLimitPerResource;
+    }
+
+    public void setTimeLimitPerResource(Duration timeLimitPerResource) {
+        this.timeLimitPerResource = timeLimitPerResource;
+    }
+
+    public void setHeaderCallback(FlatFileHeaderCallback headerCallback) {
+        this.headerCallback = headerCallback;
+    }
+
+    public void setFooterCallback(FlatFileFooterCallback footerCallback) {
+        this.footerCallback = footerCallback;
+    }
+
+    public void setEncoding(Charset encoding) {
+        this.encoding = encoding;
+    }
+
+    // true면 마무리할 때 <파일>.gz로 압축하고 원본은 지운다.
+    public void setCompress(boolean compress) {
+        this.compress = compress;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        if (!executionContext.containsKey(getExecutionContextKey(RESOURCE_INDEX_KEY))) {
+            return;
+        }
+        resourceIndex = executionContext.getInt(getExecutionContextKey(RESOURCE_INDEX_KEY));
+        finalizeLeftovers();
+
+        Path inProgress = inProgressPath(resourceIndex);
+        if (Files.exists(inProgress)) {
+            // 마지막 커밋 위치부터 이어 쓴다. 그 뒤에 쓰인 내용(푸터 포함)은 FlatFileItemWriter가 잘라낸다.
+            current = openResource(resourceIndex, executionContext);
+            current.itemCount = executionContext.getInt(getExecutionContextKey(CURRENT_RESOURCE_ITEM_COUNT_KEY), 0);
+            current.byteCount = executionContext.getLong(getExecutionContextKey(CURRENT_RESOURCE_BYTE_COUNT_KEY), 0);
+        } else if (isFinalized(resourceIndex)) {
+            // 다음 파일로 넘어간 청크가 커밋되기 전에 멈췄지만 이전 파일의 마무리는 끝난 경우
+            resourceIndex++;
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        checkFinalizations();
+        if (current != null && isFull(current)) {
+            finalizeAsync(current);
+            current = null;
+            resourceIndex++;
+        }
+        if (current == null) {
+            current = openResource(resourceIndex, new ExecutionContext());
+        }
+        current.writer.write(chunk);
+        current.itemCount += chunk.size();
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        executionContext.putInt(getExecutionContextKey(RESOURCE_INDEX_KEY), resourceIndex);
+        if (current != null) {
+            current.writer.update(executionContext);
+            executionContext.putInt(getExecutionContextKey(CURRENT_RESOURCE_ITEM_COUNT_KEY), current.itemCount);
+            executionContext.putLong(getExecutionContextKey(CURRENT_RESOURCE_BYTE_COUNT_KEY), current.byteCount);
+        }
+    }
+
+    // 마지막 파일도 마무리하고, 백그라운드 마무리가 모두 끝날 때까지 기다린다.
+    @Override
+    public void close() {
+        super.close();
+        try {
+            if (current != null) {
+                finalizeAsync(current);
+                current = null;
+            }
+            CompletableFuture.allOf(finalizations.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw new ItemStreamException("Failed to finalize rolled file", e.getCause());
+        } finally {
+            finalizations.clear();
+            resourceIndex = 1;
+        }
+    }
+
+    private boolean isFull(OpenResource resource) {
+        return resource.itemCount >= itemCountLimitPerResource
+                || resource.byteCount >= byteLimitPerResource
+                || (timeLimitPerResource != null && System.nanoTime() - resource.openedAt >= timeLimitPerResource.toNanos());
+    }
+
+    private OpenResource openResource(int index, ExecutionContext executionContext) {
+        OpenResource resource = new OpenResource(index);
+        resource.writer = new FlatFileItemWriterBuilder<T>()
+                .name(getName() + ".resource")
+                .resource(new FileSystemResource(inProgressPath(index)))
+                .encoding(encoding.name())
+                .lineSeparator(LINE_SEPARATOR)
+                // 바이트 수는 줄을 만들 때 세어 둔다. 커밋 전에 세므로 롤백되면 조금 크게 잡힐 수 있다.
+                .lineAggregator(item -> {
+                    String line = lineAggregator.aggregate(item);
+                    resource.byteCount += encodedLength(line) + LINE_SEPARATOR.length();
+                    return line;
+                })
+                .headerCallback(headerCallback)
+                .footerCallback(footerCallback)
+                .build();
+        resource.writer.open(executionContext);
+        return resource;
+    }
+
+    private void finalizeAsync(OpenResource resource) {
+        finalizations.add(CompletableFuture.runAsync(() -> finalizeResource(resource), finalizationExecutor));
+    }
+
+    // 푸터를 쓰고 닫은 뒤 디스크에 내리고, 압축한 다음 최종 이름으로 옮긴다.
+    private void finalizeResource(OpenResource resource) {
+        resource.writer.close();
+        Path inProgress = inProgressPath(resource.index);
+        try {
+            moveToFinal(inProgress, targetPath(resource.index));
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to finalize " + inProgress, e);
+        }
+        log.debug("파일 마무리 완료: {} ({}건, {}바이트)",
+                finalPath(resource.index).getFileName(), resource.itemCount, resource.byteCount);
+    }
+
+    private void moveToFinal(Path inProgress, Path target) throws IOException {
+        if (!compress) {
+            force(inProgress);
+            Files.move(inProgress, target, ATOMIC_MOVE, REPLACE_EXISTING);
+            return;
+        }
+        Path compressed = Path.of(target + COMPRESSED_SUFFIX);
+        Path compressing = Path.of(compressed + IN_PROGRESS_SUFFIX);
+        try (InputStream in = Files.newInputStream(inProgress);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressing), 64 * 1024)) {
+            in.transferTo(out);
+        }
+        force(compressing);
+        Files.move(compressing, compressed, ATOMIC_MOVE, REPLACE_EXISTING);
+        Files.delete(inProgress);
+    }
+
+    // 이전 실행이 마무리하지 못하고 남긴 앞 번호 파일들. 푸터 없이 끝났을 수 있지만 내용은 모두 커밋된 것이다.
+    private void finalizeLeftovers() {
+        for (int index = 1; index < resourceIndex; index++) {
+            Path inProgress = inProgressPath(index);
+            if (Files.exists(inProgress)) {
+                log.warn("이전 실행에서 마무리되지 않은 파일을 정리: {}", inProgress.getFileName());
+                try {
+                    moveToFinal(inProgress, targetPath(index));
+                } catch (IOException e) {
+                    throw new ItemStreamException("Failed to finalize " + inProgress, e);
+                }
+            }
+        }
+    }
+
+    // 백그라운드 마무리가 실패했으면 다음 청크에서 스텝을 실패시킨다.
+    private void checkFinalizations() {
+        for (CompletableFuture<Void> future : finalizations) {
+            if (future.isCompletedExceptionally()) {
+                try {
+                    future.join();
+                } catch (CompletionException e) {
+                    throw new ItemStreamException("Failed to finalize rolled file", e.getCause());
+                }
+            }
+        }
+        finalizations.removeIf(CompletableFuture::isDone);
+    }
+
+    private boolean isFinalized(int index) {
+        return Files.exists(targetPath(index)) || Files.exists(Path.of(targetPath(index) + COMPRESSED_SUFFIX));
+    }
+
+    private Path targetPath(int index) {
+        return Path.of(basePath + suffixCreator.getSuffix(index));
+    }
+
+    private Path finalPath(int index) {
+        return compress ? Path.of(targetPath(index) + COMPRESSED_SUFFIX) : targetPath(index);
+    }
+
+    private Path inProgressPath(int index) {
+        return Path.of(targetPath(index) + IN_PROGRESS_SUFFIX);
+    }
+
+    private static void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+    }
+
+    private long encodedLength(String line) {
+        if (encoding != StandardCharsets.UTF_8) {
+            return line.getBytes(encoding).length;
+        }
+        long length = 0;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private class OpenResource {
+        private final int index;
+        private final long openedAt = System.nanoTime();
+        private FlatFileItemWriter<T> writer;
+        private int itemCount;
+        private long byteCount;
+
+        private OpenResource(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.system.batch.filewrite;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// scp로 <host>:~/ecommerce_logs/<date>.log를 가져온다. scp가 target에 바로 쓰므로 JVM 힙을 거치지 않는다.
+public class ScpLogSource implements LogSource {
+
+    @Override
+    public void fetch(String host, String date, Path target, Duration timeout)
+            throws IOException, InterruptedException, TimeoutException {
+        Process process = new ProcessBuilder("scp", "-q", "-o", "BatchMode=yes",
+                String.format("%s:~/ecommerce_logs/%s.log", host, date), target.toString())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            // Process.waitFor()는 Java 21에서 모니터 대기라 가상 스레드가 캐리어 스레드에 고정된다. onExit()로 기다리면 그냥 파킹된다.
+            process.onExit().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new TimeoutException("scp from " + host + " did not finish within " + timeout);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to wait for scp from " + host, e.getCause());
+        } finally {
+            // 타임아웃이나 인터럽트로 빠져나온 경우 scp 프로세스가 남지 않도록 한다.
+            if (process.isAlive()) {
+                process.destroyForcibly();
+            }
+        }
+        if (process.exitValue() != 0) {
+            throw new IOException("scp from " + host + " exited with code " + process.exitValue());
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.system.batch.listener;
 
+import com.system.batch.StepGraph;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.step.tasklet.Tasklet;
@@ -12,14 +14,19 @@ import org.springframework.batch.repeat.RepeatStatus;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 
 @Slf4j
 @Configuration
 public class AdvancedSystemInfiltrationConfig {
+    private static final String INFILTRATION_PLAN_KEY = "infiltrationPlan";
+    private static final String INFILTRATION_RESULT_KEY = "infiltrationResult";
+
     private final InfiltrationPlanListener infiltrationPlanListener;
 
     public AdvancedSystemInfiltrationConfig(InfiltrationPlanListener infiltrationPlanListener) {
@@ -35,6 +42,25 @@ public class AdvancedSystemInfiltrationConfig {
                 .build();
     }
 
+    // systemInfiltrationJob의 분할 플로우 버전. 정찰과 공격은 둘 다 리스너가 넣은 infiltrationPlan만 읽으므로 동시에 돈다.
+    @Bean
+    public Job parallelSystemInfiltrationJob(
+            JobRepository jobRepository,
+            Step reconStep,
+            Step attackStep,
+            TaskExecutor splitFlowTaskExecutor
+    ) {
+        Flow flow = new StepGraph("systemInfiltrationFlow", splitFlowTaskExecutor)
+                .step(reconStep, Set.of(INFILTRATION_PLAN_KEY), Set.of())
+                .step(attackStep, Set.of(INFILTRATION_PLAN_KEY), Set.of(INFILTRATION_RESULT_KEY))
+                .build();
+        return new JobBuilder("parallelSystemInfiltrationJob", jobRepository)
+                .listener(infiltrationPlanListener)
+                .start(flow)
+                .end()
+                .build();
+    }
+
     @Bean
     public Step reconStep(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
         return new StepBuilder("reconStep", jobRepository)
@@ -0,0 +1,85 @@
+package com.system.batch.listener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.step.AbstractStep;
+import org.springframework.batch.core.step.item.BatchRetryTemplate;
+import org.springframework.batch.core.step.item.ChunkOrientedTasklet;
+import org.springframework.batch.core.step.item.FaultTolerantChunkProcessor;
+import org.springframework.batch.core.step.item.SimpleChunkProcessor;
+import org.springframework.batch.core.step.item.SimpleChunkProvider;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.beans.DirectFieldAccessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 빈으로 등록된 모든 스텝에 StepMetricsListener를 붙인다. 설정 클래스의 StepBuilder는 고치지 않아도 된다.
+// 청크 스텝의 아이템 리스너는 빌드할 때 ChunkProvider/ChunkProcessor에 들어가므로, 빌드된 ChunkOrientedTasklet에서 꺼내 등록한다.
+// 내결함성 스텝은 FaultTolerantChunkProcessor의 BatchRetryTemplate에 재시도 리스너도 붙인다.
+// 이 필드들은 Spring Batch 내부이므로, 찾지 못하면 그 스텝의 아이템/재시도 메트릭이 빠진다는 경고를 남긴다.
+// MeterRegistry 빈이 없으면 Spring Batch 기본 메트릭과 같은 Metrics.globalRegistry에 기록한다.
+// --batch.metrics.enabled=false 로 끌 수 있다.
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "batch.metrics.enabled", havingValue = "true", matchIfMissing = true)
+public class StepMetricsConfig {
+
+    @Bean
+    public static BeanPostProcessor stepMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            private StepMetricsListener listener;
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof AbstractStep step) {
+                    if (listener == null) {
+                        listener = new StepMetricsListener(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
+                    }
+                    register(step, listener);
+                }
+                return bean;
+            }
+        };
+    }
+
+    static void register(AbstractStep step, StepMetricsListener listener) {
+        step.registerStepExecutionListener(listener);
+        if (!(step instanceof TaskletStep taskletStep)) {
+            return;
+        }
+        taskletStep.registerChunkListener(listener);
+        if (!(taskletStep.getTasklet() instanceof ChunkOrientedTasklet<?> tasklet)) {
+            return;
+        }
+        SimpleChunkProvider<?> chunkProvider = field(tasklet, "chunkProvider", SimpleChunkProvider.class, step);
+        if (chunkProvider != null) {
+            chunkProvider.registerListener(listener);
+        }
+        SimpleChunkProcessor<?, ?> chunkProcessor = field(tasklet, "chunkProcessor", SimpleChunkProcessor.class, step);
+        if (chunkProcessor != null) {
+            chunkProcessor.registerListener(listener);
+        }
+        if (chunkProcessor instanceof FaultTolerantChunkProcessor<?, ?> faultTolerantProcessor) {
+            BatchRetryTemplate retryTemplate =
+                    field(faultTolerantProcessor, "batchRetryTemplate", BatchRetryTemplate.class, step);
+            if (retryTemplate != null) {
+                retryTemplate.registerListener(listener);
+            }
+        }
+    }
+
+    private static <T> T field(Object target, String name, Class<T> type, AbstractStep step) {
+        DirectFieldAccessor accessor = new DirectFieldAccessor(target);
+        Object value = accessor.isReadableProperty(name) ? accessor.getPropertyValue(name) : null;
+        if (!type.isInstance(value)) {
+            log.warn("{}의 {}.{}를 {}로 찾지 못해 이 스텝의 아이템 메트릭 일부가 기록되지 않습니다 (Spring Batch 내부 구조가 바뀌었는지 확인)",
+                    step.getName(), target.getClass().getSimpleName(), name, type.getSimpleName());
+            return null;
+        }
+        return type.cast(value);
+    }
+}
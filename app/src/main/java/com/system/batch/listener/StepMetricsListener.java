@@ -0,0 +1,292 @@
+package com.system.batch.listener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemReadListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// 모든 스텝에 붙는 Micrometer 계측 리스너. 미터는 job, step 태그로 나뉜다.
+// - batch.item.read / batch.item.process: 아이템 하나의 읽기/처리 시간 (히스토그램)
+// - batch.chunk.write: 청크 쓰기 시간, batch.chunk.duration: 청크 하나(읽기~커밋) 시간, batch.chunk.commit: 쓰기가 끝난 뒤 커밋까지 걸린 시간
+// - batch.items (phase=read|write), batch.skips, batch.errors (phase=read|process|write, 재시도된 실패 포함) 카운터
+// - batch.retries: 내결함성 스텝에서 실패 뒤 다시 시도한 횟수. 재시도 한도에 걸린 마지막 실패는 세지 않는다 (그 결과는 batch.skips나 스텝 실패로 보인다).
+// - batch.bytes (direction=read|written): ExecutionContext의 MappedLineItemReader 오프셋(*.offset)과
+//   FlatFileItemWriter 계열 위치(*.current.count) 증가량. 다른 리더/라이터는 바이트를 남기지 않으므로 잡히지 않는다.
+// - batch.step.throughput: 스텝 실행 하나의 초당 쓴 아이템 수
+// 아이템마다 하는 일은 스레드별 상태에 시각을 적고 미리 찾아 둔 Timer에 기록하는 것뿐이라 할당도 락도 없다.
+// 스텝의 미터는 청크 시작 때 그 스레드 상태에 연결된다. 청크가 끝날 때 하는 누적값 갱신만 스텝 실행 단위로 잠근다
+// (멀티스레드 스텝의 여러 청크 스레드가 같은 누적값을 읽고 고치므로).
+public class StepMetricsListener implements StepExecutionListener, ChunkListener,
+        ItemReadListener<Object>, ItemProcessListener<Object, Object>, ItemWriteListener<Object>, RetryListener {
+    private static final String OFFSET_SUFFIX = ".offset";
+    private static final String POSITION_SUFFIX = ".current.count";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, StepMeters> meters = new ConcurrentHashMap<>();
+    private final Map<Long, StepProgress> progress = new ConcurrentHashMap<>();
+    private final ThreadLocal<ThreadState> threadState = ThreadLocal.withInitial(ThreadState::new);
+
+    public StepMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        // 재시작이면 이전 실행이 남긴 값부터 센다.
+        StepProgress stepProgress = new StepProgress(metersFor(stepExecution));
+        stepProgress.skips = stepExecution.getSkipCount();
+        stepProgress.bytesRead = sumPositions(stepExecution, OFFSET_SUFFIX);
+        stepProgress.bytesWritten = sumPositions(stepExecution, POSITION_SUFFIX);
+        progress.put(stepExecution.getId(), stepProgress);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        StepProgress stepProgress = progress.remove(stepExecution.getId());
+        if (stepProgress != null) {
+            recordProgress(stepProgress, stepExecution);
+            double seconds = (System.nanoTime() - stepProgress.startedAt) / 1_000_000_000.0;
+            if (seconds > 0) {
+                stepProgress.meters.throughput.record(stepExecution.getWriteCount() / seconds);
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        ThreadState state = threadState.get();
+        StepProgress stepProgress = progress.get(context.getStepContext().getStepExecution().getId());
+        state.meters = stepProgress == null ? metersFor(context.getStepContext().getStepExecution()) : stepProgress.meters;
+        state.chunkStart = System.nanoTime();
+        state.writeEnd = 0;
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        ThreadState state = threadState.get();
+        StepMeters stepMeters = state.meters;
+        if (stepMeters == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        stepMeters.chunkDuration.record(now - state.chunkStart, TimeUnit.NANOSECONDS);
+        if (state.writeEnd != 0) {
+            stepMeters.chunkCommit.record(now - state.writeEnd, TimeUnit.NANOSECONDS);
+        }
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        StepProgress stepProgress = progress.get(stepExecution.getId());
+        if (stepProgress != null) {
+            recordProgress(stepProgress, stepExecution);
+        }
+    }
+
+    @Override
+    public void beforeRead() {
+        threadState.get().readStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterRead(Object item) {
+        ThreadState state = threadState.get();
+        if (state.meters != null) {
+            state.meters.read.record(System.nanoTime() - state.readStart, TimeUnit.NANOSECONDS);
+            state.meters.itemsRead.increment();
+        }
+    }
+
+    @Override
+    public void onReadError(Exception ex) {
+        ThreadState state = threadState.get();
+        if (state.meters != null) {
+            state.meters.readErrors.increment();
+        }
+    }
+
+    @Override
+    public void beforeProcess(Object item) {
+        threadState.get().processStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterProcess(Object item, Object result) {
+        ThreadState state = threadState.get();
+        if (state.meters != null) {
+            state.meters.process.record(System.nanoTime() - state.processStart, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onProcessError(Object item, Exception e) {
+        ThreadState state = threadState.get();
+        if (state.meters != null) {
+            state.meters.processErrors.increment();
+        }
+    }
+
+    @Override
+    public void beforeWrite(Chunk<?> items) {
+        threadState.get().writeStart = System.nanoTime();
+    }
+
+    @Override
+    public void afterWrite(Chunk<?> items) {
+        ThreadState state = threadState.get();
+        long now = System.nanoTime();
+        state.writeEnd = now;
+        if (state.meters != null) {
+            state.meters.write.record(now - state.writeStart, TimeUnit.NANOSECONDS);
+            state.meters.itemsWritten.increment(items.size());
+        }
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<?> items) {
+        ThreadState state = threadState.get();
+        if (state.meters != null) {
+            state.meters.writeErrors.increment();
+        }
+    }
+
+    // 아이템(또는 청크) 하나의 재시도가 끝났을 때 불린다. 성공했으면 실패한 횟수만큼, 한도에 걸렸으면 마지막 실패를 뺀 만큼 다시 시도한 것이다.
+    // 상태 있는 재시도는 시도마다 롤백하며 여러 번 불리므로, 성공이나 한도 초과로 끝난 때만 센다.
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        boolean exhausted = context.hasAttribute(RetryContext.EXHAUSTED);
+        if (throwable != null && !exhausted) {
+            return;
+        }
+        int retries = exhausted ? context.getRetryCount() - 1 : context.getRetryCount();
+        ThreadState state = threadState.get();
+        if (retries > 0 && state.meters != null) {
+            state.meters.retries.increment(retries);
+        }
+    }
+
+    // 청크가 커밋된 뒤 건너뛴 수와 파일 바이트 위치의 증가량을 카운터에 더한다.
+    // 여러 청크 스레드가 함께 부를 수 있으므로 읽기부터 갱신까지 스텝 실행 하나 단위로 묶는다.
+    private void recordProgress(StepProgress stepProgress, StepExecution stepExecution) {
+        synchronized (stepProgress) {
+            recordProgressLocked(stepProgress, stepExecution);
+        }
+    }
+
+    private void recordProgressLocked(StepProgress stepProgress, StepExecution stepExecution) {
+        long skips = stepExecution.getSkipCount();
+        if (skips > stepProgress.skips) {
+            stepProgress.meters.skips.increment(skips - stepProgress.skips);
+            stepProgress.skips = skips;
+        }
+
+        long bytesRead = sumPositions(stepExecution, OFFSET_SUFFIX);
+        long bytesWritten = sumPositions(stepExecution, POSITION_SUFFIX);
+        // 파일이 바뀌면 위치가 0부터 다시 시작하므로, 줄어들었으면 새 위치만큼 진행한 것으로 본다.
+        stepProgress.meters.bytesRead.increment(
+                bytesRead >= stepProgress.bytesRead ? bytesRead - stepProgress.bytesRead : bytesRead);
+        stepProgress.meters.bytesWritten.increment(
+                bytesWritten >= stepProgress.bytesWritten ? bytesWritten - stepProgress.bytesWritten : bytesWritten);
+        stepProgress.bytesRead = bytesRead;
+        stepProgress.bytesWritten = bytesWritten;
+    }
+
+    private static long sumPositions(StepExecution stepExecution, String keySuffix) {
+        long sum = 0;
+        for (Map.Entry<String, Object> entry : stepExecution.getExecutionContext().entrySet()) {
+            if (entry.getValue() instanceof Long position && entry.getKey().endsWith(keySuffix)) {
+                sum += position;
+            }
+        }
+        return sum;
+    }
+
+    private StepMeters metersFor(StepExecution stepExecution) {
+        String jobName = stepExecution.getJobExecution().getJobInstance().getJobName();
+        String stepName = stepExecution.getStepName();
+        return meters.computeIfAbsent(jobName + '/' + stepName,
+                key -> new StepMeters(meterRegistry, Tags.of("job", jobName, "step", stepName)));
+    }
+
+    private static final class StepMeters {
+        private final Timer read;
+        private final Timer process;
+        private final Timer write;
+        private final Timer chunkDuration;
+        private final Timer chunkCommit;
+        private final Counter itemsRead;
+        private final Counter itemsWritten;
+        private final Counter skips;
+        private final Counter retries;
+        private final Counter readErrors;
+        private final Counter processErrors;
+        private final Counter writeErrors;
+        private final Counter bytesRead;
+        private final Counter bytesWritten;
+        private final DistributionSummary throughput;
+
+        private StepMeters(MeterRegistry registry, Tags tags) {
+            read = latency("batch.item.read", "아이템 하나 읽기 시간", tags, registry);
+            process = latency("batch.item.process", "아이템 하나 처리 시간", tags, registry);
+            write = latency("batch.chunk.write", "청크 쓰기 시간", tags, registry);
+            chunkDuration = latency("batch.chunk.duration", "청크 하나의 읽기~커밋 시간", tags, registry);
+            chunkCommit = latency("batch.chunk.commit", "청크 쓰기 후 커밋까지 걸린 시간", tags, registry);
+            itemsRead = Counter.builder("batch.items").tags(tags).tag("phase", "read").register(registry);
+            itemsWritten = Counter.builder("batch.items").tags(tags).tag("phase", "write").register(registry);
+            skips = Counter.builder("batch.skips").tags(tags).register(registry);
+            retries = Counter.builder("batch.retries").tags(tags).register(registry);
+            readErrors = Counter.builder("batch.errors").tags(tags).tag("phase", "read").register(registry);
+            processErrors = Counter.builder("batch.errors").tags(tags).tag("phase", "process").register(registry);
+            writeErrors = Counter.builder("batch.errors").tags(tags).tag("phase", "write").register(registry);
+            bytesRead = Counter.builder("batch.bytes").tags(tags).tag("direction", "read")
+                    .baseUnit("bytes").register(registry);
+            bytesWritten = Counter.builder("batch.bytes").tags(tags).tag("direction", "written")
+                    .baseUnit("bytes").register(registry);
+            throughput = DistributionSummary.builder("batch.step.throughput").tags(tags)
+                    .baseUnit("items/s").register(registry);
+        }
+
+        private static Timer latency(String name, String description, Tags tags, MeterRegistry registry) {
+            return Timer.builder(name).description(description).tags(tags)
+                    .publishPercentileHistogram()
+                    .register(registry);
+        }
+    }
+
+    // 스텝 실행 하나의 누적값. 청크 사이의 증가량을 구하는 데 쓴다. 값은 recordProgress의 잠금 안에서만 읽고 고친다.
+    private static final class StepProgress {
+        private final StepMeters meters;
+        private final long startedAt = System.nanoTime();
+        private long skips;
+        private long bytesRead;
+        private long bytesWritten;
+
+        private StepProgress(StepMeters meters) {
+            this.meters = meters;
+        }
+    }
+
+    private static final class ThreadState {
+        private StepMeters meters;
+        private long chunkStart;
+        private long readStart;
+        private long processStart;
+        private long writeStart;
+        private long writeEnd;
+    }
+}
@@ -0,0 +1,82 @@
+package com.system.batch.partition;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+
+// 공유 디렉토리를 큐로 쓰는 채널. 같은 머신(또는 같은 파일 시스템)의 여러 JVM이 브로커 없이 요청을 주고받는다.
+// 보낼 때는 임시 파일에 쓴 뒤 *.request로 이름을 바꾸고, 받을 때는 *.claimed로 이름을 바꾸는 데 성공한 워커 하나만 가져간다.
+// 가져간 뒤 실행 전에 워커가 죽으면 그 요청은 사라지지만, 파티션이 STARTING에 남으므로 RemotePartitionHandler가 startTimeout 뒤에 다시 보낸다.
+// 다시 보낸 요청은 같은 파일 이름이라 아직 큐에 남은 요청이 있으면 그것을 덮어쓴다.
+public class DirectoryPartitionChannel implements PartitionChannel {
+    private static final String REQUEST_SUFFIX = ".request";
+    private static final String CLAIMED_SUFFIX = ".claimed";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+    private Duration pollInterval = Duration.ofMillis(100);
+
+    public DirectoryPartitionChannel(Path directory) {
+        this.directory = directory;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    @Override
+    public void send(PartitionRequest request) throws IOException {
+        Files.createDirectories(directory);
+        // 이름 순으로 가져가므로 먼저 만든 잡 실행, 앞 파티션 순으로 처리된다.
+        String name = String.format("%019d-%019d", request.jobExecutionId(), request.stepExecutionId());
+        Path temp = directory.resolve(name + TEMP_SUFFIX);
+        Files.writeString(temp, request.toLine(), StandardCharsets.UTF_8);
+        Files.move(temp, directory.resolve(name + REQUEST_SUFFIX), ATOMIC_MOVE);
+    }
+
+    @Override
+    public PartitionRequest receive(Duration timeout) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            for (Path request : pendingRequests()) {
+                Path claimed = request.resolveSibling(request.getFileName() + CLAIMED_SUFFIX);
+                try {
+                    Files.move(request, claimed, ATOMIC_MOVE);
+                } catch (NoSuchFileException e) {
+                    continue;  // 다른 워커가 먼저 가져갔다.
+                }
+                try {
+                    return PartitionRequest.parse(Files.readString(claimed, StandardCharsets.UTF_8));
+                } finally {
+                    Files.delete(claimed);
+                }
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, pollInterval.toNanos()));
+        }
+    }
+
+    private List<Path> pendingRequests() throws IOException {
+        List<Path> requests = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return requests;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + REQUEST_SUFFIX)) {
+            stream.forEach(requests::add);
+        }
+        requests.sort(null);
+        return requests;
+    }
+}
@@ -0,0 +1,61 @@
+package com.system.batch.partition;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 파일마다 최대 gridSize개의 바이트 구간으로 나눠 구간 하나당 파티션 하나를 만든다.
+// 워커의 MappedLineItemReader는 fileName 파일에서 startOffset 이상 endOffset 미만 위치에서 시작하는 줄만 읽는다.
+// 구간은 minRangeSize보다 작게 나누지 않고, 압축 파일(.gz, .zst)은 임의 위치에서 읽을 수 없으므로 통째로 한 파티션이 된다.
+// fileName 키는 MultiResourcePartitioner와 같으므로 기존 파티션 워커 스텝을 그대로 쓸 수 있다.
+public class FileRangePartitioner implements Partitioner {
+    public static final String FILE_NAME_KEY = "fileName";
+    public static final String START_OFFSET_KEY = "startOffset";
+    public static final String END_OFFSET_KEY = "endOffset";
+    private static final String PARTITION_KEY = "partition";
+
+    private Resource[] resources = new Resource[0];
+    private long minRangeSize = 1024 * 1024;
+
+    public void setResources(Resource[] resources) {
+        this.resources = resources;
+    }
+
+    public void setMinRangeSize(long minRangeSize) {
+        this.minRangeSize = minRangeSize;
+    }
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        try {
+            for (Resource resource : resources) {
+                String fileName = resource.getURL().toExternalForm();
+                long size = resource.contentLength();
+                int ranges = isCompressed(resource) ? 1
+                        : (int) Math.max(1, Math.min(gridSize, size / Math.max(1, minRangeSize)));
+                for (int i = 0; i < ranges; i++) {
+                    ExecutionContext context = new ExecutionContext();
+                    context.putString(FILE_NAME_KEY, fileName);
+                    context.putLong(START_OFFSET_KEY, size * i / ranges);
+                    // 마지막 구간은 끝을 열어 둔다. 나누고 나서 파일 뒤에 붙은 줄도 그 구간이 읽는다.
+                    context.putLong(END_OFFSET_KEY, i == ranges - 1 ? Long.MAX_VALUE : size * (i + 1) / ranges);
+                    partitions.put(PARTITION_KEY + partitions.size(), context);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to partition input files", e);
+        }
+        return partitions;
+    }
+
+    private static boolean isCompressed(Resource resource) {
+        String name = resource.getFilename();
+        return name != null && (name.endsWith(".gz") || name.endsWith(".zst"));
+    }
+}
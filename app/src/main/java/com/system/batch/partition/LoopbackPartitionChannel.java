@@ -0,0 +1,21 @@
+package com.system.batch.partition;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 같은 JVM 안의 워커 스레드에게 요청을 넘기는 채널. 브로커 없이 원격 파티셔닝 경로를 그대로 확인할 때 쓴다.
+public class LoopbackPartitionChannel implements PartitionChannel {
+    private final BlockingQueue<PartitionRequest> requests = new LinkedBlockingQueue<>();
+
+    @Override
+    public void send(PartitionRequest request) {
+        requests.add(request);
+    }
+
+    @Override
+    public PartitionRequest receive(Duration timeout) throws InterruptedException {
+        return requests.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+}
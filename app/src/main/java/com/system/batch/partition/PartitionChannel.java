@@ -0,0 +1,14 @@
+package com.system.batch.partition;
+
+import java.io.IOException;
+import java.time.Duration;
+
+// 매니저와 워커 사이의 파티션 요청 전달 통로. 요청 하나는 워커 하나만 받는다.
+// 결과는 채널로 돌아오지 않고 워커가 공유 JobRepository에 남긴 StepExecution 상태로 확인한다.
+public interface PartitionChannel {
+
+    void send(PartitionRequest request) throws IOException;
+
+    // timeout 동안 요청이 없으면 null.
+    PartitionRequest receive(Duration timeout) throws IOException, InterruptedException;
+}
@@ -0,0 +1,34 @@
+package com.system.batch.partition;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.item.ExecutionContext;
+
+// 매니저가 워커에게 보내는 파티션 하나. 워커는 두 ID로 공유 JobRepository에서 StepExecution을 찾아 stepName 스텝으로 실행한다.
+// resource와 바이트 구간은 그 StepExecution의 ExecutionContext에 든 값을 그대로 옮긴 것으로, 워커 로그와 채널 구현의 라우팅용이다.
+public record PartitionRequest(long jobExecutionId, long stepExecutionId, String stepName,
+                               String resource, long startOffset, long endOffset) {
+    private static final String SEPARATOR = "\t";
+
+    public static PartitionRequest of(StepExecution stepExecution, String stepName) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        return new PartitionRequest(stepExecution.getJobExecutionId(), stepExecution.getId(), stepName,
+                executionContext.getString(FileRangePartitioner.FILE_NAME_KEY, ""),
+                executionContext.getLong(FileRangePartitioner.START_OFFSET_KEY, 0),
+                executionContext.getLong(FileRangePartitioner.END_OFFSET_KEY, Long.MAX_VALUE));
+    }
+
+    // 프로세스 사이로 보낼 때 쓰는 한 줄 형식. 탭으로 나눈다.
+    public String toLine() {
+        return String.join(SEPARATOR, Long.toString(jobExecutionId), Long.toString(stepExecutionId), stepName,
+                resource, Long.toString(startOffset), Long.toString(endOffset));
+    }
+
+    public static PartitionRequest parse(String line) {
+        String[] fields = line.split(SEPARATOR, -1);
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Malformed partition request: " + line);
+        }
+        return new PartitionRequest(Long.parseLong(fields[0]), Long.parseLong(fields[1]), fields[2],
+                fields[3], Long.parseLong(fields[4]), Long.parseLong(fields[5]));
+    }
+}
@@ -0,0 +1,131 @@
+package com.system.batch.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadFactory;
+
+// 워커 쪽. 채널에서 요청을 받아 공유 JobRepository의 StepExecution을 이 JVM의 같은 이름 스텝으로 실행한다.
+// 상태, 카운트, 재시작 위치는 스텝이 평소처럼 JobRepository에 기록하고 매니저는 그것을 읽는다.
+// - runUntilIdle(): 워커 전용 JVM에서 메인 스레드로 돈다. idleTimeout 동안 요청이 없으면 돌아온다.
+// - 라이프사이클(autoStartup): 루프백 채널처럼 같은 JVM에서 처리할 때 concurrency개 스레드로 돈다.
+@Slf4j
+public class PartitionWorker implements SmartLifecycle {
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final PartitionChannel channel;
+    private final JobExplorer jobExplorer;
+    private final Map<String, Step> steps = new HashMap<>();
+    private ThreadFactory threadFactory = Thread::new;
+    private int concurrency = 1;
+    private boolean autoStartup;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public PartitionWorker(PartitionChannel channel, JobExplorer jobExplorer, Collection<Step> steps) {
+        this.channel = channel;
+        this.jobExplorer = jobExplorer;
+        for (Step step : steps) {
+            this.steps.put(step.getName(), step);
+        }
+    }
+
+    public void setThreadFactory(ThreadFactory threadFactory) {
+        this.threadFactory = threadFactory;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public void setAutoStartup(boolean autoStartup) {
+        this.autoStartup = autoStartup;
+    }
+
+    public void runUntilIdle(Duration idleTimeout) throws Exception {
+        log.info("파티션 워커 대기 시작 (스텝: {})", steps.keySet());
+        while (handleNext(idleTimeout)) {
+            // 다음 요청
+        }
+        log.info("{} 동안 요청이 없어 파티션 워커를 종료합니다", idleTimeout);
+    }
+
+    // 요청 하나를 받아 실행한다. timeout 동안 요청이 없으면 false.
+    public boolean handleNext(Duration timeout) throws Exception {
+        PartitionRequest request = channel.receive(timeout);
+        if (request == null) {
+            return false;
+        }
+        StepExecution stepExecution = jobExplorer.getStepExecution(request.jobExecutionId(), request.stepExecutionId());
+        if (stepExecution == null) {
+            log.warn("JobRepository에 없는 파티션 요청을 건너뜁니다: {}", request);
+            return true;
+        }
+        // 같은 요청이 두 번 오더라도 이미 시작된 파티션은 다시 돌리지 않는다.
+        if (stepExecution.getStatus() != BatchStatus.STARTING) {
+            log.warn("이미 {} 상태인 파티션 요청을 건너뜁니다: {}", stepExecution.getStatus(), request);
+            return true;
+        }
+        Step step = steps.get(request.stepName());
+        if (step == null) {
+            throw new IllegalStateException("No step named " + request.stepName() + " in this worker");
+        }
+        log.info("파티션 실행: {} [{}, {}) ({})", request.resource(), request.startOffset(),
+                request.endOffset() == Long.MAX_VALUE ? "EOF" : request.endOffset(), stepExecution.getStepName());
+        // 실패해도 AbstractStep이 상태를 FAILED로 기록하므로 매니저가 알 수 있다.
+        step.execute(stepExecution);
+        return true;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < concurrency; i++) {
+            Thread thread = threadFactory.newThread(this::pollWhileRunning);
+            threads.add(thread);
+            thread.start();
+        }
+    }
+
+    private void pollWhileRunning() {
+        while (running) {
+            try {
+                handleNext(POLL_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("파티션 요청 처리 실패", e);
+            }
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        threads.clear();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public boolean isAutoStartup() {
+        return autoStartup;
+    }
+}
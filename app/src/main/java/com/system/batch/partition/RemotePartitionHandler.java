@@ -0,0 +1,102 @@
+package com.system.batch.partition;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.partition.StepExecutionSplitter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 매니저 쪽 PartitionHandler. 파티션 StepExecution을 공유 JobRepository에 만든 뒤 요청을 채널로 보내고,
+// 워커가 남긴 상태를 JobExplorer로 pollInterval마다 확인해 모두 끝나면 돌려준다.
+// 재시작하면 StepExecutionSplitter가 끝나지 않은 파티션만 같은 ExecutionContext로 다시 만들므로 그 파티션만 다시 보낸다.
+// 요청을 가져간 워커가 실행 전에 죽으면 파티션은 STARTING에 머문다. startTimeout이 지나도록 STARTING이면 요청을 다시 보낸다.
+// 같은 파티션을 두 워커가 받아도 AbstractStep이 시작할 때 버전을 확인하며 갱신하므로 하나만 실행된다 (다른 하나는 낙관적 잠금 예외).
+// 실행 중에 죽은 워커는 STARTED로 남으므로 timeout으로만 알 수 있다.
+@Slf4j
+public class RemotePartitionHandler implements PartitionHandler {
+    private final PartitionChannel channel;
+    private final JobExplorer jobExplorer;
+    private final String workerStepName;
+    private int gridSize = 1;
+    private Duration pollInterval = Duration.ofSeconds(1);
+    private Duration startTimeout;
+    private Duration timeout;
+
+    public RemotePartitionHandler(PartitionChannel channel, JobExplorer jobExplorer, String workerStepName) {
+        this.channel = channel;
+        this.jobExplorer = jobExplorer;
+        this.workerStepName = workerStepName;
+    }
+
+    public void setGridSize(int gridSize) {
+        this.gridSize = gridSize;
+    }
+
+    public void setPollInterval(Duration pollInterval) {
+        this.pollInterval = pollInterval;
+    }
+
+    // 보낸 뒤 이 시간 동안 어떤 워커도 시작하지 않은 파티션은 다시 보낸다. 없으면 다시 보내지 않는다.
+    public void setStartTimeout(Duration startTimeout) {
+        this.startTimeout = startTimeout;
+    }
+
+    // 워커를 기다리는 최대 시간. 없으면 끝날 때까지 기다린다.
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Collection<StepExecution> handle(StepExecutionSplitter stepSplitter, StepExecution managerStepExecution)
+            throws Exception {
+        Set<StepExecution> partitions = stepSplitter.split(managerStepExecution, gridSize);
+        Map<Long, Long> sentAt = new HashMap<>();
+        for (StepExecution partition : partitions) {
+            channel.send(PartitionRequest.of(partition, workerStepName));
+            sentAt.put(partition.getId(), System.nanoTime());
+        }
+        log.info("{}개 파티션을 {} 워커에게 보냈습니다", partitions.size(), workerStepName);
+        return awaitCompletion(partitions, sentAt);
+    }
+
+    private Collection<StepExecution> awaitCompletion(Set<StepExecution> partitions, Map<Long, Long> sentAt)
+            throws Exception {
+        long deadline = timeout == null ? 0 : System.nanoTime() + timeout.toNanos();
+        List<StepExecution> finished = new ArrayList<>(partitions.size());
+        List<StepExecution> pending = new ArrayList<>(partitions);
+        while (true) {
+            for (int i = pending.size() - 1; i >= 0; i--) {
+                StepExecution partition = pending.get(i);
+                StepExecution current = jobExplorer.getStepExecution(partition.getJobExecutionId(), partition.getId());
+                if (current != null && !current.getStatus().isRunning()) {
+                    finished.add(current);
+                    pending.remove(i);
+                } else if (current != null && current.getStatus() == BatchStatus.STARTING && startTimeout != null
+                        && System.nanoTime() - sentAt.get(partition.getId()) >= startTimeout.toNanos()) {
+                    log.warn("{} 동안 시작되지 않은 파티션을 다시 보냅니다: {}", startTimeout, partition.getStepName());
+                    channel.send(PartitionRequest.of(partition, workerStepName));
+                    sentAt.put(partition.getId(), System.nanoTime());
+                }
+            }
+            if (pending.isEmpty()) {
+                return finished;
+            }
+            if (timeout != null && System.nanoTime() - deadline >= 0) {
+                throw new TimeoutException(pending.size() + " of " + partitions.size()
+                        + " partitions did not finish within " + timeout);
+            }
+            TimeUnit.NANOSECONDS.sleep(pollInterval.toNanos());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.system.batch.partition;
+
+import com.system.batch.BatchThreads;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+// 원격 파티셔닝의 채널과 워커 설정. 매니저와 워커는 같은 JobRepository DB를 써야 한다.
+// - 기본(루프백): 요청이 같은 JVM의 워커 스레드로 간다. 별도 설정 없이 원격 경로 전체를 돌려 볼 수 있다.
+// - 여러 JVM: 모든 JVM에 같은 --batch.partition.channel-directory=<디렉토리>와 공유 DB
+//   (예: --spring.datasource.url=jdbc:h2:file:/tmp/batch;AUTO_SERVER=TRUE)를 주고,
+//   워커 JVM은 --batch.partition.role=worker --spring.batch.job.enabled=false로 띄운다.
+//   워커는 batch.partition.worker-idle-timeout(기본 60초) 동안 요청이 없으면 끝난다.
+@Configuration
+public class RemotePartitioningConfig {
+    private static final int LOOPBACK_WORKERS = 4;
+
+    @Bean
+    public PartitionChannel partitionChannel(@Value("${batch.partition.channel-directory:}") String channelDirectory) {
+        if (StringUtils.hasText(channelDirectory)) {
+            return new DirectoryPartitionChannel(Path.of(channelDirectory));
+        }
+        return new LoopbackPartitionChannel();
+    }
+
+    @Bean
+    public PartitionWorker partitionWorker(
+            PartitionChannel partitionChannel,
+            JobExplorer jobExplorer,
+            List<Step> steps,
+            BatchThreads batchThreads
+    ) {
+        PartitionWorker worker = new PartitionWorker(partitionChannel, jobExplorer, steps);
+        worker.setThreadFactory(batchThreads.threadFactory("partition-worker-"));
+        worker.setConcurrency(LOOPBACK_WORKERS);
+        worker.setAutoStartup(partitionChannel instanceof LoopbackPartitionChannel);
+        return worker;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "batch.partition.role", havingValue = "worker")
+    public ApplicationRunner partitionWorkerRunner(
+            PartitionWorker partitionWorker,
+            @Value("${batch.partition.worker-idle-timeout:60s}") Duration idleTimeout
+    ) {
+        return args -> partitionWorker.runUntilIdle(idleTimeout);
+    }
+}
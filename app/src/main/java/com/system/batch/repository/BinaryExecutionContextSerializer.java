@@ -0,0 +1,221 @@
+package com.system.batch.repository;
+
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// ExecutionContext를 태그 + 가변 길이 정수로 된 이진 형식으로 저장한다.
+// 문자열, 숫자, boolean과 String 키 HashMap/LinkedHashMap, ArrayList는 직접 인코딩하고, 그 외의 값만 Java 직렬화로 넘긴다.
+// JdbcExecutionContextDao는 결과를 문자열 컬럼에 넣으므로 "~1" 접두사(버전 1) 뒤에 Base64로 붙여 쓴다.
+// 읽을 때 접두사가 없으면 예전에 저장된 컨텍스트로 보고, '{'로 시작하면 Jackson JSON, 아니면 기본(Java 직렬화) 형식으로 읽는다.
+public class BinaryExecutionContextSerializer implements ExecutionContextSerializer {
+    private static final byte PREFIX = '~';
+    private static final byte VERSION = '1';
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int INT = 2;
+    private static final int LONG = 3;
+    private static final int DOUBLE = 4;
+    private static final int TRUE = 5;
+    private static final int FALSE = 6;
+    private static final int HASH_MAP = 7;
+    private static final int LINKED_HASH_MAP = 8;
+    private static final int ARRAY_LIST = 9;
+    private static final int SERIALIZED = 10;
+
+    private final ExecutionContextSerializer jsonSerializer = new Jackson2ExecutionContextStringSerializer();
+    private final ExecutionContextSerializer defaultSerializer = new DefaultExecutionContextSerializer();
+
+    @Override
+    public void serialize(Map<String, Object> context, OutputStream out) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + context.size() * 32);
+        DataOutputStream data = new DataOutputStream(bytes);
+        writeMap(data, context);
+        data.flush();
+
+        out.write(PREFIX);
+        out.write(VERSION);
+        out.write(Base64.getEncoder().encode(bytes.toByteArray()));
+    }
+
+    @Override
+    public Map<String, Object> deserialize(InputStream in) throws IOException {
+        byte[] stored = in.readAllBytes();
+        if (stored.length >= 2 && stored[0] == PREFIX) {
+            if (stored[1] != VERSION) {
+                throw new IOException("Unsupported execution context format version: " + (char) stored[1]);
+            }
+            byte[] decoded = Base64.getDecoder().decode(Arrays.copyOfRange(stored, 2, stored.length));
+            DataInputStream data = new DataInputStream(new ByteArrayInputStream(decoded));
+            return readMap(data, new HashMap<>());
+        }
+        // 이 직렬화기를 쓰기 전에 저장된 컨텍스트
+        if (stored.length > 0 && stored[0] == '{') {
+            return jsonSerializer.deserialize(new ByteArrayInputStream(stored));
+        }
+        return defaultSerializer.deserialize(new ByteArrayInputStream(stored));
+    }
+
+    private void writeMap(DataOutputStream out, Map<?, ?> map) throws IOException {
+        writeVarLong(out, map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            writeString(out, (String) entry.getKey());
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    private void writeValue(DataOutputStream out, Object value) throws IOException {
+        // ExecutionContext 자체에는 null이 들어가지 않지만, 안에 든 Map/List에는 있을 수 있다.
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(out, string);
+        } else if (value instanceof Integer number) {
+            out.writeByte(INT);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Long number) {
+            out.writeByte(LONG);
+            writeVarLong(out, zigZag(number));
+        } else if (value instanceof Double number) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(number);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(bool ? TRUE : FALSE);
+        } else if ((value.getClass() == HashMap.class || value.getClass() == LinkedHashMap.class)
+                && hasStringKeys((Map<?, ?>) value)) {
+            out.writeByte(value.getClass() == HashMap.class ? HASH_MAP : LINKED_HASH_MAP);
+            writeMap(out, (Map<?, ?>) value);
+        } else if (value.getClass() == ArrayList.class) {
+            List<?> list = (List<?>) value;
+            out.writeByte(ARRAY_LIST);
+            writeVarLong(out, list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Serializable) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+                objectOut.writeObject(value);
+            }
+            out.writeByte(SERIALIZED);
+            writeVarLong(out, bytes.size());
+            bytes.writeTo(out);
+        } else {
+            throw new IllegalArgumentException("Value is not serializable: " + value);
+        }
+    }
+
+    private Map<String, Object> readMap(DataInputStream in, Map<String, Object> map) throws IOException {
+        int size = (int) readVarLong(in);
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            map.put(key, readValue(in));
+        }
+        return map;
+    }
+
+    private Object readValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        return switch (tag) {
+            case STRING -> readString(in);
+            case NULL -> null;
+            case INT -> Integer.valueOf((int) unZigZag(readVarLong(in)));
+            case LONG -> Long.valueOf(unZigZag(readVarLong(in)));
+            case DOUBLE -> Double.valueOf(in.readDouble());
+            case TRUE -> Boolean.TRUE;
+            case FALSE -> Boolean.FALSE;
+            case HASH_MAP -> readMap(in, new HashMap<>());
+            case LINKED_HASH_MAP -> readMap(in, new LinkedHashMap<>());
+            case ARRAY_LIST -> {
+                int size = (int) readVarLong(in);
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(in));
+                }
+                yield list;
+            }
+            case SERIALIZED -> {
+                byte[] bytes = new byte[(int) readVarLong(in)];
+                in.readFully(bytes);
+                try (ObjectInputStream objectIn = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                    yield objectIn.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Failed to deserialize execution context value", e);
+                }
+            }
+            default -> throw new IOException("Unknown execution context value tag: " + tag);
+        };
+    }
+
+    private static boolean hasStringKeys(Map<?, ?> map) {
+        for (Object key : map.keySet()) {
+            if (!(key instanceof String)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // 7비트씩 끊어 쓰는 가변 길이 정수. 리더 오프셋이나 카운트처럼 작은 값은 1~4바이트로 끝난다.
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new EOFException("Malformed variable-length integer in execution context");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,192 @@
+package com.system.batch.repository;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// JobRepository 앞에 붙여 청크 커밋마다 일어나는 메타데이터 쓰기를 줄인다.
+// - 실행 중인 스텝의 update(StepExecution)는 maxSkippedUpdates번 또는 maxDelay 동안 모았다가 한 번만 DB에 쓴다.
+//   종료 상태(COMPLETED, FAILED 등)로의 갱신은 항상 바로 쓴다.
+// - updateExecutionContext()는 마지막으로 커밋된 내용과 같으면 건너뛴다.
+//   값 비교는 불변 타입(문자열, 숫자 등)만 믿고, 그 외의 값(Map 등)이 들어 있으면 항상 쓴다.
+// 재시작 위치는 ExecutionContext에만 있고 그 쓰기는 바뀔 때마다 청크 트랜잭션 안에서 일어나므로,
+// 프로세스가 강제 종료되어도 재시작은 기본 저장소와 같은 위치에서 시작한다. 늦어지는 것은 스텝 카운트와 중지 요청 감지뿐이다.
+public class CoalescingJobRepositoryInterceptor implements MethodInterceptor {
+    private static final Set<Class<?>> IMMUTABLE_TYPES = Set.of(String.class, Long.class, Integer.class,
+            Short.class, Byte.class, Double.class, Float.class, Boolean.class, Character.class,
+            BigDecimal.class, BigInteger.class);
+
+    private final int maxSkippedUpdates;
+    private final long maxDelayNanos;
+    private final Map<Long, StepUpdates> stepUpdates = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Object>> stepContexts = new ConcurrentHashMap<>();
+    private final Map<Long, Map<String, Object>> jobContexts = new ConcurrentHashMap<>();
+
+    public CoalescingJobRepositoryInterceptor(int maxSkippedUpdates, Duration maxDelay) {
+        this.maxSkippedUpdates = maxSkippedUpdates;
+        this.maxDelayNanos = maxDelay.toNanos();
+    }
+
+    public static JobRepository decorate(JobRepository target, int maxSkippedUpdates, Duration maxDelay) {
+        ProxyFactory proxyFactory = new ProxyFactory();
+        proxyFactory.setTarget(target);
+        proxyFactory.addInterface(JobRepository.class);
+        proxyFactory.addAdvice(new CoalescingJobRepositoryInterceptor(maxSkippedUpdates, maxDelay));
+        return (JobRepository) proxyFactory.getProxy();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object[] args = invocation.getArguments();
+        Object argument = args.length == 1 ? args[0] : null;
+        switch (invocation.getMethod().getName()) {
+            case "update" -> {
+                if (argument instanceof StepExecution stepExecution) {
+                    return updateStepExecution(invocation, stepExecution);
+                }
+                if (argument instanceof JobExecution jobExecution && !jobExecution.isRunning()) {
+                    jobContexts.remove(jobExecution.getId());
+                }
+            }
+            case "updateExecutionContext" -> {
+                if (argument instanceof StepExecution stepExecution) {
+                    return updateContext(invocation, stepContexts, stepExecution.getId(),
+                            stepExecution.getExecutionContext(), isRunning(stepExecution));
+                }
+                if (argument instanceof JobExecution jobExecution) {
+                    return updateContext(invocation, jobContexts, jobExecution.getId(),
+                            jobExecution.getExecutionContext(), jobExecution.isRunning());
+                }
+            }
+            case "add" -> {
+                if (argument instanceof StepExecution stepExecution) {
+                    Object result = invocation.proceed();
+                    rememberAfterCommit(stepContexts, stepExecution.getId(), stepExecution.getExecutionContext());
+                    return result;
+                }
+            }
+            case "addAll" -> {
+                if (argument instanceof Collection<?> stepExecutions) {
+                    Object result = invocation.proceed();
+                    for (Object element : stepExecutions) {
+                        if (element instanceof StepExecution stepExecution) {
+                            rememberAfterCommit(stepContexts, stepExecution.getId(), stepExecution.getExecutionContext());
+                        }
+                    }
+                    return result;
+                }
+            }
+            default -> {
+            }
+        }
+        return invocation.proceed();
+    }
+
+    private Object updateStepExecution(MethodInvocation invocation, StepExecution stepExecution) throws Throwable {
+        Long id = stepExecution.getId();
+        if (!isRunning(stepExecution)) {
+            stepUpdates.remove(id);
+            stepContexts.remove(id);
+            return invocation.proceed();
+        }
+
+        StepUpdates updates = stepUpdates.computeIfAbsent(id, key -> new StepUpdates());
+        long now = System.nanoTime();
+        // 처음 한 번(STARTED 기록)은 항상 쓰고, 이후에는 횟수나 시간 한도에 닿았을 때만 쓴다.
+        if (updates.written && updates.skipped < maxSkippedUpdates && now - updates.lastWrite < maxDelayNanos) {
+            updates.skipped++;
+            return null;
+        }
+        Object result = invocation.proceed();
+        updates.written = true;
+        updates.skipped = 0;
+        updates.lastWrite = now;
+        return result;
+    }
+
+    private Object updateContext(MethodInvocation invocation, Map<Long, Map<String, Object>> snapshots, Long id,
+                                 ExecutionContext executionContext, boolean running) throws Throwable {
+        if (running && sameAs(executionContext, snapshots.get(id))) {
+            return null;
+        }
+        Object result = invocation.proceed();
+        if (running) {
+            rememberAfterCommit(snapshots, id, executionContext);
+        } else {
+            snapshots.remove(id);
+        }
+        return result;
+    }
+
+    // 청크 트랜잭션이 롤백되면 DB에는 이전 내용이 남으므로, 비교 기준은 커밋된 뒤에만 바꾼다.
+    private void rememberAfterCommit(Map<Long, Map<String, Object>> snapshots, Long id,
+                                     ExecutionContext executionContext) {
+        Map<String, Object> snapshot = snapshot(executionContext);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            snapshots.put(id, snapshot);
+            return;
+        }
+        snapshots.remove(id);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    snapshots.put(id, snapshot);
+                }
+            }
+        });
+    }
+
+    private static Map<String, Object> snapshot(ExecutionContext executionContext) {
+        Map<String, Object> snapshot = new HashMap<>(executionContext.size() * 2);
+        for (Map.Entry<String, Object> entry : executionContext.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue());
+        }
+        return snapshot;
+    }
+
+    private static boolean sameAs(ExecutionContext executionContext, Map<String, Object> snapshot) {
+        if (snapshot == null || snapshot.size() != executionContext.size()) {
+            return false;
+        }
+        for (Map.Entry<String, Object> entry : executionContext.entrySet()) {
+            Object value = entry.getValue();
+            if (!isImmutable(value) || !value.equals(snapshot.get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value != null && (IMMUTABLE_TYPES.contains(value.getClass()) || value instanceof Enum<?>);
+    }
+
+    private static boolean isRunning(StepExecution stepExecution) {
+        BatchStatus status = stepExecution.getStatus();
+        return status == BatchStatus.STARTING || status == BatchStatus.STARTED;
+    }
+
+    // 스텝 실행 하나는 한 스레드에서만 갱신되므로 필드에 따로 동기화를 두지 않는다.
+    private static class StepUpdates {
+        private boolean written;
+        private int skipped;
+        private long lastWrite;
+    }
+}
@@ -0,0 +1,18 @@
+package com.system.batch.repository;
+
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// 모든 잡의 ExecutionContext 저장 형식을 정한다. 저장소 모드(JobRepositoryModeConfig)와는 따로 움직인다.
+// Spring Boot가 JobRepository/JobExplorer를 만들 때 이 빈을 쓰므로, 빼면 기본 Jackson JSON 형식으로 돌아간다.
+// 이 직렬화기는 예전(Jackson/기본) 형식도 읽으므로 켜는 것은 재시작에 안전하다. 반대로 빼면 이 형식으로 저장된
+// 컨텍스트를 기본 직렬화기가 읽지 못하므로, 실패한 잡을 재시작하기 전에는 빼지 않는다.
+@Configuration
+public class ExecutionContextSerializerConfig {
+
+    @Bean
+    public ExecutionContextSerializer executionContextSerializer() {
+        return new BinaryExecutionContextSerializer();
+    }
+}
@@ -0,0 +1,32 @@
+package com.system.batch.repository;
+
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// --batch.repository.mode=coalescing 으로 실행하면 H2 JobRepository를 CoalescingJobRepositoryInterceptor로 감싼다.
+// 값을 주지 않으면 Spring Boot가 만든 기본 JDBC 저장소를 그대로 쓴다.
+@Configuration
+public class JobRepositoryModeConfig {
+    private static final int MAX_SKIPPED_STEP_UPDATES = 50;
+    private static final Duration MAX_STEP_UPDATE_DELAY = Duration.ofSeconds(1);
+
+    @Bean
+    @ConditionalOnProperty(name = "batch.repository.mode", havingValue = "coalescing")
+    public static BeanPostProcessor coalescingJobRepositoryPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof JobRepository jobRepository) {
+                    return CoalescingJobRepositoryInterceptor.decorate(
+                            jobRepository, MAX_SKIPPED_STEP_UPDATES, MAX_STEP_UPDATE_DELAY);
+                }
+                return bean;
+            }
+        };
+    }
+}
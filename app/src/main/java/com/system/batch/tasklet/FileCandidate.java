@@ -0,0 +1,24 @@
+package com.system.batch.tasklet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+// 정리 대상 후보 파일과 읽어 둔 속성. 파일이 이미 없으면 attributes는 null이다.
+public record FileCandidate(Path path, BasicFileAttributes attributes) {
+
+    // 인덱스 파일처럼 경로만 있을 때 속성을 새로 읽는다.
+    public static FileCandidate of(Path path) {
+        try {
+            return new FileCandidate(path, Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS));
+        } catch (NoSuchFileException e) {
+            return new FileCandidate(path, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.system.batch.tasklet;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamSupport;
+
+import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+// root 아래의 파일을 하나씩 속성과 함께 읽는다 (디렉토리는 내보내지 않고, recursive면 그 안으로 들어간다).
+// 디렉토리 안은 이름 순으로, 하위 디렉토리는 만나는 자리에서 깊이 우선으로 훑으므로 순서가 파일 시스템과 상관없이 늘 같다.
+// 디렉토리마다 커서(마지막으로 넘긴 이름)보다 큰 이름 중 가장 작은 windowSize개만 들고 있고, 다 쓰면 디렉토리를 다시 훑어 채운다.
+// 그래서 메모리는 깊이 x windowSize로 묶이고, 항목이 windowSize보다 많은 디렉토리는 그 배수만큼 이름을 다시 훑는다 (stat은 하지 않는다).
+// 체크포인트는 마지막으로 넘긴 항목의 root 기준 경로(cursor) 하나다. 그 앞의 파일은 지워졌든 필터에 걸려 남았든 모두 처리된 것이다.
+// 재시작하면 경로의 각 단계를 커서로 삼아 그보다 큰 이름부터 이어 가므로, 처리한 파일을 다시 읽거나 처리 전 파일을 건너뛰지 않는다.
+// 실행 사이에 커서보다 앞 이름으로 새 파일이 생기면 이번에는 건너뛰고 다음 정리 때 지운다.
+public class FileCandidateReader extends ItemStreamSupport implements ItemStreamReader<FileCandidate> {
+    private static final String CURSOR_KEY = "cursor";
+
+    private final Path root;
+    private final boolean recursive;
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private int windowSize = 10_000;
+
+    public FileCandidateReader(Path root, boolean recursive) {
+        this.root = root;
+        this.recursive = recursive;
+    }
+
+    public void setWindowSize(int windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        frames.clear();
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        String cursor = executionContext.getString(getExecutionContextKey(CURSOR_KEY), "");
+        if (cursor.isEmpty()) {
+            frames.push(new Frame(root, null));
+            return;
+        }
+        // a/x/h3.tmp면 root는 a 다음부터, a는 x 다음부터, a/x는 h3.tmp 다음부터 읽는다.
+        // 안쪽 디렉토리가 사라졌으면 그 프레임이 비어 바깥의 다음 이름으로 넘어간다.
+        Path directory = root;
+        for (Path name : Path.of(cursor)) {
+            frames.push(new Frame(directory, name.toString()));
+            directory = directory.resolve(name);
+        }
+    }
+
+    @Override
+    public FileCandidate read() throws IOException {
+        while (!frames.isEmpty()) {
+            Frame frame = frames.peek();
+            Path path = frame.next(windowSize);
+            if (path == null) {
+                frames.pop();
+                continue;
+            }
+            BasicFileAttributes attributes;
+            try {
+                attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            if (attributes.isDirectory()) {
+                if (recursive) {
+                    frames.push(new Frame(path, null));
+                }
+                continue;
+            }
+            return new FileCandidate(path, attributes);
+        }
+        return null;
+    }
+
+    // 지금 위치를 바깥 프레임부터 커서를 이어 붙인 경로로 남긴다. 다 읽은 뒤에는 마지막 경로가 남고, 다시 열어도 그 뒤가 없다.
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        Path cursor = null;
+        for (Iterator<Frame> iterator = frames.descendingIterator(); iterator.hasNext(); ) {
+            String name = iterator.next().cursor;
+            if (name == null) {
+                break;
+            }
+            cursor = cursor == null ? Path.of(name) : cursor.resolve(name);
+        }
+        if (cursor != null) {
+            executionContext.putString(getExecutionContextKey(CURSOR_KEY), cursor.toString());
+        }
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        frames.clear();
+    }
+
+    // 디렉토리 하나의 읽기 위치. window는 cursor보다 큰 이름 중 가장 작은 것들을 이름 순으로 들고 있다.
+    private static class Frame {
+        private static final Comparator<Path> BY_NAME = Comparator.comparing(Frame::name);
+
+        private final Path directory;
+        private final Deque<Path> window = new ArrayDeque<>();
+        private String cursor;
+        private boolean exhausted;
+
+        private Frame(Path directory, String cursor) {
+            this.directory = directory;
+            this.cursor = cursor;
+        }
+
+        private Path next(int windowSize) throws IOException {
+            if (window.isEmpty() && !exhausted) {
+                fill(windowSize);
+            }
+            Path path = window.poll();
+            if (path != null) {
+                cursor = name(path);
+            }
+            return path;
+        }
+
+        // 디렉토리를 한 번 훑어 cursor보다 큰 이름 중 가장 작은 windowSize개를 고른다 (크기 windowSize의 최대 힙).
+        // 그보다 적게 나왔으면 이 디렉토리는 끝이다. 그사이 사라진 디렉토리는 빈 디렉토리로 본다.
+        private void fill(int windowSize) throws IOException {
+            PriorityQueue<Path> largestFirst = new PriorityQueue<>(BY_NAME.reversed());
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    String name = name(path);
+                    if (cursor != null && name.compareTo(cursor) <= 0) {
+                        continue;
+                    }
+                    if (largestFirst.size() < windowSize) {
+                        largestFirst.add(path);
+                    } else if (name.compareTo(name(largestFirst.peek())) < 0) {
+                        largestFirst.poll();
+                        largestFirst.add(path);
+                    }
+                }
+            } catch (NoSuchFileException | NotDirectoryException e) {
+                exhausted = true;
+                return;
+            } catch (DirectoryIteratorException e) {
+                throw e.getCause();
+            }
+            exhausted = largestFirst.size() < windowSize;
+            List<Path> sorted = new ArrayList<>(largestFirst);
+            sorted.sort(BY_NAME);
+            window.addAll(sorted);
+        }
+
+        private static String name(Path path) {
+            return path.getFileName().toString();
+        }
+    }
+}
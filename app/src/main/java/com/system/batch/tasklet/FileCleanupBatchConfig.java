@@ -1,17 +1,36 @@
 package com.system.batch.tasklet;
 
+import com.system.batch.AdaptiveChunkSizePolicy;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.file.builder.FlatFileItemReaderBuilder;
+import org.springframework.batch.item.file.builder.FlatFileItemWriterBuilder;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
+// 오래된 파일 정리를 읽기(후보 경로 순회) -> 처리(나이/크기/이름 필터) -> 쓰기(삭제) 청크 파이프라인으로 돌린다.
+// - dryRunIndex 잡 파라미터가 있으면 지우지 않고 대상 경로를 그 파일에 한 줄씩 적는다.
+// - index 잡 파라미터가 있으면 디렉토리를 훑지 않고 그 인덱스 파일의 경로를 읽어 다시 필터를 거친 뒤 지운다.
+// - recursive=true 잡 파라미터를 주면 하위 디렉토리 안의 파일도 정리한다 (디렉토리 자체는 지우지 않는다).
 @Configuration
 public class FileCleanupBatchConfig {
+    // "temp" 디렉토리에서 30일 이상 지난 파일 삭제
+    private static final String TEMP_DIRECTORY = "/path/to/temp";
+    private static final Duration MIN_AGE = Duration.ofDays(30);
+    private static final int DELETE_CONCURRENCY = 4;
+
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
 
@@ -21,22 +40,64 @@ public class FileCleanupBatchConfig {
     }
 
     @Bean
-    public Tasklet deleteOldFilesTasklet() {
-        // "temp" 디렉토리에서 30일 이상 지난 파일 삭제
-        return new DeleteOldFilesTasklet("/path/to/temp", 30);
+    public Step deleteOldFilesStep(
+            ItemStreamReader<FileCandidate> oldFileCandidateReader,
+            ItemStreamWriter<FileCandidate> oldFileWriter,
+            AdaptiveChunkSizePolicy adaptiveChunkSizePolicy
+    ) {
+        return new StepBuilder("deleteOldFilesStep", jobRepository)
+                .<FileCandidate, FileCandidate>chunk(adaptiveChunkSizePolicy, transactionManager)
+                .reader(oldFileCandidateReader)
+                .processor(oldFileFilter())
+                .writer(oldFileWriter)
+                .listener(adaptiveChunkSizePolicy)
+                .build();
     }
 
     @Bean
-    public Step deleteOldFilesStep() {
-        return new StepBuilder("deleteOldFilesStep", jobRepository)
-                .tasklet(deleteOldFilesTasklet(), transactionManager)
+    @StepScope
+    public ItemStreamReader<FileCandidate> oldFileCandidateReader(
+            @Value("#{jobParameters['index']}") String index,
+            @Value("#{jobParameters['recursive'] ?: false}") boolean recursive
+    ) {
+        if (index == null) {
+            FileCandidateReader reader = new FileCandidateReader(Path.of(TEMP_DIRECTORY), recursive);
+            reader.setName("oldFileCandidateReader");
+            return reader;
+        }
+        return new FlatFileItemReaderBuilder<FileCandidate>()
+                .name("oldFileIndexReader")
+                .resource(new FileSystemResource(index))
+                .lineMapper((line, lineNumber) -> FileCandidate.of(Path.of(line)))
+                .build();
+    }
+
+    @Bean
+    public OldFileFilter oldFileFilter() {
+        return new OldFileFilter(MIN_AGE, 0, "*");
+    }
+
+    @Bean
+    @StepScope
+    public ItemStreamWriter<FileCandidate> oldFileWriter(
+            @Value("#{jobParameters['dryRunIndex']}") String dryRunIndex
+    ) {
+        if (dryRunIndex == null) {
+            FileDeletingItemWriter writer = new FileDeletingItemWriter(DELETE_CONCURRENCY);
+            writer.setName("oldFileDeletingWriter");
+            return writer;
+        }
+        return new FlatFileItemWriterBuilder<FileCandidate>()
+                .name("oldFileIndexWriter")
+                .resource(new FileSystemResource(dryRunIndex))
+                .lineAggregator(candidate -> candidate.path().toString())
                 .build();
     }
 
     @Bean
-    public Job deleteOldFilesJob() {
+    public Job deleteOldFilesJob(Step deleteOldFilesStep) {
         return new JobBuilder("deleteOldFilesJob", jobRepository)
-                .start(deleteOldFilesStep())
+                .start(deleteOldFilesStep)
                 .build();
     }
 }
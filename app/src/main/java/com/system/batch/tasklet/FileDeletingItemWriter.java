@@ -0,0 +1,100 @@
+package com.system.batch.tasklet;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamSupport;
+import org.springframework.batch.item.ItemStreamWriter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// 청크의 파일을 concurrency개 스레드로 나눠 지운다. 이미 없는 파일은 건너뛰고, 지우지 못한 파일은 로그만 남긴다.
+// 누적 삭제 수와 회수한 바이트는 ExecutionContext에 남아 재시작 후에도 이어지고, close()에서 초당 삭제 수와 함께 로그로 남긴다.
+@Slf4j
+public class FileDeletingItemWriter extends ItemStreamSupport implements ItemStreamWriter<FileCandidate> {
+    private static final String DELETED_COUNT_KEY = "deleted.count";
+    private static final String RECLAIMED_BYTES_KEY = "reclaimed.bytes";
+
+    private final int concurrency;
+    private ExecutorService workers;
+    private long deletedCount;
+    private long reclaimedBytes;
+    private long deletedSinceOpen;
+    private long openedAt;
+
+    public FileDeletingItemWriter(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) {
+        super.open(executionContext);
+        deletedCount = executionContext.getLong(getExecutionContextKey(DELETED_COUNT_KEY), 0);
+        reclaimedBytes = executionContext.getLong(getExecutionContextKey(RECLAIMED_BYTES_KEY), 0);
+        deletedSinceOpen = 0;
+        openedAt = System.nanoTime();
+        workers = Executors.newFixedThreadPool(concurrency);
+    }
+
+    @Override
+    public void write(Chunk<? extends FileCandidate> chunk) throws Exception {
+        List<Future<Boolean>> results = new ArrayList<>(chunk.size());
+        for (FileCandidate candidate : chunk) {
+            results.add(workers.submit(() -> delete(candidate)));
+        }
+        for (int i = 0; i < results.size(); i++) {
+            boolean deleted;
+            try {
+                deleted = results.get(i).get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof Exception cause ? cause : e;
+            }
+            if (deleted) {
+                deletedCount++;
+                deletedSinceOpen++;
+                reclaimedBytes += chunk.getItems().get(i).attributes().size();
+            }
+        }
+    }
+
+    private static boolean delete(FileCandidate candidate) {
+        try {
+            Files.delete(candidate.path());
+            log.debug("🔥 파일 삭제: {}", candidate.path());
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            log.info("⚠️  파일 삭제 실패: {} ({})", candidate.path(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        super.update(executionContext);
+        executionContext.putLong(getExecutionContextKey(DELETED_COUNT_KEY), deletedCount);
+        executionContext.putLong(getExecutionContextKey(RECLAIMED_BYTES_KEY), reclaimedBytes);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        if (workers == null) {
+            return;
+        }
+        workers.shutdownNow();
+        workers = null;
+        double seconds = Math.max((System.nanoTime() - openedAt) / 1_000_000_000.0, 0.001);
+        log.info("🔥 정리 완료: 누적 {}개 파일 삭제, {} 바이트 회수 (이번 실행 초당 {}개 삭제)",
+                deletedCount, reclaimedBytes, Math.round(deletedSinceOpen / seconds));
+    }
+}
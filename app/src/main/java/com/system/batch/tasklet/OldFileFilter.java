@@ -0,0 +1,36 @@
+package com.system.batch.tasklet;
+
+import org.springframework.batch.item.ItemProcessor;
+
+import java.nio.file.FileSystems;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+
+// minAge보다 오래되고, minSize 바이트 이상이며, 파일 이름이 glob에 맞는 후보만 통과시킨다. 나머지는 null로 걸러 낸다.
+public class OldFileFilter implements ItemProcessor<FileCandidate, FileCandidate> {
+    private final long minAgeMillis;
+    private final long minSize;
+    private final PathMatcher nameMatcher;
+
+    public OldFileFilter(Duration minAge, long minSize, String glob) {
+        this.minAgeMillis = minAge.toMillis();
+        this.minSize = minSize;
+        this.nameMatcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+    }
+
+    @Override
+    public FileCandidate process(FileCandidate candidate) {
+        BasicFileAttributes attributes = candidate.attributes();
+        if (attributes == null || attributes.isDirectory()) {
+            return null;
+        }
+        if (attributes.lastModifiedTime().toMillis() >= System.currentTimeMillis() - minAgeMillis) {
+            return null;
+        }
+        if (attributes.size() < minSize || !nameMatcher.matches(candidate.path().getFileName())) {
+            return null;
+        }
+        return candidate;
+    }
+}
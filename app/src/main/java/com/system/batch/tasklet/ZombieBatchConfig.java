@@ -1,29 +1,50 @@
 package com.system.batch.tasklet;
 
+import com.system.batch.BatchThreads;
+import com.system.batch.RangeWorkTasklet;
 import org.springframework.batch.core.Job;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
-import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
+
 @Configuration
 public class ZombieBatchConfig {
+    private static final long PROCESSES_TO_KILL = 10;
+    private static final int CLEANUP_WORKERS = 4;
+    private static final int ITERATIONS_PER_COMMIT = 1000;
+    private static final Duration MAX_COMMIT_INTERVAL = Duration.ofSeconds(1);
+
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
+    private final BatchThreads batchThreads;
 
-    public ZombieBatchConfig(JobRepository jobRepository, PlatformTransactionManager transactionManager) {
+    public ZombieBatchConfig(JobRepository jobRepository, PlatformTransactionManager transactionManager,
+                             BatchThreads batchThreads) {
         this.jobRepository = jobRepository;
         this.transactionManager = transactionManager;
+        this.batchThreads = batchThreads;
+    }
+
+    // 종료 대상을 워커 수만큼 구간으로 나눠 워커마다 최대 1000개 또는 1초씩 처리하고 커밋한다.
+    @Bean
+    public RangeWorkTasklet zombieProcessCleanupTasklet() {
+        RangeWorkTasklet tasklet = new RangeWorkTasklet(PROCESSES_TO_KILL, CLEANUP_WORKERS, new ZombieProcessCleanupTasklet());
+        tasklet.setUnitsPerCommit(ITERATIONS_PER_COMMIT);
+        tasklet.setMaxDuration(MAX_COMMIT_INTERVAL);
+        return tasklet;
     }
 
     @Bean
-    public Tasklet zombieProcessCleanupTasklet() {
-        return new ZombieProcessCleanupTasklet();
+    public TaskExecutor zombieCleanupTaskExecutor() {
+        return batchThreads.taskExecutor("zombie-cleanup-", CLEANUP_WORKERS);
     }
 
     // StepBuilder의 tasklet() 메서드를 호출하면, 스텝 빌더는 태스크릿 지향 처리 방식의 Step을 생성
@@ -32,6 +53,8 @@ public class ZombieBatchConfig {
         return new StepBuilder("zombieCleanupStep", jobRepository)
 //                .tasklet(zombieProcessCleanupTasklet(), transactionManager) // Tasklet과 transactionManager 설정
                 .tasklet(zombieProcessCleanupTasklet(), new ResourcelessTransactionManager()) // 트랜잭션 매니저를 ResourcelessTransactionManager로 설정
+                .stream(zombieProcessCleanupTasklet()) // 구간 위치를 커밋 스레드에서 ExecutionContext에 쓴다
+                .taskExecutor(zombieCleanupTaskExecutor())
                 .build();
     }
 
@@ -1,26 +1,15 @@
 package com.system.batch.tasklet;
 
+import com.system.batch.RangeWorkTasklet;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.StepContribution;
-import org.springframework.batch.core.scope.context.ChunkContext;
-import org.springframework.batch.core.step.tasklet.Tasklet;
-import org.springframework.batch.repeat.RepeatStatus;
 
+// 좀비 프로세스 하나를 종료하는 작업 단위. 몇 번째까지 종료했는지는 RangeWorkTasklet이 구간별로 스텝 ExecutionContext에 남긴다.
 @Slf4j
-public class ZombieProcessCleanupTasklet implements Tasklet {
-    private final int processesToKill = 10;
-    private int killedProcesses = 0;
+public class ZombieProcessCleanupTasklet implements RangeWorkTasklet.WorkUnit {
 
     @Override
-    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
-        killedProcesses++;
-        log.info("💀 프로세스 강제 종료... ({}/{})", killedProcesses, processesToKill);
-
-        if (killedProcesses >= processesToKill) {
-            log.info("💀 시스템 안정화 완료. 모든 좀비 프로세스 제거.");
-            return RepeatStatus.FINISHED;  // 모든 프로세스 종료 후 작업 완료
-        }
-
-        return RepeatStatus.CONTINUABLE;  // 아직 종료할 프로세스가 남아있음
+    public void execute(long index, StepContribution contribution) {
+        log.info("💀 프로세스 강제 종료... (#{})", index + 1);
     }
 }
@@ -0,0 +1,64 @@
+package com.system.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchThreadsConfigTest {
+
+    // 런처 스레드가 잡을 기다리다 인터럽트되면 잡 스레드도 인터럽트되고, 런처는 정상 반환하지 않고 예외를 던진다.
+    @Test
+    void interruptedLauncherCancelsTheJobThread() throws Exception {
+        TaskExecutor jobExecutor = new BatchThreadsConfig().batchJobTaskExecutor(new BatchThreads(false));
+        CountDownLatch jobStarted = new CountDownLatch(1);
+        CountDownLatch jobInterrupted = new CountDownLatch(1);
+        AtomicReference<Throwable> launcherFailure = new AtomicReference<>();
+
+        Thread launcher = new Thread(() -> {
+            try {
+                jobExecutor.execute(() -> {
+                    jobStarted.countDown();
+                    try {
+                        Thread.sleep(Long.MAX_VALUE);
+                    } catch (InterruptedException e) {
+                        jobInterrupted.countDown();
+                    }
+                });
+            } catch (Throwable e) {
+                launcherFailure.set(e);
+            }
+        });
+        launcher.start();
+        assertTrue(jobStarted.await(10, TimeUnit.SECONDS));
+        launcher.interrupt();
+        launcher.join(10_000);
+
+        assertTrue(jobInterrupted.await(10, TimeUnit.SECONDS), "job thread was not interrupted");
+        assertInstanceOf(IllegalStateException.class, launcherFailure.get());
+        assertInstanceOf(InterruptedException.class, launcherFailure.get().getCause());
+    }
+
+    // 플랫폼 모드의 실행기는 컨테이너 없이 만든 그대로 쓸 수 있다.
+    @Test
+    void platformTaskExecutorIsReadyWithoutTheContainer() throws Exception {
+        TaskExecutor executor = new BatchThreads(false).taskExecutor("platform-", 2);
+        try {
+            CompletableFuture<String> threadName = new CompletableFuture<>();
+            executor.execute(() -> threadName.complete(Thread.currentThread().getName()));
+
+            assertTrue(threadName.get(10, TimeUnit.SECONDS).startsWith("platform-"));
+            assertEquals(2, ((ThreadPoolTaskExecutor) executor).getMaxPoolSize());
+        } finally {
+            ((ThreadPoolTaskExecutor) executor).shutdown();
+        }
+    }
+}
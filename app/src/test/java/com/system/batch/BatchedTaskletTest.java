@@ -0,0 +1,199 @@
+package com.system.batch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BatchedTaskletTest {
+    private static final String COUNT_KEY = "count";
+    private static final int TARGET = 40;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(
+            MetaDataInstanceFactory.createJobExecution("zombieProcessCleanupJob", 1L, 1L), "zombieCleanupStep", 1L);
+    private final StepContribution contribution = stepExecution.createStepContribution();
+    private final ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+    private EmbeddedDatabase database;
+
+    @AfterEach
+    void shutdownDatabase() {
+        if (database != null) {
+            database.shutdown();
+        }
+    }
+
+    @Test
+    void groupsIterationsUntilLimitOrFinished() throws Exception {
+        AtomicInteger iterations = new AtomicInteger();
+        BatchedTasklet tasklet = batched((contribution, chunkContext) ->
+                iterations.incrementAndGet() < 25 ? RepeatStatus.CONTINUABLE : RepeatStatus.FINISHED);
+        tasklet.setMaxIterations(10);
+
+        assertEquals(RepeatStatus.CONTINUABLE, tasklet.execute(contribution, chunkContext));
+        assertEquals(10, iterations.get());
+        assertEquals(RepeatStatus.CONTINUABLE, tasklet.execute(contribution, chunkContext));
+        assertEquals(RepeatStatus.FINISHED, tasklet.execute(contribution, chunkContext));
+        assertEquals(25, iterations.get());
+        assertEquals(25, meterRegistry.get("batch.tasklet.iteration")
+                .tags("job", "zombieProcessCleanupJob", "step", "zombieCleanupStep").timer().count());
+    }
+
+    @Test
+    void returnsAfterEachIterationOnceStopIsRequested() throws Exception {
+        AtomicInteger iterations = new AtomicInteger();
+        BatchedTasklet tasklet = batched((contribution, chunkContext) -> {
+            iterations.incrementAndGet();
+            return RepeatStatus.CONTINUABLE;
+        });
+        stepExecution.setTerminateOnly();
+
+        assertEquals(RepeatStatus.CONTINUABLE, tasklet.execute(contribution, chunkContext));
+        assertEquals(1, iterations.get());
+    }
+
+    // 10번씩 묶어 커밋하다 25번째 반복에서 실패한다. 20~24는 롤백되므로 저장된 count는 20이고, 재시작은 20부터 한다.
+    @Test
+    void restartResumesAfterLastCommittedBatch() throws Exception {
+        JobRepository jobRepository = jobRepository();
+        JobParameters jobParameters = new JobParametersBuilder().addString("run", "restart").toJobParameters();
+
+        List<Long> firstRun = new ArrayList<>();
+        JobExecution failed = launcher(jobRepository).run(countingJob(jobRepository, index -> {
+            if (index == 25) {
+                throw new IllegalStateException("boom");
+            }
+            firstRun.add(index);
+        }), jobParameters);
+
+        assertEquals(BatchStatus.FAILED, failed.getStatus());
+        assertEquals(20L, savedContext(jobRepository, failed).getLong(COUNT_KEY));
+
+        List<Long> secondRun = new ArrayList<>();
+        JobExecution restarted = launcher(jobRepository).run(
+                countingJob(jobRepository, index -> secondRun.add(index)), jobParameters);
+
+        assertEquals(BatchStatus.COMPLETED, restarted.getStatus());
+        assertEquals(LongStream.range(0, 25).boxed().toList(), firstRun);
+        assertEquals(LongStream.range(20, TARGET).boxed().toList(), secondRun);
+        assertEquals((long) TARGET, savedContext(jobRepository, restarted).getLong(COUNT_KEY));
+    }
+
+    // 15번째 반복에서 중지를 요청하면 그 묶음을 커밋하고 STOPPED로 끝난다. 재시작은 15부터 한다.
+    @Test
+    void stopCommitsTheCurrentBatchAndRestartContinues() throws Exception {
+        JobRepository jobRepository = jobRepository();
+        JobParameters jobParameters = new JobParametersBuilder().addString("run", "stop").toJobParameters();
+
+        List<Long> firstRun = new ArrayList<>();
+        JobExecution stopped = launcher(jobRepository).run(countingJob(jobRepository, (index, contribution) -> {
+            firstRun.add(index);
+            if (index == 14) {
+                contribution.getStepExecution().setTerminateOnly();
+            }
+        }), jobParameters);
+
+        assertEquals(BatchStatus.STOPPED, stopped.getStatus());
+        assertEquals(15L, savedContext(jobRepository, stopped).getLong(COUNT_KEY));
+
+        List<Long> secondRun = new ArrayList<>();
+        JobExecution restarted = launcher(jobRepository).run(
+                countingJob(jobRepository, index -> secondRun.add(index)), jobParameters);
+
+        assertEquals(BatchStatus.COMPLETED, restarted.getStatus());
+        assertEquals(LongStream.range(0, 15).boxed().toList(), firstRun);
+        assertEquals(LongStream.range(15, TARGET).boxed().toList(), secondRun);
+    }
+
+    private BatchedTasklet batched(Tasklet delegate) {
+        BatchedTasklet tasklet = new BatchedTasklet(delegate);
+        tasklet.setMaxIterations(1000);
+        tasklet.setMaxDuration(Duration.ofMinutes(1));
+        tasklet.setMeterRegistry(meterRegistry);
+        return tasklet;
+    }
+
+    private Job countingJob(JobRepository jobRepository, Iteration iteration) {
+        return countingJob(jobRepository, (index, contribution) -> iteration.run(index));
+    }
+
+    // 반복마다 count를 스텝 ExecutionContext에서 읽고 하나 올린다. TARGET에 닿으면 FINISHED.
+    private Job countingJob(JobRepository jobRepository, CountingIteration iteration) {
+        BatchedTasklet tasklet = batched((contribution, chunkContext) -> {
+            ExecutionContext executionContext = contribution.getStepExecution().getExecutionContext();
+            long index = executionContext.getLong(COUNT_KEY, 0);
+            iteration.run(index, contribution);
+            executionContext.putLong(COUNT_KEY, index + 1);
+            return index + 1 < TARGET ? RepeatStatus.CONTINUABLE : RepeatStatus.FINISHED;
+        });
+        tasklet.setMaxIterations(10);
+        return new JobBuilder("countingJob", jobRepository)
+                .start(new StepBuilder("countingStep", jobRepository)
+                        .tasklet(tasklet, new JdbcTransactionManager(database))
+                        .build())
+                .build();
+    }
+
+    private JobRepository jobRepository() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/org/springframework/batch/core/schema-h2.sql")
+                .build();
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(database);
+        factory.setTransactionManager(new JdbcTransactionManager(database));
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private static TaskExecutorJobLauncher launcher(JobRepository jobRepository) throws Exception {
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
+    }
+
+    private static ExecutionContext savedContext(JobRepository jobRepository, JobExecution jobExecution) {
+        return jobRepository.getLastStepExecution(jobExecution.getJobInstance(), "countingStep").getExecutionContext();
+    }
+
+    @FunctionalInterface
+    private interface Iteration {
+        void run(long index);
+    }
+
+    @FunctionalInterface
+    private interface CountingIteration {
+        void run(long index, StepContribution contribution);
+    }
+}
@@ -4,11 +4,13 @@
 package com.system.batch;
 
 import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class KillBatchSystemApplicationTest {
-    @Test void appHasAGreeting() {
-        KillBatchSystemApplication classUnderTest = new KillBatchSystemApplication();
-        assertNotNull(classUnderTest.getGreeting(), "app should have a greeting");
+    @Test void appIsASpringBootApplication() {
+        assertNotNull(KillBatchSystemApplication.class.getAnnotation(SpringBootApplication.class),
+                "app should be a Spring Boot application");
     }
 }
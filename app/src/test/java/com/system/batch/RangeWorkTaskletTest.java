@@ -0,0 +1,236 @@
+package com.system.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.builder.TaskletStepBuilder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RangeWorkTaskletTest {
+
+    @Test
+    void workersProcessEveryUnitExactlyOnce() throws Exception {
+        int target = 10_000;
+        AtomicIntegerArray seen = new AtomicIntegerArray(target);
+        RangeWorkTasklet tasklet = new RangeWorkTasklet(target, 4, (index, contribution) -> seen.incrementAndGet((int) index));
+        tasklet.setUnitsPerCommit(100);
+        StepExecution stepExecution = stepExecution(new ExecutionContext());
+        tasklet.beforeStep(stepExecution);
+        tasklet.open(stepExecution.getExecutionContext());
+
+        ExecutorService workers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(workers.submit(() -> {
+                    while (run(tasklet, stepExecution) == RepeatStatus.CONTINUABLE) {
+                        // 다음 묶음
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+
+        for (int i = 0; i < target; i++) {
+            assertEquals(1, seen.get(i), "unit " + i);
+        }
+        tasklet.update(stepExecution.getExecutionContext());
+        assertEquals(target, stepExecution.getExecutionContext().getLong(RangeWorkTasklet.COMPLETED_KEY));
+    }
+
+    @Test
+    void restartResumesAfterLastCommittedBatch() throws Exception {
+        EmbeddedDatabase database = database();
+        try {
+            JdbcTransactionManager transactionManager = new JdbcTransactionManager(database);
+            JobRepository jobRepository = jobRepository(database, transactionManager);
+            TaskExecutorJobLauncher jobLauncher = jobLauncher(jobRepository);
+            JobParameters jobParameters = new JobParametersBuilder().addString("run", "1").toJobParameters();
+
+            // 25번에서 죽는 순간 DB에 저장돼 있던 컨텍스트를 본다. 프로세스가 여기서 죽었다면 재시작은 이 값에서 시작한다.
+            AtomicReference<ExecutionContext> savedAtFailure = new AtomicReference<>();
+            JobExecution failed = jobLauncher.run(rangeJob(jobRepository, transactionManager, null, (index, contribution) -> {
+                if (index == 25) {
+                    savedAtFailure.set(jobRepository.getLastStepExecution(
+                            contribution.getStepExecution().getJobExecution().getJobInstance(), "rangeStep")
+                            .getExecutionContext());
+                    throw new IllegalStateException("boom");
+                }
+            }), jobParameters);
+            assertEquals(BatchStatus.FAILED, failed.getStatus());
+            // 0~9, 10~19 두 묶음이 커밋됐으므로 저장된 위치는 20이다.
+            assertEquals(20L, savedAtFailure.get().getLong("range.0.next"));
+            assertEquals(20L, savedAtFailure.get().getLong(RangeWorkTasklet.COMPLETED_KEY));
+
+            List<Long> processed = new ArrayList<>();
+            JobExecution restarted = jobLauncher.run(
+                    rangeJob(jobRepository, transactionManager, null, (index, contribution) -> processed.add(index)),
+                    jobParameters);
+
+            assertEquals(BatchStatus.COMPLETED, restarted.getStatus());
+            // 20~29 묶음은 롤백됐으므로 20부터 다시 한다.
+            assertEquals(80, processed.size());
+            assertEquals(20L, processed.get(0));
+            ExecutionContext saved = jobRepository.getLastStepExecution(restarted.getJobInstance(), "rangeStep")
+                    .getExecutionContext();
+            assertEquals(100, saved.getLong(RangeWorkTasklet.COMPLETED_KEY));
+            assertThrows(IllegalStateException.class,
+                    () -> new RangeWorkTasklet(200, 2, (index, contribution) -> {}).beforeStep(stepExecution(saved)));
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    // 네 스레드가 구간 하나씩 처리하다 0번 구간이 25번에서 롤백된다. 다른 스레드는 그사이에도 커밋하므로
+    // 저장된 컨텍스트의 구간 위치는 저마다 그 구간의 마지막 커밋이어야 하고, 롤백된 위치가 섞이면 안 된다.
+    @Test
+    void multiThreadedStepSavesOnlyCommittedRangePositions() throws Exception {
+        int target = 400;
+        int ranges = 4;
+        EmbeddedDatabase database = database();
+        try {
+            JdbcTransactionManager transactionManager = new JdbcTransactionManager(database);
+            JobRepository jobRepository = jobRepository(database, transactionManager);
+            TaskExecutorJobLauncher jobLauncher = jobLauncher(jobRepository);
+            JobParameters jobParameters = new JobParametersBuilder().addString("run", "threads").toJobParameters();
+            SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("range-");
+            taskExecutor.setConcurrencyLimit(ranges);
+
+            Set<Long> firstRun = ConcurrentHashMap.newKeySet();
+            JobExecution failed = jobLauncher.run(rangeJob(jobRepository, transactionManager, taskExecutor,
+                    (index, contribution) -> {
+                        LockSupport.parkNanos(200_000);
+                        if (index == 25) {
+                            throw new IllegalStateException("boom");
+                        }
+                        firstRun.add(index);
+                    }, target, ranges), jobParameters);
+            assertEquals(BatchStatus.FAILED, failed.getStatus());
+
+            ExecutionContext saved = jobRepository.getLastStepExecution(failed.getJobInstance(), "rangeStep")
+                    .getExecutionContext();
+            assertEquals(20L, saved.getLong("range.0.next"));
+            long committed = 0;
+            Set<Long> remaining = new HashSet<>();
+            for (int range = 0; range < ranges; range++) {
+                long start = (long) target * range / ranges;
+                long end = (long) target * (range + 1) / ranges;
+                long next = saved.getLong("range." + range + ".next");
+                for (long index = start; index < next; index++) {
+                    assertTrue(firstRun.contains(index), "saved past unprocessed unit " + index);
+                }
+                for (long index = next; index < end; index++) {
+                    remaining.add(index);
+                }
+                committed += next - start;
+            }
+            assertEquals(committed, saved.getLong(RangeWorkTasklet.COMPLETED_KEY));
+
+            List<Long> secondRun = Collections.synchronizedList(new ArrayList<>());
+            JobExecution restarted = jobLauncher.run(rangeJob(jobRepository, transactionManager, taskExecutor,
+                    (index, contribution) -> secondRun.add(index), target, ranges), jobParameters);
+
+            assertEquals(BatchStatus.COMPLETED, restarted.getStatus());
+            assertEquals(remaining.size(), secondRun.size());
+            assertEquals(remaining, new HashSet<>(secondRun));
+        } finally {
+            database.shutdown();
+        }
+    }
+
+    private static Job rangeJob(JobRepository jobRepository, JdbcTransactionManager transactionManager,
+                                TaskExecutor taskExecutor, RangeWorkTasklet.WorkUnit workUnit) {
+        return rangeJob(jobRepository, transactionManager, taskExecutor, workUnit, 100, 2);
+    }
+
+    private static Job rangeJob(JobRepository jobRepository, JdbcTransactionManager transactionManager,
+                                TaskExecutor taskExecutor, RangeWorkTasklet.WorkUnit workUnit, int target, int ranges) {
+        RangeWorkTasklet tasklet = new RangeWorkTasklet(target, ranges, workUnit);
+        tasklet.setUnitsPerCommit(10);
+        TaskletStepBuilder step = new StepBuilder("rangeStep", jobRepository)
+                .tasklet(tasklet, transactionManager)
+                .stream(tasklet);
+        if (taskExecutor != null) {
+            step.taskExecutor(taskExecutor);
+        }
+        return new JobBuilder("rangeJob", jobRepository)
+                .start(step.build())
+                .build();
+    }
+
+    private static EmbeddedDatabase database() {
+        return new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/org/springframework/batch/core/schema-h2.sql")
+                .build();
+    }
+
+    private static JobRepository jobRepository(EmbeddedDatabase database, JdbcTransactionManager transactionManager)
+            throws Exception {
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(database);
+        factory.setTransactionManager(transactionManager);
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private static TaskExecutorJobLauncher jobLauncher(JobRepository jobRepository) throws Exception {
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
+    }
+
+    private static StepExecution stepExecution(ExecutionContext executionContext) {
+        return MetaDataInstanceFactory.createStepExecution(executionContext);
+    }
+
+    private static RepeatStatus run(RangeWorkTasklet tasklet, StepExecution stepExecution) throws Exception {
+        StepContribution contribution = stepExecution.createStepContribution();
+        return tasklet.execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+    }
+}
@@ -0,0 +1,113 @@
+package com.system.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StepGraphTest {
+
+    @Test
+    void groupsStepsByContextDependencies() {
+        Step plan = new TaskletStep("plan");
+        Step recon = new TaskletStep("recon");
+        Step attack = new TaskletStep("attack");
+        Step report = new TaskletStep("report");
+        Step cleanup = new TaskletStep("cleanup");
+
+        StepGraph graph = new StepGraph("graph", new SimpleAsyncTaskExecutor())
+                .step(plan, Set.of("request"), Set.of("plan"))
+                .step(recon, Set.of("request"), Set.of("targetSystem"))
+                .step(attack, Set.of("plan", "targetSystem"), Set.of("result"))
+                .step(report, Set.of("result"), Set.of())
+                // 앞선 스텝이 읽는 키를 덮어쓰므로 같은 단계에서 돌 수 없다.
+                .step(cleanup, Set.of(), Set.of("request"));
+
+        assertEquals(List.of(List.of(plan, recon), List.of(attack, cleanup), List.of(report)), graph.levels());
+    }
+
+    @Test
+    void runsIndependentStepsConcurrently() throws Exception {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/org/springframework/batch/core/schema-h2.sql")
+                .build();
+        try {
+            JdbcTransactionManager transactionManager = new JdbcTransactionManager(database);
+            JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+            factory.setDataSource(database);
+            factory.setTransactionManager(transactionManager);
+            factory.afterPropertiesSet();
+            JobRepository jobRepository = factory.getObject();
+
+            // 두 스텝이 동시에 돌지 않으면 서로를 기다리다 시간 초과로 실패한다.
+            CountDownLatch bothStarted = new CountDownLatch(2);
+            Step left = new StepBuilder("left", jobRepository)
+                    .tasklet((contribution, chunkContext) -> {
+                        bothStarted.countDown();
+                        assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+                        contribution.getStepExecution().getJobExecution().getExecutionContext().putString("left", "done");
+                        return RepeatStatus.FINISHED;
+                    }, transactionManager)
+                    .build();
+            Step right = new StepBuilder("right", jobRepository)
+                    .tasklet((contribution, chunkContext) -> {
+                        bothStarted.countDown();
+                        assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+                        contribution.getStepExecution().getJobExecution().getExecutionContext().putString("right", "done");
+                        return RepeatStatus.FINISHED;
+                    }, transactionManager)
+                    .build();
+            Step join = new StepBuilder("join", jobRepository)
+                    .tasklet((contribution, chunkContext) -> {
+                        var jobContext = contribution.getStepExecution().getJobExecution().getExecutionContext();
+                        jobContext.putString("joined", jobContext.getString("left") + "+" + jobContext.getString("right"));
+                        return RepeatStatus.FINISHED;
+                    }, transactionManager)
+                    .build();
+
+            Job job = new JobBuilder("stepGraphJob", jobRepository)
+                    .start(new StepGraph("stepGraphFlow", new SimpleAsyncTaskExecutor())
+                            .step(left, Set.of(), Set.of("left"))
+                            .step(right, Set.of(), Set.of("right"))
+                            .step(join, Set.of("left", "right"), Set.of("joined"))
+                            .build())
+                    .end()
+                    .build();
+            TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+            jobLauncher.setJobRepository(jobRepository);
+            jobLauncher.afterPropertiesSet();
+
+            JobExecution execution = jobLauncher.run(job, new JobParameters());
+
+            assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+            assertEquals("done+done", execution.getExecutionContext().getString("joined"));
+            assertEquals(3, execution.getStepExecutions().size());
+        } finally {
+            database.shutdown();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.system.batch.fileread;
+
+import com.system.batch.fileread.SystemFailureJobConfig.SystemFailure;
+import com.system.batch.filewrite.MultiResourceItemWriteJobConfig.DeathNote;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.transform.DefaultFieldSet;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.validation.BindException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DirectFieldSetMapperTest {
+
+    @Test
+    void mapsBeansLikeBeanWrapperFieldSetMapper() throws Exception {
+        BeanWrapperFieldSetMapper<SystemFailure> beanWrapperMapper = new BeanWrapperFieldSetMapper<>();
+        beanWrapperMapper.setTargetType(SystemFailure.class);
+        DirectFieldSetMapper<SystemFailure> directMapper = DirectFieldSetMapper.forType(SystemFailure.class);
+        String[] names = {"errorId", "errorDateTime", "severity", "processId", "errorMessage"};
+
+        for (String[] values : new String[][]{
+                {"ERR001", "2024-01-19 10:15:23", "CRITICAL", "1234", "SYSTEM CORE DUMP"},
+                {"ERR002", "2024-01-19 10:15:25", "FATAL", "-7", "메모리 폭발"},
+                {"ERR003", "2024-01-19 10:16:10", "WARN", "", ""}}) {
+            FieldSet fieldSet = new DefaultFieldSet(values, names);
+            assertEquals(beanWrapperMapper.mapFieldSet(fieldSet), directMapper.mapFieldSet(fieldSet));
+        }
+        assertNull(directMapper.mapFieldSet(new DefaultFieldSet(new String[]{"ERR004", ""}, new String[]{"errorId", "processId"}))
+                .getProcessId());
+    }
+
+    @Test
+    void convertsPrimitivesAndRecords() throws Exception {
+        FieldSet fieldSet = new DefaultFieldSet(new String[]{"42", "yes", "3000000000", "1.5"},
+                new String[]{"count", "active", "total", "ratio"});
+        Counters counters = DirectFieldSetMapper.forType(Counters.class).mapFieldSet(fieldSet);
+        assertEquals(42, counters.getCount());
+        assertEquals(true, counters.isActive());
+        assertEquals(3_000_000_000L, counters.getTotal());
+        assertEquals(1.5, counters.getRatio());
+
+        // 레코드 컴포넌트 순서와 다른 순서로 들어와도 이름으로 맞춘다.
+        DeathNote deathNote = DirectFieldSetMapper.forType(DeathNote.class).mapFieldSet(new DefaultFieldSet(
+                new String[]{"심장마비", "KILL-0001", "2024-01-20", "김배치"},
+                new String[]{"causeOfDeath", "victimId", "executionDate", "victimName"}));
+        assertEquals(new DeathNote("KILL-0001", "김배치", "2024-01-20", "심장마비"), deathNote);
+    }
+
+    @Test
+    void fallsBackWhenNamesDoNotMatchProperties() throws Exception {
+        BeanWrapperFieldSetMapper<SystemFailure> beanWrapperMapper = new BeanWrapperFieldSetMapper<>();
+        beanWrapperMapper.setTargetType(SystemFailure.class);
+        // BeanWrapperFieldSetMapper는 대소문자나 밑줄이 다른 이름도 근사 매칭한다.
+        FieldSet fieldSet = new DefaultFieldSet(new String[]{"ERR001", "1234"}, new String[]{"ERROR_ID", "process_id"});
+
+        assertEquals(beanWrapperMapper.mapFieldSet(fieldSet),
+                DirectFieldSetMapper.forType(SystemFailure.class).mapFieldSet(fieldSet));
+    }
+
+    // 변환할 수 없는 값은 BeanWrapperFieldSetMapper처럼 그 필드의 typeMismatch 오류를 담은 BindException이 된다.
+    @Test
+    void rejectsBadValuesWithBindExceptionLikeBeanWrapperFieldSetMapper() {
+        BeanWrapperFieldSetMapper<SystemFailure> beanWrapperMapper = new BeanWrapperFieldSetMapper<>();
+        beanWrapperMapper.setTargetType(SystemFailure.class);
+        FieldSet badNumber = new DefaultFieldSet(new String[]{"ERR001", "12x4"}, new String[]{"errorId", "processId"});
+
+        BindException expected = assertThrows(BindException.class, () -> beanWrapperMapper.mapFieldSet(badNumber));
+        BindException actual = assertThrows(BindException.class,
+                () -> DirectFieldSetMapper.forType(SystemFailure.class).mapFieldSet(badNumber));
+        assertEquals(expected.getFieldError().getField(), actual.getFieldError().getField());
+        assertEquals(expected.getFieldError().getCode(), actual.getFieldError().getCode());
+        assertEquals("12x4", actual.getFieldError().getRejectedValue());
+
+        FieldSet emptyPrimitive = new DefaultFieldSet(new String[]{"1", ""}, new String[]{"count", "active"});
+        assertEquals("active", assertThrows(BindException.class,
+                () -> DirectFieldSetMapper.forType(Counters.class).mapFieldSet(emptyPrimitive)).getFieldError().getField());
+
+        FieldSet badBoolean = new DefaultFieldSet(new String[]{"maybe"}, new String[]{"active"});
+        assertEquals("active", assertThrows(BindException.class,
+                () -> DirectFieldSetMapper.forType(Flag.class).mapFieldSet(badBoolean)).getFieldError().getField());
+    }
+
+    public record Flag(boolean active) {
+    }
+
+    public static class Counters {
+        private int count;
+        private boolean active;
+        private long total;
+        private double ratio;
+
+        public int getCount() { return count; }
+        public void setCount(int count) { this.count = count; }
+        public boolean isActive() { return active; }
+        public void setActive(boolean active) { this.active = active; }
+        public long getTotal() { return total; }
+        public void setTotal(long total) { this.total = total; }
+        public double getRatio() { return ratio; }
+        public void setRatio(double ratio) { this.ratio = ratio; }
+    }
+}
@@ -0,0 +1,70 @@
+package com.system.batch.fileread;
+
+import com.system.batch.fileread.SystemFailureJobConfig.FixedWidthSystemFailureLineMapper;
+import com.system.batch.fileread.SystemFailureJobConfig.SystemFailure;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.DefaultLineMapper;
+import org.springframework.batch.item.file.transform.FixedLengthTokenizer;
+import org.springframework.batch.item.file.transform.Range;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 열 위치를 직접 자르는 매퍼가 FixedLengthTokenizer + BeanWrapperFieldSetMapper와 같은 결과(예외 포함)를 내는지 비교한다.
+class FixedWidthSystemFailureLineMapperTest {
+    private static final List<String> LINES = List.of(
+            "ERR001  2024-01-19 10:15:23  CRITICAL  1234  SYSTEM  CRASH DETECT ",
+            "ERR002  2024-01-19 10:15:25  FATAL     1235  MEMORY  OVERFLOW FAIL",
+            "ERR003  2024-01-19 10:15:25  FATAL         7 결제  OVERFLOW FAIL    ",
+            "ERR004  2024-01-19 10:15:25  FATAL           MEMORY  OVERFLOW FAIL",
+            "ERR005  2024-01-19 10:15:25  FATAL     12a4  MEMORY  OVERFLOW FAIL",
+            "ERR006  2024-01-19 10:15:25  FATAL     -12   MEMORY  OVERFLOW FAIL",
+            "ERR007  2024-01-19 10:15:25  FATAL     1235  TOO SHORT",
+            "ERR008  2024-01-19 10:15:25  FATAL     1235  MEMORY  OVERFLOW FAIL TOO LONG",
+            "                                                                  "
+    );
+
+    @Test
+    void matchesBeanWrapperMapping() {
+        DefaultLineMapper<SystemFailure> beanWrapperMapper = beanWrapperMapper();
+        FixedWidthSystemFailureLineMapper mapper = new FixedWidthSystemFailureLineMapper(beanWrapperMapper);
+        MappedLine view = new MappedLine();
+        for (String line : LINES) {
+            Object expected = outcome(() -> beanWrapperMapper.mapLine(line, 1));
+            assertEquals(expected, outcome(() -> mapper.mapLine(line, 1)), line);
+
+            ByteBuffer bytes = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            view.set(bytes, 0, bytes.limit(), line.chars().allMatch(c -> c < 0x80));
+            assertEquals(expected, outcome(() -> mapper.mapLine(view, 1)), line);
+        }
+    }
+
+    private static DefaultLineMapper<SystemFailure> beanWrapperMapper() {
+        FixedLengthTokenizer tokenizer = new FixedLengthTokenizer();
+        tokenizer.setColumns(new Range(1, 8), new Range(9, 29), new Range(30, 39), new Range(40, 45), new Range(46, 66));
+        tokenizer.setNames("errorId", "errorDateTime", "severity", "processId", "errorMessage");
+        BeanWrapperFieldSetMapper<SystemFailure> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
+        fieldSetMapper.setTargetType(SystemFailure.class);
+        DefaultLineMapper<SystemFailure> lineMapper = new DefaultLineMapper<>();
+        lineMapper.setLineTokenizer(tokenizer);
+        lineMapper.setFieldSetMapper(fieldSetMapper);
+        return lineMapper;
+    }
+
+    private static Object outcome(ThrowingSupplier supplier) {
+        try {
+            return supplier.get();
+        } catch (Exception e) {
+            return e.getClass();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier {
+        Object get() throws Exception;
+    }
+}
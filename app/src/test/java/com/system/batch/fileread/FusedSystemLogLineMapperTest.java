@@ -0,0 +1,124 @@
+package com.system.batch.fileread;
+
+import com.system.batch.fileread.SystemLogJobConfig.FusedSystemLogLineMapper;
+import com.system.batch.fileread.SystemLogJobConfig.SystemLog;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 합친 매퍼가 기존 PatternMatchingCompositeLineMapper(DelimitedLineTokenizer + FieldSetMapper)와 같은 결과(예외 포함)를 내는지 비교한다.
+class FusedSystemLogLineMapperTest {
+    private static final int CORPUS_SIZE = 100_000;
+
+    private static final String[] TYPES = {"ERROR", "ABORT", "COLLECT", "ERRO", "ABORTED", "COLLECTOR", "INFO", "error", ""};
+
+    private static final String[] FIELD_PARTS = {
+            "CRITICAL", "2024-01-19 10:15:23", "OutOfMemory", "/var/log/app.log", "85%", "137", "KILLED",
+            "HEAP_DUMP", "12345", "결제 서버 다운", " ", "  ", "\t", "", "a b", "\"quoted\"", "\"a,b\"", "x\"y", "-"
+    };
+
+    private final LineMapper<SystemLog> reference = new SystemLogJobConfig(null, null).systemLogLineMapper();
+    private final FusedSystemLogLineMapper fused = new FusedSystemLogLineMapper(reference);
+
+    @Test
+    void matchesTokenizerAndFieldSetMapperOnRandomCorpus() {
+        Random random = new Random(20240119L);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            assertSameOutcome(randomLine(random));
+        }
+    }
+
+    // 필드 앞뒤 공백과 탭은 FieldSet.readString()처럼 잘라낸다.
+    @Test
+    void trimsFieldsLikeFieldSet() throws Exception {
+        String line = "ERROR , app\t,  OutOfMemory,2024-01-19 10:15:23 ,  결제 서버 다운  ,85% ,\t/var/log/app.log ";
+        assertSameOutcome(line);
+        assertEquals("결제 서버 다운", ((SystemLogJobConfig.ErrorLog) fused.mapLine(line, 1)).getMessage());
+    }
+
+    // 따옴표가 있으면 범용 토크나이저로 넘기므로, 따옴표 안의 쉼표는 구분자가 아니다.
+    @Test
+    void quotedLinesFallBackToTheTokenizer() throws Exception {
+        String line = "COLLECT,HEAP_DUMP,12345,2024-01-19 10:15:23,\"/dumps/a,b.hprof\"";
+        assertSameOutcome(line);
+        assertEquals("/dumps/a,b.hprof", ((SystemLogJobConfig.CollectLog) fused.mapLine(line, 1)).getDumpPath());
+    }
+
+    @Test
+    void reportsWrongTokenCountsLikeTheTokenizer() {
+        for (String line : List.of(
+                "ERROR,app,OutOfMemory,2024-01-19 10:15:23,msg,85%",
+                "ERROR,app,OutOfMemory,2024-01-19 10:15:23,msg,85%,/var/log/app.log,extra",
+                "ABORT",
+                "ABORT,app,Fatal,2024-01-19 10:15:23,msg,137,/bin/app,KILLED,",
+                "COLLECT,HEAP_DUMP,12345,2024-01-19 10:15:23",
+                "COLLECT,HEAP_DUMP,12345,2024-01-19 10:15:23,/dumps/a.hprof,\"x,y\"",
+                "INFO,not,a,system,log",
+                "")) {
+            assertSameOutcome(line);
+        }
+    }
+
+    private void assertSameOutcome(String line) {
+        Object expected = outcome(reference, line);
+        assertEquals(expected, outcome(fused, line), () -> "line=[" + line + "]");
+        assertEquals(expected, outcome(fused, mapped(line)), () -> "mapped line=[" + line + "]");
+    }
+
+    // 정상 결과는 클래스와 모든 필드(@ToString(callSuper = true))로, 예외는 클래스와 토큰 수로 비교한다.
+    private static Object outcome(LineMapper<SystemLog> mapper, String line) {
+        try {
+            SystemLog log = mapper.mapLine(line, 1);
+            return log.getClass().getSimpleName() + log;
+        } catch (IncorrectTokenCountException e) {
+            return List.of(e.getClass(), e.getExpectedCount(), e.getActualCount());
+        } catch (Exception e) {
+            return e.getClass();
+        }
+    }
+
+    private Object outcome(FusedSystemLogLineMapper mapper, MappedLine line) {
+        try {
+            SystemLog log = mapper.mapLine(line, 1);
+            return log.getClass().getSimpleName() + log;
+        } catch (IncorrectTokenCountException e) {
+            return List.of(e.getClass(), e.getExpectedCount(), e.getActualCount());
+        } catch (Exception e) {
+            return e.getClass();
+        }
+    }
+
+    private static MappedLine mapped(String line) {
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        MappedLine mappedLine = new MappedLine();
+        mappedLine.set(ByteBuffer.wrap(bytes), 0, bytes.length, bytes.length == line.length());
+        return mappedLine;
+    }
+
+    // 유형마다 맞는 필드 수 근처(하나 모자라거나 넘치는 경우 포함)로 만든다.
+    private static String randomLine(Random random) {
+        String type = TYPES[random.nextInt(TYPES.length)];
+        int fields = switch (type) {
+            case "ERROR" -> 7;
+            case "ABORT" -> 8;
+            case "COLLECT" -> 5;
+            default -> 1 + random.nextInt(9);
+        } + (random.nextInt(4) == 0 ? random.nextInt(5) - 2 : 0);
+        StringBuilder line = new StringBuilder(type);
+        for (int field = 1; field < fields; field++) {
+            line.append(',');
+            int parts = random.nextInt(3);
+            for (int part = 0; part < parts; part++) {
+                line.append(FIELD_PARTS[random.nextInt(FIELD_PARTS.length)]);
+            }
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package com.system.batch.fileread;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 같은 내용을 평문과 gzip으로 읽었을 때 줄과 재시작 위치가 같은지, 바이트 구간으로 나눠 읽어도 줄이 빠지거나 겹치지 않는지 확인한다.
+class MappedLineItemReaderTest {
+    private static final int LINE_COUNT = 50_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void gzipInputReadsSameLinesAsPlainInput() throws Exception {
+        String content = content();
+        Path plain = directory.resolve("web1.log");
+        Files.writeString(plain, content);
+        // 확장자가 아니라 매직 바이트로 판별하므로 .log 이름이어도 gzip으로 읽혀야 한다.
+        Path gzip = directory.resolve("web2.log");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(readAll(plain, new ExecutionContext()), readAll(gzip, new ExecutionContext()));
+    }
+
+    @Test
+    void gzipInputRestartsFromDecompressedOffset() throws Exception {
+        Path gzip = directory.resolve("web1.log.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(content().getBytes(StandardCharsets.UTF_8));
+        }
+
+        ExecutionContext executionContext = new ExecutionContext();
+        MappedLineItemReader<String> reader = reader(gzip);
+        reader.open(executionContext);
+        for (int i = 0; i < 30_000; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        List<String> rest = readAll(gzip, executionContext);
+        assertEquals(LINE_COUNT - 30_000, rest.size());
+        assertEquals(line(30_000), rest.get(0));
+        assertEquals(line(LINE_COUNT - 1), rest.get(rest.size() - 1));
+    }
+
+    // 평문은 저장된 바이트 오프셋으로 바로 이동하고 줄 번호도 이어서 센다.
+    @Test
+    void plainInputRestartsFromSavedByteOffset() throws Exception {
+        String content = content();
+        Path plain = directory.resolve("web1.log");
+        Files.writeString(plain, content);
+
+        ExecutionContext executionContext = new ExecutionContext();
+        MappedLineItemReader<String> reader = reader(plain);
+        reader.setWindowSize(64 * 1024);
+        reader.open(executionContext);
+        for (int i = 0; i < 30_000; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        long expectedOffset = 0;
+        for (int i = 0; i < 30_000; i++) {
+            expectedOffset += line(i).substring(line(i).indexOf(':') + 1).getBytes(StandardCharsets.UTF_8).length
+                    + (i % 3 == 0 ? 2 : 1);
+        }
+        assertEquals(expectedOffset, executionContext.getLong("reader.offset"));
+        assertEquals(30_000, executionContext.getInt("reader.line.count"));
+
+        List<String> rest = readAll(plain, executionContext);
+        assertEquals(LINE_COUNT - 30_000, rest.size());
+        assertEquals(line(30_000), rest.get(0));
+        assertEquals(line(LINE_COUNT - 1), rest.get(rest.size() - 1));
+    }
+
+    // 저장된 위치가 다른 파일의 것이면(MultiResourceItemReader의 파일 목록이 바뀐 경우) 그 오프셋을 쓰지 않고 처음부터 읽는다.
+    @Test
+    void savedOffsetOfAnotherResourceIsIgnored() throws Exception {
+        Path first = directory.resolve("web1.log");
+        Path second = directory.resolve("web2.log");
+        Files.writeString(first, content());
+        Files.writeString(second, content());
+
+        ExecutionContext executionContext = new ExecutionContext();
+        MappedLineItemReader<String> reader = reader(first);
+        reader.open(executionContext);
+        for (int i = 0; i < 10_000; i++) {
+            reader.read();
+        }
+        reader.update(executionContext);
+        reader.close();
+
+        List<String> lines = readAll(second, executionContext);
+        assertEquals(LINE_COUNT, lines.size());
+        assertEquals(line(0), lines.get(0));
+    }
+
+    @Test
+    void byteRangesTogetherReadEveryLineOnce() throws Exception {
+        Path plain = directory.resolve("web1.log");
+        Files.writeString(plain, "header\n" + content());
+        long size = Files.size(plain);
+        List<String> expected = withoutLineNumbers(readAll(plain, new ExecutionContext(), 0, Long.MAX_VALUE, 1));
+
+        // 줄 중간, 줄 바로 뒤, 멀티바이트 문자 중간에 걸리는 경계가 모두 섞이도록 고르지 않게 나눈다.
+        long[] bounds = {0, 7, 8, 1_000, 1_001, size / 3, size / 2 + 17, size - 1, Long.MAX_VALUE};
+        List<String> ranged = new ArrayList<>();
+        for (int i = 0; i < bounds.length - 1; i++) {
+            ranged.addAll(withoutLineNumbers(readAll(plain, new ExecutionContext(), bounds[i], bounds[i + 1], 1)));
+        }
+        assertEquals(expected, ranged);
+    }
+
+    private List<String> readAll(Path file, ExecutionContext executionContext) throws Exception {
+        return readAll(file, executionContext, 0, Long.MAX_VALUE, 0);
+    }
+
+    private List<String> readAll(Path file, ExecutionContext executionContext,
+                                 long startOffset, long endOffset, int linesToSkip) throws Exception {
+        MappedLineItemReader<String> reader = reader(file);
+        reader.setByteRange(startOffset, endOffset);
+        reader.setLinesToSkip(linesToSkip);
+        reader.open(executionContext);
+        List<String> lines = new ArrayList<>();
+        String item;
+        while ((item = reader.read()) != null) {
+            lines.add(item);
+        }
+        reader.close();
+        return lines;
+    }
+
+    // 구간마다 줄 번호가 새로 시작하므로 내용만 비교한다.
+    private static List<String> withoutLineNumbers(List<String> lines) {
+        List<String> contents = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            contents.add(line.substring(line.indexOf(':') + 1));
+        }
+        return contents;
+    }
+
+    private MappedLineItemReader<String> reader(Path file) {
+        MappedLineItemReader<String> reader = new MappedLineItemReader<>();
+        reader.setName("reader");
+        reader.setResource(new FileSystemResource(file));
+        reader.setLineMapper((line, lineNumber) -> lineNumber + ":" + line);
+        return reader;
+    }
+
+    private static String content() {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < LINE_COUNT; i++) {
+            content.append(line(i).substring(line(i).indexOf(':') + 1)).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        return content.toString();
+    }
+
+    private static String line(int index) {
+        return (index + 1) + ":2024-01-20T10:15:30,INFO,결제 요청 처리 " + "x".repeat(index % 200);
+    }
+}
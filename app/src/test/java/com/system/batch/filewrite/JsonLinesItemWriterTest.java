@@ -0,0 +1,110 @@
+package com.system.batch.filewrite;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonLinesItemWriterTest {
+    private final TransactionTemplate transaction = new TransactionTemplate(new ResourcelessTransactionManager());
+
+    @TempDir
+    Path directory;
+
+    // 롤백된 청크가 쓴 바이트는 잘려 나가고, 저장되는 위치와 줄 수도 마지막 커밋 기준이다.
+    @Test
+    void rollbackTruncatesTheChunkItWrote() throws Exception {
+        Path output = directory.resolve("out/processed.jsonl");
+        JsonLinesItemWriter<Entry> writer = writer(output);
+        ExecutionContext executionContext = new ExecutionContext();
+        writer.open(executionContext);
+
+        commit(writer, new Chunk<>(new Entry(1, "a"), new Entry(2, "b")));
+        long committedSize = Files.size(output);
+        transaction.executeWithoutResult(status -> {
+            write(writer, new Chunk<>(new Entry(3, "c")));
+            status.setRollbackOnly();
+        });
+        writer.update(executionContext);
+        writer.close();
+
+        assertEquals(List.of("{\"id\":1,\"message\":\"a\"}", "{\"id\":2,\"message\":\"b\"}"), Files.readAllLines(output));
+        assertEquals(committedSize, Files.size(output));
+        assertEquals(committedSize, executionContext.getLong("writer.current.count"));
+        assertEquals(2L, executionContext.getLong("writer.written"));
+    }
+
+    // 재시작하면 current.count 뒤에 남은 커밋되지 않은 꼬리를 잘라내고 그 위치부터 이어 쓴다.
+    @Test
+    void restartTruncatesToCurrentCountAndAppends() throws Exception {
+        Path output = directory.resolve("processed.jsonl");
+        ExecutionContext executionContext = new ExecutionContext();
+        JsonLinesItemWriter<Entry> writer = writer(output);
+        writer.open(executionContext);
+        commit(writer, new Chunk<>(new Entry(1, "a")));
+        commit(writer, new Chunk<>(new Entry(2, "b")));
+        writer.update(executionContext);
+        writer.close();
+        // 마지막 커밋 뒤에 프로세스가 죽어 반쯤 쓴 줄이 남은 상황
+        Files.writeString(output, "{\"id\":3,\"mess", StandardOpenOption.APPEND);
+
+        JsonLinesItemWriter<Entry> restarted = writer(output);
+        restarted.open(executionContext);
+        commit(restarted, new Chunk<>(new Entry(3, "c")));
+        restarted.update(executionContext);
+        restarted.close();
+
+        assertEquals(List.of("{\"id\":1,\"message\":\"a\"}", "{\"id\":2,\"message\":\"b\"}", "{\"id\":3,\"message\":\"c\"}"),
+                Files.readAllLines(output));
+        assertEquals(Files.size(output), executionContext.getLong("writer.current.count"));
+        assertEquals(3L, executionContext.getLong("writer.written"));
+    }
+
+    @Test
+    void restartFailsWhenFileIsShorterThanLastCommit() throws Exception {
+        Path output = directory.resolve("processed.jsonl");
+        ExecutionContext executionContext = new ExecutionContext();
+        JsonLinesItemWriter<Entry> writer = writer(output);
+        writer.open(executionContext);
+        commit(writer, new Chunk<>(new Entry(1, "a")));
+        writer.update(executionContext);
+        writer.close();
+        Files.writeString(output, "");
+
+        assertThrows(ItemStreamException.class, () -> writer(output).open(executionContext));
+    }
+
+    private void commit(JsonLinesItemWriter<Entry> writer, Chunk<Entry> chunk) {
+        transaction.executeWithoutResult(status -> write(writer, chunk));
+    }
+
+    private static void write(JsonLinesItemWriter<Entry> writer, Chunk<Entry> chunk) {
+        try {
+            writer.write(chunk);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static JsonLinesItemWriter<Entry> writer(Path output) {
+        JsonLinesItemWriter<Entry> writer = new JsonLinesItemWriter<>();
+        writer.setName("writer");
+        writer.setResource(new FileSystemResource(output));
+        return writer;
+    }
+
+    public record Entry(int id, String message) {
+    }
+}
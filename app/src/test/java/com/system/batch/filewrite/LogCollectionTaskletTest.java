@@ -0,0 +1,92 @@
+package com.system.batch.filewrite;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// LocalDirectoryLogSource를 원격 서버 대역으로 써서 실패한 호스트만 재시작 때 다시 가져오는지 확인한다.
+class LogCollectionTaskletTest {
+    private static final String DATE = "2024-01-20";
+
+    @TempDir
+    Path remote;
+    @TempDir
+    Path collected;
+
+    @Test
+    void restartFetchesOnlyMissingHosts() throws Exception {
+        writeRemoteLog("web1", "2024-01-20T10:15:30,INFO,web1\n");
+        writeRemoteLog("web2", "2024-01-20T10:15:30,INFO,web2\n");
+        CountingLogSource source = new CountingLogSource(new LocalDirectoryLogSource(remote));
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+
+        LogCollectionTasklet tasklet = tasklet(source);
+        assertThrows(IllegalStateException.class,
+                () -> tasklet.execute(new StepContribution(stepExecution), null));
+        assertEquals("web1,web2", stepExecution.getExecutionContext().getString(LogCollectionTasklet.COLLECTED_HOSTS_KEY));
+        assertEquals(2, source.calls("web3"));
+        assertFalse(Files.exists(collected.resolve("web3.log")));
+        assertFalse(Files.exists(collected.resolve("web3.log.part")));
+
+        writeRemoteLog("web3", "2024-01-20T10:15:30,ERROR,web3\n");
+        tasklet.execute(new StepContribution(stepExecution), null);
+
+        assertEquals(1, source.calls("web1"));
+        assertEquals(1, source.calls("web2"));
+        assertEquals(3, source.calls("web3"));
+        assertEquals("web1,web2,web3", stepExecution.getExecutionContext().getString(LogCollectionTasklet.COLLECTED_HOSTS_KEY));
+        assertEquals("2024-01-20T10:15:30,ERROR,web3\n", Files.readString(collected.resolve("web3.log")));
+        assertTrue(Files.exists(collected.resolve("web1.log")));
+    }
+
+    private LogCollectionTasklet tasklet(LogSource source) {
+        LogCollectionTasklet tasklet = new LogCollectionTasklet(source, List.of("web1", "web2", "web3"), DATE, collected);
+        tasklet.setConcurrency(2);
+        tasklet.setMaxAttempts(2);
+        tasklet.setRetryBackoff(Duration.ZERO);
+        return tasklet;
+    }
+
+    private void writeRemoteLog(String host, String content) throws Exception {
+        Files.createDirectories(remote.resolve(host));
+        Files.writeString(remote.resolve(host).resolve(DATE + ".log"), content);
+    }
+
+    private static class CountingLogSource implements LogSource {
+        private final LogSource delegate;
+        private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+
+        CountingLogSource(LogSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void fetch(String host, String date, Path target, Duration timeout)
+                throws IOException, InterruptedException, TimeoutException {
+            calls.computeIfAbsent(host, h -> new AtomicInteger()).incrementAndGet();
+            delegate.fetch(host, date, target, timeout);
+        }
+
+        int calls(String host) {
+            AtomicInteger count = calls.get(host);
+            return count == null ? 0 : count.get();
+        }
+    }
+}
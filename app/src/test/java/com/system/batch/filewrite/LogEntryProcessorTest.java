@@ -0,0 +1,127 @@
+package com.system.batch.filewrite;
+
+import com.system.batch.filewrite.LogProcessingJobConfig.LogEntry;
+import com.system.batch.filewrite.LogProcessingJobConfig.LogEntryProcessor;
+import com.system.batch.filewrite.LogProcessingJobConfig.LogLevel;
+import com.system.batch.filewrite.LogProcessingJobConfig.ProcessedLogEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 직접 구현한 날짜 파서/에러 코드 스캐너가 기존 정규식 + DateTimeFormatter 구현과 같은 결과(예외 포함)를 내는지 비교한다.
+class LogEntryProcessorTest {
+    private static final int CORPUS_SIZE = 200_000;
+
+    private static final String[] TIMESTAMPS = {
+            "2024-01-20T10:15:30", "2024-02-29T23:59:59", "2023-02-29T00:00:00", "2024-02-30T12:00:00",
+            "2024-13-01T00:00:00", "2024-00-10T00:00:00", "2024-01-00T00:00:00", "2024-01-01T24:00:00",
+            "2024-01-01T23:60:00", "2024-01-01T23:59:60", "2024-01-01 10:15:30", "2024-01-01t10:15:30",
+            "2024-01-01T10:15:30Z", "2024-01-01T10:15:30.123", "2024-01-01T10:15:30+09:00",
+            "2024-01-01T10:15", "2024-1-01T10:15:30", "+2024-01-01T10:15:3", "2024-01-01T10:1a:30",
+            "0000-01-01T00:00:00", "9999-12-31T23:59:59", "2024-01-01T10:15:30[Asia/Seoul]", "", " "
+    };
+
+    private static final String[] MESSAGE_PARTS = {
+            "ERROR", "ERROR_CODE[", "ERROR_CODE[]", "]", "_CODE[", "PAY_1", "DB-2", "a", "Z9_", " ",
+            "ERRO", "RROR", "error_code[x]", "결제", "ERROR_CODE[결제]", "[", "-", "ERRORERROR_CODE[OK]"
+    };
+
+    private final LogEntryProcessor processor = new LogEntryProcessor();
+
+    @Test
+    void fastPathMatchesRegexAndFormatterOnRandomCorpus() {
+        Random random = new Random(20240120L);
+        for (int i = 0; i < CORPUS_SIZE; i++) {
+            LogEntry entry = new LogEntry();
+            entry.setDateTime(randomTimestamp(random));
+            entry.setLevel(i % 5 == 0 ? "error" : "INFO");
+            entry.setMessage(i % 97 == 0 ? null : randomMessage(random));
+            assertSameOutcome(entry);
+        }
+    }
+
+    @Test
+    void returnsLeftmostErrorCode() {
+        LogEntry entry = new LogEntry();
+        entry.setDateTime("2024-01-20T10:15:30");
+        entry.setLevel("ERROR");
+        entry.setMessage("ERROR_CODE[] then ERROR_CODE[FIRST] and ERROR_CODE[SECOND]");
+        assertEquals("FIRST", processor.process(entry).getErrorCode());
+        assertSameOutcome(entry);
+    }
+
+    private void assertSameOutcome(LogEntry entry) {
+        Object expected = outcome(() -> ReferenceProcessor.process(entry));
+        Object actual = outcome(() -> processor.process(entry));
+        assertEquals(expected, actual, () -> "dateTime=[" + entry.getDateTime() + "], message=[" + entry.getMessage() + "]");
+    }
+
+    // 정상 결과는 ProcessedLogEntry 자체, 예외는 예외 클래스로 비교한다.
+    private static Object outcome(java.util.function.Supplier<ProcessedLogEntry> call) {
+        try {
+            return call.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static String randomTimestamp(Random random) {
+        if (random.nextInt(4) > 0) {
+            // 잘 만들어진 값과 범위를 살짝 벗어난 값을 섞는다.
+            return String.format("%04d-%02d-%02dT%02d:%02d:%02d", random.nextInt(10000), random.nextInt(14),
+                    random.nextInt(33), random.nextInt(26), random.nextInt(62), random.nextInt(62));
+        }
+        String base = TIMESTAMPS[random.nextInt(TIMESTAMPS.length)];
+        if (base.isEmpty() || random.nextInt(3) > 0) {
+            return base;
+        }
+        // 한 글자를 임의로 바꿔 구분자/숫자 검사 경로를 건드린다.
+        char[] chars = base.toCharArray();
+        chars[random.nextInt(chars.length)] = "0123456789-:T xZ".charAt(random.nextInt(16));
+        return new String(chars);
+    }
+
+    private static String randomMessage(Random random) {
+        StringBuilder message = new StringBuilder();
+        int parts = random.nextInt(6);
+        for (int i = 0; i < parts; i++) {
+            message.append(MESSAGE_PARTS[random.nextInt(MESSAGE_PARTS.length)]);
+        }
+        return message.toString();
+    }
+
+    // 변경 전 LogEntryProcessor 구현 그대로
+    private static class ReferenceProcessor {
+        private static final DateTimeFormatter ISO_FORMATTER = DateTimeFormatter.ISO_DATE_TIME;
+        private static final Pattern ERROR_CODE_PATTERN = Pattern.compile("ERROR_CODE\\[(\\w+)]");
+
+        static ProcessedLogEntry process(LogEntry item) {
+            ProcessedLogEntry processedEntry = new ProcessedLogEntry();
+            processedEntry.setDateTime(LocalDateTime.parse(item.getDateTime(), ISO_FORMATTER));
+            processedEntry.setLevel(LogLevel.fromString(item.getLevel()));
+            processedEntry.setMessage(item.getMessage());
+            processedEntry.setErrorCode(extractErrorCode(item.getMessage()));
+            return processedEntry;
+        }
+
+        private static String extractErrorCode(String message) {
+            if (message == null) {
+                return null;
+            }
+            Matcher matcher = ERROR_CODE_PATTERN.matcher(message);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+            if (message.contains("ERROR")) {
+                return "UNKNOWN_ERROR";
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.system.batch.filewrite;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ItemProcessListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipelinedItemWriterTest {
+    private EmbeddedDatabase database;
+
+    @AfterEach
+    void shutdownDatabase() {
+        if (database != null) {
+            database.shutdown();
+        }
+    }
+
+    // 처리 실패는 ExecutionException이 아니라 원래 예외로 던지고, 아무것도 쓰지 않으며, 청크의 나머지 처리는 취소한다.
+    @Test
+    void rethrowsProcessingFailureAndCancelsTheRestOfTheChunk() {
+        List<String> written = new ArrayList<>();
+        PipelinedItemWriter<String> writer = new PipelinedItemWriter<>(chunk -> written.addAll(chunk.getItems()));
+        IllegalArgumentException failure = new IllegalArgumentException("bad line");
+        CompletableFuture<String> pending = new CompletableFuture<>();
+
+        IllegalArgumentException thrown = assertThrows(IllegalArgumentException.class, () -> writer.write(new Chunk<>(
+                CompletableFuture.completedFuture("a"), CompletableFuture.failedFuture(failure), pending)));
+
+        assertSame(failure, thrown);
+        assertTrue(pending.isCancelled());
+        assertEquals(List.of(), written);
+    }
+
+    // 스텝이 보기에 처리 실패는 쓰기 단계에서 난다. onProcessError가 아니라 onWriteError가 불리고 스텝은 원래 예외로 실패한다.
+    @Test
+    void stepSeesProcessingFailureInTheWritePhase() throws Exception {
+        JobRepository jobRepository = jobRepository();
+        List<Exception> processErrors = new ArrayList<>();
+        List<Exception> writeErrors = new ArrayList<>();
+        List<String> written = new ArrayList<>();
+
+        JobExecution execution = launcher(jobRepository).run(new JobBuilder("pipelinedJob", jobRepository)
+                .start(new StepBuilder("pipelinedStep", jobRepository)
+                        .<String, Future<String>>chunk(10, new JdbcTransactionManager(database))
+                        .reader(new ListItemReader<>(List.of("a", "b", "bad", "c")))
+                        .processor(new PipelinedItemProcessor<String, String>(item -> {
+                            if (item.equals("bad")) {
+                                throw new IllegalArgumentException("bad line");
+                            }
+                            return item.toUpperCase();
+                        }, new SyncTaskExecutor()))
+                        .writer(new PipelinedItemWriter<>(chunk -> written.addAll(chunk.getItems())))
+                        .listener(new ItemProcessListener<String, Future<String>>() {
+                            @Override
+                            public void onProcessError(String item, Exception e) {
+                                processErrors.add(e);
+                            }
+                        })
+                        .listener(new ItemWriteListener<Future<String>>() {
+                            @Override
+                            public void onWriteError(Exception exception, Chunk<? extends Future<String>> items) {
+                                writeErrors.add(exception);
+                            }
+                        })
+                        .build())
+                .build(), new JobParameters());
+
+        assertEquals(BatchStatus.FAILED, execution.getStatus());
+        assertEquals(List.of(), processErrors);
+        assertEquals(1, writeErrors.size());
+        assertEquals("bad line", writeErrors.get(0).getMessage());
+        assertTrue(execution.getAllFailureExceptions().stream().anyMatch(IllegalArgumentException.class::isInstance));
+        assertEquals(List.of(), written);
+    }
+
+    private JobRepository jobRepository() throws Exception {
+        database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/org/springframework/batch/core/schema-h2.sql")
+                .build();
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(database);
+        factory.setTransactionManager(new JdbcTransactionManager(database));
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private static TaskExecutorJobLauncher launcher(JobRepository jobRepository) throws Exception {
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
+    }
+}
@@ -0,0 +1,42 @@
+package com.system.batch.filewrite;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class ProcessedLogMergeTaskletTest {
+
+    @TempDir
+    Path directory;
+
+    // 결과 파일의 디렉토리가 아직 없어도 만들고, 파티션 파일을 이름 순으로 이어 붙인 뒤 지운다.
+    @Test
+    void mergesPartitionsIntoMissingOutputDirectory() throws Exception {
+        Path partitions = Files.createDirectories(directory.resolve("partitions"));
+        Files.writeString(partitions.resolve("partition-1.jsonl"), "{\"n\":2}\n");
+        Files.writeString(partitions.resolve("partition-0.jsonl"), "{\"n\":1}\n");
+        Path output = directory.resolve("processed/2024-01-20/processed_logs.jsonl");
+
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        StepContribution contribution = stepExecution.createStepContribution();
+        RepeatStatus status = new ProcessedLogMergeTasklet(partitions, output)
+                .execute(contribution, new ChunkContext(new StepContext(stepExecution)));
+
+        assertEquals(RepeatStatus.FINISHED, status);
+        assertEquals(List.of("{\"n\":1}", "{\"n\":2}"), Files.readAllLines(output));
+        assertEquals(2, contribution.getWriteCount());
+        assertFalse(Files.exists(partitions));
+    }
+}
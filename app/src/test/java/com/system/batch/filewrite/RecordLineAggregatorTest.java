@@ -0,0 +1,60 @@
+package com.system.batch.filewrite;
+
+import com.system.batch.filewrite.MultiResourceItemWriteJobConfig.DeathNote;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
+import org.springframework.batch.item.file.transform.FormatterLineAggregator;
+import org.springframework.batch.item.file.transform.RecordFieldExtractor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RecordLineAggregatorTest {
+    private static final List<DeathNote> DEATH_NOTES = List.of(
+            new DeathNote("KILL-001", "김배치", "2024-01-25", "CPU 과부하"),
+            new DeathNote("KILL-002", "사불링", null, "100% 확률의 JVM 스택오버플로우"),
+            new DeathNote("", "", "", ""));
+
+    @Test
+    void writesDelimitedLinesLikeDelimitedLineAggregator() {
+        String[] names = {"victimId", "victimName", "executionDate", "causeOfDeath"};
+        RecordFieldExtractor<DeathNote> fieldExtractor = new RecordFieldExtractor<>(DeathNote.class);
+        fieldExtractor.setNames(names);
+        DelimitedLineAggregator<DeathNote> expected = new DelimitedLineAggregator<>();
+        expected.setDelimiter(",");
+        expected.setFieldExtractor(fieldExtractor);
+        RecordLineAggregator<DeathNote> actual = RecordLineAggregator.delimited(DeathNote.class, ",", names);
+
+        for (DeathNote deathNote : DEATH_NOTES) {
+            assertEquals(expected.aggregate(deathNote), actual.aggregate(deathNote));
+        }
+    }
+
+    @Test
+    void writesTemplatedLinesLikeFormatterLineAggregator() {
+        String format = "처형 ID: %s | 처형일자: %s | 피해자: %s | 사인: %s (100%%)";
+        String[] names = {"victimId", "executionDate", "victimName", "causeOfDeath"};
+        RecordFieldExtractor<DeathNote> fieldExtractor = new RecordFieldExtractor<>(DeathNote.class);
+        fieldExtractor.setNames(names);
+        FormatterLineAggregator<DeathNote> expected = new FormatterLineAggregator<>();
+        expected.setFormat(format);
+        expected.setFieldExtractor(fieldExtractor);
+        RecordLineAggregator<DeathNote> actual = RecordLineAggregator.formatted(DeathNote.class, format, names);
+
+        for (DeathNote deathNote : DEATH_NOTES) {
+            assertEquals(expected.aggregate(deathNote), actual.aggregate(deathNote));
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedFormats() {
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordLineAggregator.formatted(DeathNote.class, "%-10s|%s", "victimId", "victimName"));
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordLineAggregator.formatted(DeathNote.class, "%s|%s", "victimId"));
+        assertThrows(IllegalArgumentException.class,
+                () -> RecordLineAggregator.delimited(DeathNote.class, ",", "victimId", "killerName"));
+    }
+}
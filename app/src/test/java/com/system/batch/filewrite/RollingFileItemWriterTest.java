@@ -0,0 +1,100 @@
+package com.system.batch.filewrite;
+
+import com.system.batch.filewrite.MultiResourceItemWriteJobConfig.DeathNote;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class RollingFileItemWriterTest {
+    @TempDir
+    Path outputDir;
+
+    @Test
+    void rollsOverByBytesAndFinalizesInBackground() throws Exception {
+        RollingFileItemWriter<DeathNote> writer = writer();
+        // 한 줄이 약 20바이트이므로 청크 하나(두 줄)마다 다음 파일로 넘어간다.
+        writer.setByteLimitPerResource(30);
+        writer.open(new ExecutionContext());
+        for (int i = 1; i <= 6; i += 2) {
+            writer.write(Chunk.of(deathNote(i), deathNote(i + 1)));
+        }
+        writer.close();
+
+        assertEquals(List.of("HEADER", "KILL-001,피해자1", "KILL-002,피해자2", "FOOTER"), lines("death_note_001.txt"));
+        assertEquals(List.of("HEADER", "KILL-005,피해자5", "KILL-006,피해자6", "FOOTER"), lines("death_note_003.txt"));
+        try (var files = Files.list(outputDir)) {
+            assertEquals(3, files.count());
+        }
+    }
+
+    @Test
+    void restartContinuesFromLastCommittedPosition() throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+        RollingFileItemWriter<DeathNote> crashed = writer();
+        crashed.setItemCountLimitPerResource(3);
+        crashed.open(executionContext);
+        crashed.write(Chunk.of(deathNote(1), deathNote(2)));
+        crashed.update(executionContext);
+        // 커밋되지 않은 청크: 재시작하면 잘려 나가야 한다.
+        crashed.write(Chunk.of(deathNote(3)));
+        assertFalse(Files.exists(outputDir.resolve("death_note_001.txt")));
+
+        RollingFileItemWriter<DeathNote> restarted = writer();
+        restarted.setItemCountLimitPerResource(3);
+        restarted.open(executionContext);
+        restarted.write(Chunk.of(deathNote(3)));
+        restarted.write(Chunk.of(deathNote(4)));
+        restarted.close();
+
+        assertEquals(List.of("HEADER", "KILL-001,피해자1", "KILL-002,피해자2", "KILL-003,피해자3", "FOOTER"),
+                lines("death_note_001.txt"));
+        assertEquals(List.of("HEADER", "KILL-004,피해자4", "FOOTER"), lines("death_note_002.txt"));
+    }
+
+    @Test
+    void compressesFinishedFiles() throws Exception {
+        RollingFileItemWriter<DeathNote> writer = writer();
+        writer.setCompress(true);
+        writer.open(new ExecutionContext());
+        writer.write(Chunk.of(deathNote(1)));
+        writer.close();
+
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(outputDir.resolve("death_note_001.txt.gz")))) {
+            assertEquals("HEADER\nKILL-001,피해자1\nFOOTER".replace("\n", System.lineSeparator()),
+                    new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        assertFalse(Files.exists(outputDir.resolve("death_note_001.txt")));
+        assertFalse(Files.exists(outputDir.resolve("death_note_001.txt.inprogress")));
+    }
+
+    private RollingFileItemWriter<DeathNote> writer() {
+        RollingFileItemWriter<DeathNote> writer = new RollingFileItemWriter<>(outputDir.resolve("death_note"),
+                RecordLineAggregator.delimited(DeathNote.class, ",", "victimId", "victimName"),
+                new SimpleAsyncTaskExecutor("test-finalizer-"));
+        writer.setName("deathNoteWriter");
+        writer.setResourceSuffixCreator(index -> String.format("_%03d.txt", index));
+        writer.setHeaderCallback(header -> header.write("HEADER"));
+        writer.setFooterCallback(footer -> footer.write("FOOTER"));
+        return writer;
+    }
+
+    private List<String> lines(String fileName) throws Exception {
+        return Files.readAllLines(outputDir.resolve(fileName));
+    }
+
+    private static DeathNote deathNote(int i) {
+        return new DeathNote(String.format("KILL-%03d", i), "피해자" + i, "2024-01-25", "처형사유" + i);
+    }
+}
@@ -0,0 +1,82 @@
+package com.system.batch.listener;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.context.RetryContextSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StepMetricsListenerTest {
+
+    @Test
+    void recordsItemsChunksAndFileBytesPerStep() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StepMetricsListener listener = new StepMetricsListener(registry);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(
+                MetaDataInstanceFactory.createJobExecution("logJob", 1L, 1L), "logStep", 1L);
+        // 재시작: 이전 실행에서 이미 읽은 바이트는 세지 않는다.
+        stepExecution.getExecutionContext().putLong("reader.offset", 100L);
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+
+        listener.beforeStep(stepExecution);
+        for (int chunk = 0; chunk < 2; chunk++) {
+            listener.beforeChunk(chunkContext);
+            for (int i = 0; i < 3; i++) {
+                listener.beforeRead();
+                listener.afterRead("line");
+                listener.beforeProcess("line");
+                listener.afterProcess("line", "LINE");
+            }
+            listener.beforeWrite(Chunk.of("A", "B", "C"));
+            listener.afterWrite(Chunk.of("A", "B", "C"));
+            stepExecution.getExecutionContext().putLong("reader.offset", 100L + 30L * (chunk + 1));
+            stepExecution.getExecutionContext().putLong("writer.current.count", 40L * (chunk + 1));
+            listener.afterChunk(chunkContext);
+        }
+        listener.onWriteError(new IllegalStateException(), Chunk.of("D"));
+        listener.afterStep(stepExecution);
+
+        assertEquals(6, registry.get("batch.item.read").tag("job", "logJob").tag("step", "logStep").timer().count());
+        assertEquals(6, registry.get("batch.item.process").timer().count());
+        assertEquals(2, registry.get("batch.chunk.write").timer().count());
+        assertEquals(2, registry.get("batch.chunk.commit").timer().count());
+        assertEquals(6, registry.get("batch.items").tag("phase", "write").counter().count());
+        assertEquals(60, registry.get("batch.bytes").tag("direction", "read").counter().count());
+        assertEquals(80, registry.get("batch.bytes").tag("direction", "written").counter().count());
+        assertEquals(1, registry.get("batch.errors").tag("phase", "write").counter().count());
+        assertEquals(1, registry.get("batch.step.throughput").summary().count());
+    }
+
+    @Test
+    void countsRetriesButNotTheFinalFailure() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        StepMetricsListener listener = new StepMetricsListener(registry);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution(
+                MetaDataInstanceFactory.createJobExecution("retryJob", 1L, 1L), "retryStep", 1L);
+        listener.beforeStep(stepExecution);
+        listener.beforeChunk(new ChunkContext(new StepContext(stepExecution)));
+
+        // 두 번 실패한 뒤 성공: 재시도 2번
+        RetryContextSupport recovered = new RetryContextSupport(null);
+        recovered.registerThrowable(new IllegalStateException());
+        recovered.registerThrowable(new IllegalStateException());
+        listener.close(recovered, null, null);
+        // 상태 있는 재시도가 롤백하려고 예외를 다시 던진 호출은 세지 않는다.
+        RetryContextSupport exhausted = new RetryContextSupport(null);
+        exhausted.registerThrowable(new IllegalStateException());
+        listener.close(exhausted, null, new IllegalStateException());
+        // 세 번 실패하고 한도에 걸림: 재시도 2번
+        exhausted.registerThrowable(new IllegalStateException());
+        exhausted.registerThrowable(new IllegalStateException());
+        exhausted.setAttribute(RetryContext.EXHAUSTED, true);
+        listener.close(exhausted, null, null);
+
+        assertEquals(4, registry.get("batch.retries").tag("job", "retryJob").tag("step", "retryStep").counter().count());
+    }
+}
@@ -0,0 +1,289 @@
+package com.system.batch.partition;
+
+import com.system.batch.fileread.MappedLineItemReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// 입력 파일을 바이트 구간 파티션으로 나눠 워커에게 보내고, 워커가 구간의 줄을 파티션별 파일로 옮겨 적는다.
+// 옮겨 적은 파일을 시작 위치 순으로 이으면 원본 줄과 같아야 한다 (빠지거나 두 번 처리된 줄이 없다).
+class RemotePartitionHandlerTest {
+    private static final String WORKER_STEP = "copyRangeStep";
+    private static final int LINE_COUNT = 20_000;
+    private static final int GRID_SIZE = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void loopbackWorkersProcessEveryLineOnce() throws Exception {
+        Path input = writeInput();
+        Path output = Files.createDirectories(directory.resolve("out"));
+        Infrastructure infrastructure = new Infrastructure(dataSource(directory.resolve("db")), true);
+        LoopbackPartitionChannel channel = new LoopbackPartitionChannel();
+
+        PartitionWorker worker = new PartitionWorker(channel, infrastructure.jobExplorer,
+                List.of(copyRangeStep(infrastructure.jobRepository, infrastructure.transactionManager, output)));
+        worker.setConcurrency(4);
+        worker.start();
+        try {
+            JobExecution execution = runManager(infrastructure, channel, input);
+            assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+        } finally {
+            worker.stop();
+        }
+        assertEquals(Files.readAllLines(input), copiedLines(output));
+    }
+
+    @Test
+    void workersInOtherJvmsProcessEveryLineOnce() throws Exception {
+        Path input = writeInput();
+        Path output = Files.createDirectories(directory.resolve("out"));
+        Path channelDirectory = directory.resolve("channel");
+        Path database = directory.resolve("db");
+        DataSource dataSource = dataSource(database);
+        Infrastructure infrastructure = new Infrastructure(dataSource, true);
+
+        List<Process> workers = new ArrayList<>();
+        // 이 JVM이 연결을 쥐고 있어야 DB 파일의 주인으로 남고, 워커는 AUTO_SERVER로 이 JVM에 붙는다.
+        // 연결이 모두 닫히면 워커끼리 파일 잠금을 다투다 "Lock file recently modified"로 실패한다.
+        try (Connection ignored = dataSource.getConnection()) {
+            for (int i = 0; i < 2; i++) {
+                workers.add(startWorker(database, channelDirectory, output));
+            }
+            DirectoryPartitionChannel channel = new DirectoryPartitionChannel(channelDirectory);
+            JobExecution execution = runManager(infrastructure, channel, input);
+            assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+            for (Process worker : workers) {
+                assertTrue(worker.waitFor(60, TimeUnit.SECONDS), "worker did not stop");
+                assertEquals(0, worker.exitValue());
+            }
+        } finally {
+            workers.forEach(Process::destroyForcibly);
+        }
+        assertEquals(Files.readAllLines(input), copiedLines(output));
+    }
+
+    // 요청을 가져간 워커가 실행 전에 죽은 것처럼 첫 요청 하나를 버린다. 그 파티션은 STARTING에 남고,
+    // 매니저가 startTimeout 뒤에 다시 보내 살아 있는 워커가 처리한다.
+    @Test
+    void partitionClaimedByDeadWorkerIsSentAgain() throws Exception {
+        Path input = writeInput();
+        Path output = Files.createDirectories(directory.resolve("out"));
+        Infrastructure infrastructure = new Infrastructure(dataSource(directory.resolve("db")), true);
+        DirectoryPartitionChannel channel = new DirectoryPartitionChannel(directory.resolve("channel"));
+        channel.setPollInterval(Duration.ofMillis(20));
+        AtomicReference<PartitionRequest> lost = new AtomicReference<>();
+        PartitionChannel losingFirstRequest = new PartitionChannel() {
+            @Override
+            public void send(PartitionRequest request) throws IOException {
+                channel.send(request);
+            }
+
+            @Override
+            public PartitionRequest receive(Duration timeout) throws IOException, InterruptedException {
+                PartitionRequest request = channel.receive(timeout);
+                return request != null && lost.compareAndSet(null, request) ? null : request;
+            }
+        };
+
+        PartitionWorker worker = new PartitionWorker(losingFirstRequest, infrastructure.jobExplorer,
+                List.of(copyRangeStep(infrastructure.jobRepository, infrastructure.transactionManager, output)));
+        worker.setConcurrency(2);
+        worker.start();
+        try {
+            JobExecution execution = runManager(infrastructure, channel, input,
+                    partitionHandler -> partitionHandler.setStartTimeout(Duration.ofSeconds(1)));
+            assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+        } finally {
+            worker.stop();
+        }
+        assertNotNull(lost.get(), "no request was lost");
+        assertEquals(Files.readAllLines(input), copiedLines(output));
+    }
+
+    @Test
+    void managerFailsWhenPartitionsDoNotFinishInTime() throws Exception {
+        Path input = writeInput();
+        Infrastructure infrastructure = new Infrastructure(dataSource(directory.resolve("db")), true);
+
+        JobExecution execution = runManager(infrastructure, new LoopbackPartitionChannel(), input,
+                partitionHandler -> partitionHandler.setTimeout(Duration.ofMillis(500)));
+
+        assertEquals(BatchStatus.FAILED, execution.getStatus());
+        assertTrue(execution.getAllFailureExceptions().stream().anyMatch(TimeoutException.class::isInstance));
+    }
+
+    private JobExecution runManager(Infrastructure infrastructure, PartitionChannel channel, Path input)
+            throws Exception {
+        return runManager(infrastructure, channel, input, partitionHandler -> {});
+    }
+
+    private JobExecution runManager(Infrastructure infrastructure, PartitionChannel channel, Path input,
+                                    Consumer<RemotePartitionHandler> customizer) throws Exception {
+        FileRangePartitioner partitioner = new FileRangePartitioner();
+        partitioner.setResources(new FileSystemResource[]{new FileSystemResource(input)});
+        partitioner.setMinRangeSize(1);
+
+        RemotePartitionHandler partitionHandler =
+                new RemotePartitionHandler(channel, infrastructure.jobExplorer, WORKER_STEP);
+        partitionHandler.setGridSize(GRID_SIZE);
+        partitionHandler.setPollInterval(Duration.ofMillis(50));
+        partitionHandler.setTimeout(Duration.ofSeconds(60));
+        customizer.accept(partitionHandler);
+
+        Step managerStep = new StepBuilder("copyManagerStep", infrastructure.jobRepository)
+                .partitioner(WORKER_STEP, partitioner)
+                .partitionHandler(partitionHandler)
+                .build();
+        Job job = new JobBuilder("remotePartitionJob", infrastructure.jobRepository)
+                .start(managerStep)
+                .build();
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(infrastructure.jobRepository);
+        jobLauncher.afterPropertiesSet();
+
+        JobExecution execution = jobLauncher.run(job, new JobParameters());
+        long partitions = execution.getStepExecutions().stream()
+                .map(StepExecution::getStepName)
+                .filter(name -> name.startsWith(WORKER_STEP))
+                .count();
+        assertEquals(GRID_SIZE, partitions);
+        return execution;
+    }
+
+    // 파티션의 줄을 <시작 위치>.out에 그대로 적는다. 스텝 상태를 갖지 않으므로 여러 워커 스레드가 같이 써도 된다.
+    static Step copyRangeStep(JobRepository jobRepository, JdbcTransactionManager transactionManager, Path output) {
+        return new StepBuilder(WORKER_STEP, jobRepository)
+                .tasklet((contribution, chunkContext) -> {
+                    ExecutionContext executionContext = contribution.getStepExecution().getExecutionContext();
+                    long startOffset = executionContext.getLong(FileRangePartitioner.START_OFFSET_KEY);
+                    MappedLineItemReader<String> reader = new MappedLineItemReader<>();
+                    reader.setName("rangeReader");
+                    reader.setResource(new UrlResource(executionContext.getString(FileRangePartitioner.FILE_NAME_KEY)));
+                    reader.setLineMapper((line, lineNumber) -> line.toString());
+                    reader.setByteRange(startOffset, executionContext.getLong(FileRangePartitioner.END_OFFSET_KEY));
+
+                    List<String> lines = new ArrayList<>();
+                    reader.open(new ExecutionContext());
+                    try {
+                        String line;
+                        while ((line = reader.read()) != null) {
+                            lines.add(line);
+                        }
+                    } finally {
+                        reader.close();
+                    }
+                    Files.write(output.resolve(String.format("%019d.out", startOffset)), lines);
+                    contribution.incrementWriteCount(lines.size());
+                    return RepeatStatus.FINISHED;
+                }, transactionManager)
+                .build();
+    }
+
+    private static Process startWorker(Path database, Path channelDirectory, Path output) throws Exception {
+        return new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                WorkerMain.class.getName(), database.toString(), channelDirectory.toString(), output.toString())
+                .inheritIO()
+                .start();
+    }
+
+    private Path writeInput() throws Exception {
+        List<String> lines = new ArrayList<>(LINE_COUNT);
+        for (int i = 0; i < LINE_COUNT; i++) {
+            lines.add("2024-01-20T10:15:30,INFO,요청 " + i + " " + "x".repeat(i % 97));
+        }
+        return Files.write(directory.resolve("web1.log"), lines);
+    }
+
+    private static List<String> copiedLines(Path output) throws Exception {
+        List<String> lines = new ArrayList<>();
+        try (Stream<Path> files = Files.list(output)) {
+            for (Path file : files.sorted().toList()) {
+                lines.addAll(Files.readAllLines(file));
+            }
+        }
+        return lines;
+    }
+
+    // 여러 JVM이 같은 파일 DB를 쓰도록 AUTO_SERVER로 연다.
+    static DataSource dataSource(Path database) {
+        return new DriverManagerDataSource("jdbc:h2:file:" + database.toAbsolutePath() + ";AUTO_SERVER=TRUE", "sa", "");
+    }
+
+    static class Infrastructure {
+        final JdbcTransactionManager transactionManager;
+        final JobRepository jobRepository;
+        final JobExplorer jobExplorer;
+
+        Infrastructure(DataSource dataSource, boolean createSchema) throws Exception {
+            if (createSchema) {
+                new ResourceDatabasePopulator(new ClassPathResource("org/springframework/batch/core/schema-h2.sql"))
+                        .execute(dataSource);
+            }
+            transactionManager = new JdbcTransactionManager(dataSource);
+            JobRepositoryFactoryBean repositoryFactory = new JobRepositoryFactoryBean();
+            repositoryFactory.setDataSource(dataSource);
+            repositoryFactory.setTransactionManager(transactionManager);
+            repositoryFactory.afterPropertiesSet();
+            jobRepository = repositoryFactory.getObject();
+
+            JobExplorerFactoryBean explorerFactory = new JobExplorerFactoryBean();
+            explorerFactory.setDataSource(dataSource);
+            explorerFactory.setTransactionManager(transactionManager);
+            explorerFactory.afterPropertiesSet();
+            jobExplorer = explorerFactory.getObject();
+        }
+    }
+
+    // 자식 JVM에서 도는 워커. 인자: <DB 경로> <채널 디렉토리> <출력 디렉토리>
+    public static class WorkerMain {
+        public static void main(String[] args) throws Exception {
+            Infrastructure infrastructure = new Infrastructure(dataSource(Path.of(args[0])), false);
+            PartitionWorker worker = new PartitionWorker(new DirectoryPartitionChannel(Path.of(args[1])),
+                    infrastructure.jobExplorer,
+                    List.of(copyRangeStep(infrastructure.jobRepository, infrastructure.transactionManager, Path.of(args[2]))));
+            worker.runUntilIdle(Duration.ofSeconds(10));
+        }
+    }
+}
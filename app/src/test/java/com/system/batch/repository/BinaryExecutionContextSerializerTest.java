@@ -0,0 +1,79 @@
+package com.system.batch.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryExecutionContextSerializerTest {
+    private final BinaryExecutionContextSerializer serializer = new BinaryExecutionContextSerializer();
+
+    @Test
+    void roundTripsValuesWithTheirTypes() throws IOException {
+        Map<String, Object> plan = new HashMap<>();
+        plan.put("targetSystem", "판교 서버실");
+        plan.put("requiredTools", new ArrayList<>(List.of("USB 킬러", "널 바이트 인젝터")));
+        plan.put("optional", null);
+        Map<String, Object> ordered = new LinkedHashMap<>();
+        ordered.put("b", 2);
+        ordered.put("a", 1);
+
+        Map<String, Object> context = new HashMap<>();
+        context.put("reader.offset", 123_456_789_012L);
+        context.put("reader.line.count", 42);
+        context.put("negative", -7L);
+        context.put("ratio", 0.25);
+        context.put("done", true);
+        context.put("batch.stepType", "org.springframework.batch.core.step.tasklet.TaskletStep");
+        context.put("infiltrationPlan", plan);
+        context.put("ordered", ordered);
+        context.put("amount", new BigDecimal("12.50"));
+        context.put("date", LocalDate.of(2024, 1, 20));
+
+        String stored = write(serializer, context);
+        assertTrue(stored.startsWith("~1"));
+
+        Map<String, Object> restored = read(stored);
+        assertEquals(context, restored);
+        assertEquals(Integer.class, restored.get("reader.line.count").getClass());
+        assertEquals(Long.class, restored.get("reader.offset").getClass());
+        assertEquals(LinkedHashMap.class, restored.get("ordered").getClass());
+        assertEquals(List.of("b", "a"), new ArrayList<>(((Map<?, ?>) restored.get("ordered")).keySet()));
+    }
+
+    @Test
+    void readsContextsStoredByPreviousSerializers() throws IOException {
+        Map<String, Object> context = new HashMap<>();
+        context.put("reader.offset", 5_000_000_000L);
+        context.put("targetSystem", "안산 데이터센터");
+
+        assertEquals(context, read(write(new Jackson2ExecutionContextStringSerializer(), context)));
+        assertEquals(context, read(write(new DefaultExecutionContextSerializer(), context)));
+    }
+
+    // JdbcExecutionContextDao처럼 UTF-8 문자열로 저장했다가 다시 읽는다.
+    private static String write(ExecutionContextSerializer serializer, Map<String, Object> context) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize(context, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Map<String, Object> read(String stored) throws IOException {
+        return serializer.deserialize(new ByteArrayInputStream(stored.getBytes(StandardCharsets.UTF_8)));
+    }
+}
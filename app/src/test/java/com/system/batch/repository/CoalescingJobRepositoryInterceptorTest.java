@@ -0,0 +1,172 @@
+package com.system.batch.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoalescingJobRepositoryInterceptorTest {
+    private static final int ITEM_COUNT = 100;
+    private static final int CHUNK_SIZE = 10;
+    private static final int CRASH_AT = 55;
+
+    @TempDir
+    Path directory;
+
+    private final List<EmbeddedDatabase> databases = new ArrayList<>();
+
+    @AfterEach
+    void shutdownDatabases() {
+        databases.forEach(EmbeddedDatabase::shutdown);
+    }
+
+    // 여섯 번째 청크를 쓰는 도중에 프로세스가 kill -9로 죽은 상황을 만든다.
+    // 다른 연결로 떠 둔 스크립트에는 그 순간까지 커밋된 내용만 있으므로, 그걸로 되살린 저장소가 죽은 프로세스가 남긴 저장소다.
+    // 스텝 행의 카운트는 모아 쓰느라 뒤처져 있어도 재시작 위치(ExecutionContext)와 출력은 같은 청크 트랜잭션으로 커밋되었으므로,
+    // 재시작은 마지막 커밋 다음 아이템부터 하고 출력에는 모든 아이템이 정확히 한 번씩 남는다.
+    @Test
+    void restartAfterKillResumesFromLastCommittedChunk() throws Exception {
+        Path crashScript = directory.resolve("crash.sql");
+        JobParameters jobParameters = new JobParametersBuilder().addString("run", "crash").toJobParameters();
+
+        EmbeddedDatabase crashed = database();
+        JobRepository crashedRepository = coalescingJobRepository(crashed);
+        JobExecution firstRun = launcher(crashedRepository).run(countingJob(crashedRepository, crashed, item -> {
+            if (item == CRASH_AT) {
+                // 청크 트랜잭션에 묶인 연결이 아니라 새 연결로 떠야 커밋된 내용만 보인다.
+                try (Connection connection = crashed.getConnection();
+                     Statement statement = connection.createStatement()) {
+                    statement.execute("SCRIPT TO '" + crashScript + "'");
+                }
+                throw new IllegalStateException("killed");
+            }
+        }), jobParameters);
+        assertEquals(BatchStatus.FAILED, firstRun.getStatus());
+
+        EmbeddedDatabase restored = database();
+        JdbcTemplate restoredJdbc = new JdbcTemplate(restored);
+        restoredJdbc.execute("DROP ALL OBJECTS");
+        restoredJdbc.execute("RUNSCRIPT FROM '" + crashScript + "'");
+
+        int committedChunks = CRASH_AT / CHUNK_SIZE;
+        assertEquals(committedChunks * CHUNK_SIZE, restoredJdbc.queryForObject("SELECT COUNT(*) FROM OUTPUT", Integer.class));
+        assertEquals("STARTED", restoredJdbc.queryForObject("SELECT STATUS FROM BATCH_STEP_EXECUTION", String.class));
+        assertTrue(restoredJdbc.queryForObject("SELECT COMMIT_COUNT FROM BATCH_STEP_EXECUTION", Integer.class)
+                < committedChunks, "step updates were not coalesced");
+
+        // kill -9 뒤에 운영자가 하듯 남은 실행을 FAILED로 바꾸고 재시작한다.
+        restoredJdbc.update("UPDATE BATCH_STEP_EXECUTION SET STATUS = 'FAILED', EXIT_CODE = 'FAILED', END_TIME = CURRENT_TIMESTAMP");
+        restoredJdbc.update("UPDATE BATCH_JOB_EXECUTION SET STATUS = 'FAILED', EXIT_CODE = 'FAILED', END_TIME = CURRENT_TIMESTAMP");
+        JobRepository restoredRepository = coalescingJobRepository(restored);
+        List<Integer> restartedItems = new ArrayList<>();
+        JobExecution restarted = launcher(restoredRepository).run(
+                countingJob(restoredRepository, restored, restartedItems::add), jobParameters);
+
+        assertEquals(BatchStatus.COMPLETED, restarted.getStatus());
+        assertEquals(IntStream.range(committedChunks * CHUNK_SIZE, ITEM_COUNT).boxed().toList(), restartedItems);
+        assertEquals(IntStream.range(0, ITEM_COUNT).boxed().toList(),
+                restoredJdbc.queryForList("SELECT ITEM FROM OUTPUT ORDER BY ITEM", Integer.class));
+        StepExecution stepExecution = restarted.getStepExecutions().iterator().next();
+        assertEquals(ITEM_COUNT - committedChunks * CHUNK_SIZE, stepExecution.getWriteCount());
+    }
+
+    // 0..ITEM_COUNT-1을 읽어 OUTPUT 테이블에 쓴다. 출력과 재시작 위치가 같은 트랜잭션으로 커밋된다.
+    private Job countingJob(JobRepository jobRepository, EmbeddedDatabase database, ItemCallback callback) {
+        AbstractItemCountingItemStreamItemReader<Integer> reader = new AbstractItemCountingItemStreamItemReader<>() {
+            private int next;
+
+            @Override
+            protected Integer doRead() {
+                return next < ITEM_COUNT ? next++ : null;
+            }
+
+            @Override
+            protected void jumpToItem(int itemIndex) {
+                next = itemIndex;
+            }
+
+            @Override
+            protected void doOpen() {
+            }
+
+            @Override
+            protected void doClose() {
+            }
+        };
+        reader.setName("counter");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        return new JobBuilder("countingJob", jobRepository)
+                .start(new StepBuilder("countingStep", jobRepository)
+                        .<Integer, Integer>chunk(CHUNK_SIZE, new JdbcTransactionManager(database))
+                        .reader(reader)
+                        .writer(chunk -> {
+                            for (Integer item : chunk) {
+                                callback.accept(item);
+                                jdbcTemplate.update("INSERT INTO OUTPUT (ITEM) VALUES (?)", item);
+                            }
+                        })
+                        .build())
+                .build();
+    }
+
+    private EmbeddedDatabase database() {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .addScript("/org/springframework/batch/core/schema-h2.sql")
+                .build();
+        databases.add(database);
+        new JdbcTemplate(database).execute("CREATE TABLE OUTPUT (ITEM INT PRIMARY KEY)");
+        return database;
+    }
+
+    // 청크마다의 스텝 갱신은 시험 동안 한 번도 쓰이지 않을 만큼 모은다.
+    private static JobRepository coalescingJobRepository(EmbeddedDatabase database) throws Exception {
+        JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+        factory.setDataSource(database);
+        factory.setTransactionManager(new JdbcTransactionManager(database));
+        factory.setSerializer(new BinaryExecutionContextSerializer());
+        factory.afterPropertiesSet();
+        return CoalescingJobRepositoryInterceptor.decorate(factory.getObject(), 1_000, Duration.ofHours(1));
+    }
+
+    private static TaskExecutorJobLauncher launcher(JobRepository jobRepository) throws Exception {
+        TaskExecutorJobLauncher jobLauncher = new TaskExecutorJobLauncher();
+        jobLauncher.setJobRepository(jobRepository);
+        jobLauncher.afterPropertiesSet();
+        return jobLauncher;
+    }
+
+    @FunctionalInterface
+    private interface ItemCallback {
+        void accept(int item) throws SQLException;
+    }
+}
@@ -0,0 +1,113 @@
+package com.system.batch.tasklet;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileCandidateReaderTest {
+    @TempDir
+    Path temp;
+
+    @Test
+    void readsEveryFileOnceAndRecursesOnlyWhenAsked() throws Exception {
+        createFiles("b.tmp", "a/2.tmp", "a/1.tmp", "a/x/3.tmp", "c.tmp");
+
+        // 디렉토리 안은 이름 순이고, 하위 디렉토리는 그 이름 자리에서 훑는다.
+        assertEquals(List.of("a/1.tmp", "a/2.tmp", "a/x/3.tmp", "b.tmp", "c.tmp"),
+                readAll(reader(true), new ExecutionContext()));
+        assertEquals(List.of("b.tmp", "c.tmp"), readAll(reader(false), new ExecutionContext()));
+    }
+
+    @Test
+    void smallWindowReadsInTheSameOrder() throws Exception {
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            all.add("f" + i + ".tmp");
+            all.add("d" + (i % 3) + "/g" + i + ".tmp");
+        }
+        createFiles(all.toArray(String[]::new));
+
+        FileCandidateReader small = reader(true);
+        small.setWindowSize(3);
+        List<String> read = readAll(small, new ExecutionContext());
+
+        assertEquals(readAll(reader(true), new ExecutionContext()), read);
+        assertEquals(sorted(all), sorted(read));
+    }
+
+    @Test
+    void restartResumesFromCursorWithoutMissingUnreadFiles() throws Exception {
+        List<String> all = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            all.add("f" + i + ".tmp");
+            all.add("a/g" + i + ".tmp");
+            all.add("a/x/h" + i + ".tmp");
+        }
+        createFiles(all.toArray(String[]::new));
+
+        ExecutionContext executionContext = new ExecutionContext();
+        FileCandidateReader crashed = reader(true);
+        crashed.setWindowSize(7);
+        crashed.open(executionContext);
+        List<String> before = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            before.add(relative(crashed.read()));
+        }
+        crashed.update(executionContext);
+        crashed.close();
+        // 처리한 후보 중 짝수 번째만 지워졌다 (나머지는 필터에 걸려 남았다).
+        for (int i = 0; i < before.size(); i += 2) {
+            Files.delete(temp.resolve(before.get(i)));
+        }
+
+        FileCandidateReader restarted = reader(true);
+        restarted.setWindowSize(7);
+        List<String> after = readAll(restarted, executionContext);
+        List<String> unread = new ArrayList<>(all);
+        unread.removeAll(before);
+        assertEquals(sorted(unread), sorted(after), "restart must read exactly the unread files");
+        assertTrue(after.stream().noneMatch(before::contains), "restart must not re-read processed files");
+    }
+
+    private FileCandidateReader reader(boolean recursive) {
+        FileCandidateReader reader = new FileCandidateReader(temp, recursive);
+        reader.setName("reader");
+        return reader;
+    }
+
+    private List<String> readAll(FileCandidateReader reader, ExecutionContext executionContext) throws Exception {
+        List<String> paths = new ArrayList<>();
+        reader.open(executionContext);
+        for (FileCandidate candidate = reader.read(); candidate != null; candidate = reader.read()) {
+            paths.add(relative(candidate));
+        }
+        reader.close();
+        return paths;
+    }
+
+    private String relative(FileCandidate candidate) {
+        return temp.relativize(candidate.path()).toString().replace('\\', '/');
+    }
+
+    private static List<String> sorted(List<String> paths) {
+        List<String> sorted = new ArrayList<>(paths);
+        sorted.sort(null);
+        return sorted;
+    }
+
+    private void createFiles(String... names) throws Exception {
+        for (String name : names) {
+            Path file = temp.resolve(name);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, name);
+        }
+    }
+}